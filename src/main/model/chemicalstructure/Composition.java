@@ -0,0 +1,338 @@
+package model.chemicalstructure;
+
+import model.enums.AtomicSymbols;
+import utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Flattened elemental composition of a formula, stored as parallel arrays of element ordinals (ascending)
+// and their total amounts per formula unit
+//
+// Alternatives in a substitutable group share its sites equally, e.g. (Mg, Fe)2 gives 1 Mg and 1 Fe,
+// unless the group gives fractional site occupancies, e.g. (Mg0.75, Fe0.25)2 gives 1.5 Mg and 0.5 Fe
+//
+// The empirical form scales the amounts to the smallest whole numbers with the same proportions, so SiO2, O2Si
+// and Si2O4 share one empirical form and one 64 bit canonical hash
+
+public class Composition {
+    private static final AtomicSymbols[] SYMBOLS = AtomicSymbols.values();
+    private static final int MAX_DENOMINATOR = 1000;
+    private static final double WHOLE_TOLERANCE = 1e-6;
+    private static final long HASH_OFFSET = 0xcbf29ce484222325L;
+    private static final long HASH_PRIME = 0x100000001b3L;
+    // per thread accumulator indexed by ordinal, all zero between calls to of()
+    private static final ThreadLocal<double[]> SCRATCH_TOTALS = ThreadLocal.withInitial(
+            () -> new double[SYMBOLS.length]);
+    public static final Composition EMPTY = new Composition(new int[0], new double[0]);
+
+    private final int[] ordinals;
+    private final double[] amounts;
+    private List<AtomicSymbols> elements;
+    private final long[] empiricalCounts;
+    private final long canonicalHash;
+
+    // REQUIRES: ordinals is strictly ascending and amounts has the same length
+    // EFFECTS: constructs composition from the given arrays
+    private Composition(int[] ordinals, double[] amounts) {
+        this.ordinals = ordinals;
+        this.amounts = amounts;
+        this.empiricalCounts = reduce(amounts);
+        this.canonicalHash = hash(ordinals, empiricalCounts);
+    }
+
+    // EFFECTS: produces the smallest whole numbers in the same proportions as amounts, scaling fractional
+    //          amounts by the smallest denominator up to MAX_DENOMINATOR that makes them whole (rounding after that)
+    private static long[] reduce(double[] amounts) {
+        int denominator = 1;
+        while (denominator < MAX_DENOMINATOR && !allWhole(amounts, denominator)) {
+            denominator++;
+        }
+        long[] counts = new long[amounts.length];
+        long divisor = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            counts[i] = Math.max(1, Math.round(amounts[i] * denominator));
+            divisor = gcd(divisor, counts[i]);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] /= divisor;
+        }
+        return counts;
+    }
+
+    // EFFECTS: returns true if every amount multiplied by denominator is a whole number
+    private static boolean allWhole(double[] amounts, int denominator) {
+        for (double amount : amounts) {
+            double scaled = amount * denominator;
+            if (Math.abs(scaled - Math.rint(scaled)) > WHOLE_TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns the greatest common divisor of first and second
+    private static long gcd(long first, long second) {
+        while (second != 0) {
+            long remainder = first % second;
+            first = second;
+            second = remainder;
+        }
+        return first;
+    }
+
+    // EFFECTS: returns the 64 bit FNV-1a hash of the ordinal and count pairs
+    private static long hash(int[] ordinals, long[] counts) {
+        long hash = HASH_OFFSET;
+        for (int i = 0; i < ordinals.length; i++) {
+            hash = (hash ^ ordinals[i]) * HASH_PRIME;
+            hash = (hash ^ counts[i]) * HASH_PRIME;
+        }
+        return hash;
+    }
+
+    // EFFECTS: produces the composition of the given parsed formula parts
+    public static Composition of(List<FormulaElement> moleculeList,
+                                 List<MoleculeGroup> substitutableGroups,
+                                 List<MoleculeGroup> covalentGroups,
+                                 List<MoleculeGroup> hydrates) {
+        double[] totals = SCRATCH_TOTALS.get();
+        addElements(totals, moleculeList, 1);
+        for (List<MoleculeGroup> groups : List.of(substitutableGroups, covalentGroups)) {
+            for (MoleculeGroup group : groups) {
+                addGroup(totals, group, 1);
+            }
+        }
+        for (MoleculeGroup hydrate : hydrates) {
+            addGroup(totals, hydrate, 1);
+        }
+        return compress(totals);
+    }
+
+    // MODIFIES: totals
+    // EFFECTS: adds every element in group and its nested groups, scaled by factor and the group multiplier
+    private static void addGroup(double[] totals, MoleculeGroup group, double factor) {
+        double scale = factor * group.getMultiplier();
+        if (group.isSubstitutable() && !hasSiteFractions(group)) {
+            scale /= group.getElements().size() + group.getSubGroups().size();
+        }
+        addElements(totals, group.getElements(), scale);
+        for (MoleculeGroup subGroup : group.getSubGroups()) {
+            addGroup(totals, subGroup, scale);
+        }
+    }
+
+    // MODIFIES: totals
+    // EFFECTS: adds the occupancy of every element scaled by factor
+    private static void addElements(double[] totals, List<FormulaElement> elements, double factor) {
+        for (FormulaElement element : elements) {
+            totals[element.getSymbol().ordinal()] += element.getOccupancy() * factor;
+        }
+    }
+
+    // EFFECTS: returns true if any element directly in group has a fractional occupancy
+    private static boolean hasSiteFractions(MoleculeGroup group) {
+        for (FormulaElement element : group.getElements()) {
+            if (element.getOccupancy() != Math.rint(element.getOccupancy())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // MODIFIES: totals
+    // EFFECTS: produces composition containing the non zero entries of totals and resets them to zero
+    private static Composition compress(double[] totals) {
+        int size = 0;
+        for (double total : totals) {
+            size += total != 0 ? 1 : 0;
+        }
+        int[] ordinals = new int[size];
+        double[] amounts = new double[size];
+        for (int ordinal = 0, i = 0; ordinal < totals.length; ordinal++) {
+            if (totals[ordinal] != 0) {
+                ordinals[i] = ordinal;
+                amounts[i++] = totals[ordinal];
+                totals[ordinal] = 0;
+            }
+        }
+        return new Composition(ordinals, amounts);
+    }
+
+    // EFFECTS: returns true if this and other have the same elements in the same whole number proportions
+    public boolean hasSameEmpiricalForm(Composition other) {
+        return canonicalHash == other.canonicalHash
+                && Arrays.equals(ordinals, other.ordinals)
+                && Arrays.equals(empiricalCounts, other.empiricalCounts);
+    }
+
+    // EFFECTS: produces the empirical formula in Hill order: C then H first if carbon is present, then the
+    //          remaining elements alphabetically, with counts of 1 left out
+    public String getEmpiricalFormula() {
+        StringBuilder empiricalFormula = new StringBuilder();
+        for (int i : hillOrder()) {
+            empiricalFormula.append(SYMBOLS[ordinals[i]].getDisplayName());
+            if (empiricalCounts[i] != 1) {
+                empiricalFormula.append(empiricalCounts[i]);
+            }
+        }
+        return empiricalFormula.toString();
+    }
+
+    // EFFECTS: produces the composition with its unreduced amounts in Hill order, with amounts of 1 left out
+    public String getHillFormula() {
+        StringBuilder hillFormula = new StringBuilder();
+        for (int i : hillOrder()) {
+            hillFormula.append(SYMBOLS[ordinals[i]].getDisplayName())
+                    .append(StringUtils.coefficientValue(amounts[i]));
+        }
+        return hillFormula.toString();
+    }
+
+    // EFFECTS: returns the indices of the elements sorted in Hill order
+    private Integer[] hillOrder() {
+        Integer[] order = new Integer[ordinals.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        boolean hasCarbon = contains(AtomicSymbols.C);
+        Arrays.sort(order, Comparator.comparingInt((Integer i) -> hillRank(SYMBOLS[ordinals[i]], hasCarbon))
+                .thenComparing((Integer i) -> SYMBOLS[ordinals[i]].getDisplayName()));
+        return order;
+    }
+
+    // EFFECTS: returns 0 for carbon and 1 for hydrogen if hasCarbon, otherwise 2
+    private static int hillRank(AtomicSymbols symbol, boolean hasCarbon) {
+        if (hasCarbon && symbol == AtomicSymbols.C) {
+            return 0;
+        }
+        return hasCarbon && symbol == AtomicSymbols.H ? 1 : 2;
+    }
+
+    // EFFECTS: returns the amount of symbol per formula unit, 0 if it is not present
+    public double count(AtomicSymbols symbol) {
+        int index = indexOf(symbol);
+        return index < 0 ? 0 : amounts[index];
+    }
+
+    // EFFECTS: returns true if symbol is present
+    public boolean contains(AtomicSymbols symbol) {
+        return indexOf(symbol) >= 0;
+    }
+
+    // EFFECTS: returns the position of symbol in ordinals, or a negative number if it is not present
+    private int indexOf(AtomicSymbols symbol) {
+        int target = symbol.ordinal();
+        int low = 0;
+        int high = ordinals.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (ordinals[middle] < target) {
+                low = middle + 1;
+            } else if (ordinals[middle] > target) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns 1 - the cosine of the angle between the amount vectors of this and other,
+    //          1 if either composition is empty
+    public double cosineDistance(Composition other) {
+        double dot = 0;
+        for (int i = 0, j = 0; i < ordinals.length && j < other.ordinals.length;) {
+            if (ordinals[i] < other.ordinals[j]) {
+                i++;
+            } else if (ordinals[i] > other.ordinals[j]) {
+                j++;
+            } else {
+                dot += amounts[i++] * other.amounts[j++];
+            }
+        }
+        double norms = Math.sqrt(sumOfSquares() * other.sumOfSquares());
+        return norms == 0 ? 1 : Math.max(0, 1 - dot / norms);
+    }
+
+    // EFFECTS: returns half the L1 distance between the atom fractions of this and other, from 0 for identical
+    //          proportions to 1 for no shared elements, 1 if either composition is empty
+    public double normalizedL1Distance(Composition other) {
+        double total = totalAtoms();
+        double otherTotal = other.totalAtoms();
+        if (total == 0 || otherTotal == 0) {
+            return 1;
+        }
+        double distance = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ordinals.length || j < other.ordinals.length) {
+            int ordinal = i < ordinals.length ? ordinals[i] : Integer.MAX_VALUE;
+            int otherOrdinal = j < other.ordinals.length ? other.ordinals[j] : Integer.MAX_VALUE;
+            double fraction = ordinal <= otherOrdinal ? amounts[i++] / total : 0;
+            double otherFraction = otherOrdinal <= ordinal ? other.amounts[j++] / otherTotal : 0;
+            distance += Math.abs(fraction - otherFraction);
+        }
+        return distance / 2;
+    }
+
+    // EFFECTS: returns the sum of the squared amounts
+    private double sumOfSquares() {
+        double total = 0;
+        for (double amount : amounts) {
+            total += amount * amount;
+        }
+        return total;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the elements in ascending ordinal order, building the list on the first call only
+    public List<AtomicSymbols> elements() {
+        if (elements == null) {
+            List<AtomicSymbols> symbols = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                symbols.add(SYMBOLS[ordinal]);
+            }
+            elements = Collections.unmodifiableList(symbols);
+        }
+        return elements;
+    }
+
+    // getters
+
+    public int size() {
+        return ordinals.length;
+    }
+
+    public AtomicSymbols getSymbol(int index) {
+        return SYMBOLS[ordinals[index]];
+    }
+
+    public int getOrdinal(int index) {
+        return ordinals[index];
+    }
+
+    public double getAmount(int index) {
+        return amounts[index];
+    }
+
+    public long getEmpiricalCount(int index) {
+        return empiricalCounts[index];
+    }
+
+    public long getCanonicalHash() {
+        return canonicalHash;
+    }
+
+    // EFFECTS: returns the total number of atoms per formula unit
+    public double totalAtoms() {
+        double total = 0;
+        for (double amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+}
@@ -2,158 +2,321 @@ package model.chemicalstructure;
 
 import model.enums.AtomicSymbols;
 import model.modelexceptions.UnknownElementException;
+import model.logging.DiagnosticLevel;
+import model.logging.Diagnostics;
 import utils.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-// Data representation for chemical formulas
+// Data representation for chemical formulas, immutable once constructed so instances can be shared
 
 public class Formula {
+    // EFFECTS: decodes and returns the free elements of the formula
     public List<FormulaElement> getMoleculeList() {
-        return moleculeList;
+        List<FormulaElement> moleculeList = new ArrayList<>();
+        FormulaCodec.decode(encoding, moleculeList, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        return Collections.unmodifiableList(moleculeList);
     }
 
+    // EFFECTS: decodes and returns the top level substitutable groups of the formula
     public List<MoleculeGroup> getSubstitutableGroups() {
-        return substitutableGroups;
+        List<MoleculeGroup> substitutableGroups = new ArrayList<>();
+        FormulaCodec.decode(encoding, new ArrayList<>(), substitutableGroups, new ArrayList<>(), new ArrayList<>());
+        return Collections.unmodifiableList(substitutableGroups);
     }
 
+    // EFFECTS: decodes and returns the top level covalent groups of the formula
     public List<MoleculeGroup> getCovalentGroups() {
-        return covalentGroups;
+        List<MoleculeGroup> covalentGroups = new ArrayList<>();
+        FormulaCodec.decode(encoding, new ArrayList<>(), new ArrayList<>(), covalentGroups, new ArrayList<>());
+        return Collections.unmodifiableList(covalentGroups);
     }
 
-    private final List<FormulaElement> moleculeList;
-    private final List<MoleculeGroup> substitutableGroups;
-    private final List<MoleculeGroup> covalentGroups;
+    // EFFECTS: decodes and returns the hydrates of the formula
+    public List<MoleculeGroup> getHydrates() {
+        List<MoleculeGroup> hydrates = new ArrayList<>();
+        FormulaCodec.decode(encoding, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), hydrates);
+        return Collections.unmodifiableList(hydrates);
+    }
+
+    private final byte[] encoding;
     private final String unparsedFormula;
+    private final Composition composition;
 
     private String parsedFormulaString;
+    private String plainFormulaString;
 
     private boolean isValidFormula = true;
+    private volatile double molarMass = Double.NaN;
 
-    private static final Pattern substitutableGroup = Pattern.compile("\\([^\\)]+,[^\\)]+\\)(\\d)*");
-    private static final Pattern covalentIon = Pattern.compile("\\([^\\)]+\\)\\d*");
-    private static final Pattern elementMatch = Pattern.compile("[A-Z][a-z]?\\d*");
     private static final Pattern generalDigit = Pattern.compile("(\\d)+");
-    private static final Pattern bracketDigit = Pattern.compile("\\)(\\d)+");
+    private static final Pattern nonDigit = Pattern.compile("[^\\d]+");
 
-    // EFFECTS: Constructs new formula object and populates the lists with interpreted elements from unparsed formula
+    // EFFECTS: Constructs new formula object from the elements and groups interpreted from unparsed formula, keeping
+    //          them in their compact encoding
     //          throws UnknownElementException if unparsedFormula is not a valid formula.
+    //          throws FormulaLimitException if unparsedFormula exceeds the limits on saved formulas
     public Formula(String unparsedFormula) throws UnknownElementException {
-        this.moleculeList = new ArrayList<>();
-        this.substitutableGroups = new ArrayList<>();
-        this.covalentGroups = new ArrayList<>();
+        this(unparsedFormula, ParseLimits.SAVED_DATA);
+    }
+
+    // EFFECTS: Constructs new formula object from unparsed formula as above, bounded by limits instead
+    //          throws UnknownElementException if unparsedFormula is not a valid formula.
+    //          throws FormulaLimitException if unparsedFormula exceeds limits
+    public Formula(String unparsedFormula, ParseLimits limits) throws UnknownElementException {
         this.unparsedFormula = unparsedFormula;
         if (unparsedFormula.equals("NA")) {
             isValidFormula = false;
+            this.encoding = FormulaCodec.EMPTY;
+            this.composition = Composition.EMPTY;
         } else {
-            parseFormula(unparsedFormula);
-            parsedFormulaString = convertFormulaToString();
+            List<FormulaElement> moleculeList = new ArrayList<>();
+            List<MoleculeGroup> substitutableGroups = new ArrayList<>();
+            List<MoleculeGroup> covalentGroups = new ArrayList<>();
+            List<MoleculeGroup> hydrates = new ArrayList<>();
+            new FormulaParser(unparsedFormula, limits).parse(moleculeList, substitutableGroups, covalentGroups,
+                    hydrates);
+            this.encoding = FormulaCodec.encode(moleculeList, substitutableGroups, covalentGroups, hydrates);
+            this.composition = Composition.of(moleculeList, substitutableGroups, covalentGroups, hydrates);
         }
     }
 
+    // EFFECTS: parses every unparsed formula in parallel and returns the formulas in input order, together with
+    //          the UnknownElementException raised at each position that is not a valid formula
+    public static FormulaBatch parseAll(Collection<String> unparsedFormulas) {
+        return FormulaBatch.parse(unparsedFormulas, Formula::new);
+    }
+
     // EFFECTS: constructor for dummy formula
     public Formula() {
-        this.moleculeList = new ArrayList<>();
-        this.substitutableGroups = new ArrayList<>();
-        this.covalentGroups = new ArrayList<>();
+        this.encoding = FormulaCodec.EMPTY;
         this.unparsedFormula = "";
+        this.composition = Composition.EMPTY;
         this.isValidFormula = false;
     }
 
+    // EFFECTS: produces the formula as HTML with amounts as subscripts
     public String convertFormulaToString() {
-        StringBuilder parsedFormulaStringBuilder = new StringBuilder("<html>");
+        return "<html>" + convertFormulaToString(true) + "</html>";
+    }
+
+    // EFFECTS: produces the formula with covalent groups first, then substitutable groups, free elements and
+    //          hydrates, writing amounts as HTML subscripts if html and as plain digits otherwise
+    private String convertFormulaToString(boolean html) {
+        List<FormulaElement> moleculeList = new ArrayList<>();
+        List<MoleculeGroup> substitutableGroups = new ArrayList<>();
+        List<MoleculeGroup> covalentGroups = new ArrayList<>();
+        List<MoleculeGroup> hydrates = new ArrayList<>();
+        FormulaCodec.decode(encoding, moleculeList, substitutableGroups, covalentGroups, hydrates);
+        StringBuilder parsedFormulaStringBuilder = new StringBuilder();
         for (MoleculeGroup group : covalentGroups) {
-            parsedFormulaStringBuilder.append("(");
-            convertMoleculeListString(group.getElements(), parsedFormulaStringBuilder);
-            parsedFormulaStringBuilder.append(")")
-                    .append(StringUtils.subscriptValue(group.getAmount()));
+            convertGroupString(group, parsedFormulaStringBuilder, html);
         }
 
         for (MoleculeGroup group : substitutableGroups) {
-            parsedFormulaStringBuilder.append("(");
-            for (FormulaElement element : group.getElements()) {
-                parsedFormulaStringBuilder.append(StringUtils.getSentenceCase(element.getSymbol().toString()))
-                        .append(StringUtils.subscriptValue(element.getCount()))
-                        .append(", ");
-            }
-
-            parsedFormulaStringBuilder.delete(parsedFormulaStringBuilder.length() - 2,
-                            parsedFormulaStringBuilder.length())
-                    .append(")")
-                    .append(StringUtils.subscriptValue(group.getAmount()));
+            convertGroupString(group, parsedFormulaStringBuilder, html);
         }
 
-        convertMoleculeListString(moleculeList, parsedFormulaStringBuilder);
-        parsedFormulaStringBuilder.append("</html>");
+        convertMoleculeListString(moleculeList, parsedFormulaStringBuilder, "", html);
+        for (MoleculeGroup hydrate : hydrates) {
+            parsedFormulaStringBuilder.append("\u00B7")
+                    .append(StringUtils.coefficientValue(hydrate.getMultiplier()));
+            convertGroupContents(hydrate, parsedFormulaStringBuilder, html);
+        }
         return parsedFormulaStringBuilder.toString();
     }
 
+    // MODIFIES: parsedFormulaStringBuilder
+    // EFFECTS: appends the bracketed group and its amount to parsedFormulaStringBuilder
+    private static void convertGroupString(MoleculeGroup group, StringBuilder parsedFormulaStringBuilder,
+                                           boolean html) {
+        parsedFormulaStringBuilder.append("(");
+        convertGroupContents(group, parsedFormulaStringBuilder, html);
+        parsedFormulaStringBuilder.append(")")
+                .append(amountString(group.getMultiplier(), html));
+    }
+
+    // MODIFIES: parsedFormulaStringBuilder
+    // EFFECTS: appends the elements and nested groups of group, separated by ", " if group is substitutable
+    private static void convertGroupContents(MoleculeGroup group, StringBuilder parsedFormulaStringBuilder,
+                                             boolean html) {
+        String separator = group.isSubstitutable() ? ", " : "";
+        int start = parsedFormulaStringBuilder.length();
+        convertMoleculeListString(group.getElements(), parsedFormulaStringBuilder, separator, html);
+        for (MoleculeGroup subGroup : group.getSubGroups()) {
+            if (parsedFormulaStringBuilder.length() > start) {
+                parsedFormulaStringBuilder.append(separator);
+            }
+            convertGroupString(subGroup, parsedFormulaStringBuilder, html);
+        }
+    }
+
+    // MODIFIES: parsedFormulaStringBuilder
+    // EFFECTS: appends each element display name and its amount, separated by separator
     private static void convertMoleculeListString(List<FormulaElement> group,
-                                                  StringBuilder parsedFormulaStringBuilder) {
-        for (FormulaElement element : group) {
-            System.out.println(StringUtils.getSentenceCase(element.getSymbol().toString()));
-            parsedFormulaStringBuilder.append(StringUtils.getSentenceCase(element.getSymbol().toString()))
-                    .append(StringUtils.subscriptValue(element.getCount()));
+                                                  StringBuilder parsedFormulaStringBuilder,
+                                                  String separator,
+                                                  boolean html) {
+        for (int i = 0; i < group.size(); i++) {
+            FormulaElement element = group.get(i);
+            if (i > 0) {
+                parsedFormulaStringBuilder.append(separator);
+            }
+            if (Diagnostics.getInstance().isEnabled(DiagnosticLevel.TRACE)) {
+                Diagnostics.getInstance().log(DiagnosticLevel.TRACE, "Rendering element: " + element.getSymbol());
+            }
+            parsedFormulaStringBuilder.append(element.getSymbol().getDisplayName())
+                    .append(amountString(element.getOccupancy(), html));
         }
     }
 
+    // EFFECTS: produces amount as an HTML subscript if html and as plain digits otherwise, blank if it is 1
+    private static String amountString(double amount, boolean html) {
+        return html ? StringUtils.subscriptValue(amount) : StringUtils.coefficientValue(amount);
+    }
 
-    // getters
+    // MODIFIES: this
+    // EFFECTS: returns the HTML rendering of the formula, building it on the first call only,
+    //          null if the formula is not valid
     public String getFormulaAsString() {
+        if (parsedFormulaString == null && isValidFormula) {
+            parsedFormulaString = convertFormulaToString();
+        }
         return parsedFormulaString;
     }
 
+    // MODIFIES: this
+    // EFFECTS: returns the formula as plain text with amounts as digits, building it on the first call only,
+    //          an empty string if the formula is not valid
+    public String getPlainFormulaString() {
+        if (plainFormulaString == null) {
+            plainFormulaString = isValidFormula ? convertFormulaToString(false) : "";
+        }
+        return plainFormulaString;
+    }
+
+    // getters
     public boolean isValidFormula() {
         return isValidFormula;
     }
 
-    // MODIFIES: this
-    // EFFECTS: populates substitutableGroups, covalentGroups and moleculeList with the correct elements and quantities
-    //          if unparsedFormula contains unrecognizable terms, throws UnknownElementException
-    public void parseFormula(String unparsedFormula) throws UnknownElementException {
+    public Composition getComposition() {
+        return composition;
+    }
+
+    // EFFECTS: returns the 64 bit hash of the empirical form of this formula
+    public long getCanonicalHash() {
+        return composition.getCanonicalHash();
+    }
+
+    // EFFECTS: produces the empirical formula in Hill order, e.g. "O2Si" for SiO2
+    public String getEmpiricalFormula() {
+        return composition.getEmpiricalFormula();
+    }
+
+    // EFFECTS: returns true if o is a Formula with the same elements in the same whole number proportions,
+    //          so "SiO2", "O2Si" and "Si2O4" are all equal
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Formula)) {
+            return false;
+        }
+        return composition.hasSameEmpiricalForm(((Formula) o).composition);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(composition.getCanonicalHash());
+    }
+
+    // EFFECTS: produces the signature of every bracketed group that is not substitutable, including groups nested
+    //          in other groups or in hydrates, mapped to the number of such groups per formula unit
+    public Map<String, Double> getGroupMultiplicities() {
+        List<MoleculeGroup> substitutableGroups = new ArrayList<>();
+        List<MoleculeGroup> covalentGroups = new ArrayList<>();
+        List<MoleculeGroup> hydrates = new ArrayList<>();
+        FormulaCodec.decode(encoding, new ArrayList<>(), substitutableGroups, covalentGroups, hydrates);
+        Map<String, Double> multiplicities = new HashMap<>();
+        addGroupMultiplicities(covalentGroups, 1, multiplicities);
+        addGroupMultiplicities(substitutableGroups, 1, multiplicities);
+        for (MoleculeGroup hydrate : hydrates) {
+            addGroupMultiplicities(hydrate.getSubGroups(), hydrate.getMultiplier(), multiplicities);
+        }
+        return multiplicities;
+    }
 
-        Matcher substitutableGroupMatcher = substitutableGroup.matcher(unparsedFormula);
-        while (substitutableGroupMatcher.find()) {
-            this.substitutableGroups.add(processSubGroup(substitutableGroupMatcher.group()));
+    // MODIFIES: multiplicities
+    // EFFECTS: adds the signature of each group that is not substitutable and of each nested group to
+    //          multiplicities, counting factor times the multipliers of the group and its parents
+    private static void addGroupMultiplicities(List<MoleculeGroup> groups, double factor,
+                                               Map<String, Double> multiplicities) {
+        for (MoleculeGroup group : groups) {
+            double count = factor * group.getMultiplier();
+            if (!group.isSubstitutable()) {
+                multiplicities.merge(group.getSignature(), count, Double::sum);
+            }
+            addGroupMultiplicities(group.getSubGroups(), count, multiplicities);
         }
+    }
+
+    // EFFECTS: returns the amount of symbol per formula unit, 0 if it is not present
+    public double count(AtomicSymbols symbol) {
+        return composition.count(symbol);
+    }
+
+    // EFFECTS: returns the distinct elements in this formula in atomic number order
+    public List<AtomicSymbols> elements() {
+        return composition.elements();
+    }
 
-        String subGroupParsedFormula = unparsedFormula.replaceAll(substitutableGroup.toString(), "");
-        Matcher covalentIonMatcher = covalentIon.matcher(subGroupParsedFormula);
-        while (covalentIonMatcher.find()) {
-            this.covalentGroups.add(processSubGroup(covalentIonMatcher.group()));
+    // MODIFIES: this
+    // EFFECTS: returns the molar mass in g/mol, computing it from the composition on the first call only; the
+    //          cache is volatile so that a formula shared between threads never shows a torn or stale value, and
+    //          threads racing on the first call at worst compute the same value twice
+    public double getMolarMass() {
+        double mass = molarMass;
+        if (Double.isNaN(mass)) {
+            mass = molarMassOf(composition);
+            molarMass = mass;
         }
-        String groupParsedFormula = subGroupParsedFormula.replaceAll(covalentIon.toString(), "");
-        try {
-            packageElements(groupParsedFormula, this.moleculeList);
-        } catch (UnknownElementException e) {
-            throw new UnknownElementException();
+        return mass;
+    }
+
+    // EFFECTS: returns the molar mass in g/mol of composition
+    private static double molarMassOf(Composition composition) {
+        double total = 0;
+        for (int i = 0; i < composition.size(); i++) {
+            total += composition.getAmount(i) * AtomicSymbols.atomicWeightOf(composition.getOrdinal(i));
         }
+        return total;
+    }
 
+    // EFFECTS: returns the percentage of the molar mass contributed by symbol, 0 if the molar mass is 0
+    public double getWeightPercent(AtomicSymbols symbol) {
+        double mass = getMolarMass();
+        return mass == 0 ? 0 : 100 * composition.count(symbol) * symbol.getAtomicWeight() / mass;
     }
 
     // MODIFIES: targetList
     // EFFECTS: Takes a String containing elements and their quantities, turns it to a FormulaElement and adds it to
     //          targetList
     public void packageElements(String elements, List<FormulaElement> targetList) throws UnknownElementException {
-        Matcher elementMatches = elementMatch.matcher(elements);
-        while (elementMatches.find()) {
-            String found = elementMatches.group();
-            Integer amount = getNumericalComponent(found);
-            String elementComponent = getStringComponent(found);
-            try {
-                targetList.add(new FormulaElement(AtomicSymbols.valueOf(elementComponent.toUpperCase()), amount));
-            } catch (IllegalArgumentException e) {
-                throw new UnknownElementException();
-            }
-        }
+        new FormulaParser(elements).parseElements(targetList);
     }
 
     // EFFECTS: returns the first section of a string not containing any numbers
     public String getStringComponent(String found) {
-        Matcher m = Pattern.compile("[^\\d]+").matcher(found);
+        Matcher m = nonDigit.matcher(found);
         if (m.find()) {
             return m.group();
         } else {
@@ -174,19 +337,7 @@ public class Formula {
     // EFFECTS: Takes a string identified as a covalent group/subgroup and returns a new MoleculeGroup containing
     //          the elements and their quantities along with the quantity of the covalent group/subgroup
     public MoleculeGroup processSubGroup(String group) throws UnknownElementException {
-        int amount;
-        List<FormulaElement> processedSubgroups = new ArrayList<>();
-        Matcher amountChecker = bracketDigit.matcher(group);
-        if (amountChecker.find()) {
-            amount = getNumericalComponent(amountChecker.group());
-            System.out.println(amount);
-        } else {
-            amount = 1;
-        }
-        String justElements = group.replaceAll(bracketDigit.toString(), "").replaceAll(
-                "[^A-Za-z\\d]", "");
-        packageElements(justElements, processedSubgroups);
-        return new MoleculeGroup(amount, processedSubgroups);
+        return new FormulaParser(group).parseGroup();
     }
 
     public String getUnparsedFormula() {
@@ -0,0 +1,90 @@
+package model.chemicalstructure;
+
+import model.modelexceptions.UnknownElementException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+// Result of parsing many unparsed formulas at once, holding for each position in the input either the parsed
+// Formula or the UnknownElementException its unparsed formula raised
+//
+// Every position is parsed independently, so a batch is split across the common fork join pool
+
+public class FormulaBatch {
+    private final String[] unparsedFormulas;
+    private final Formula[] formulas;
+    private final UnknownElementException[] failures;
+
+    // Parses a single unparsed formula, either directly or through a cache
+    public interface FormulaSource {
+        Formula get(String unparsedFormula) throws UnknownElementException;
+    }
+
+    // EFFECTS: constructs a batch of unparsed formulas with no position parsed yet
+    private FormulaBatch(String[] unparsedFormulas) {
+        this.unparsedFormulas = unparsedFormulas;
+        this.formulas = new Formula[unparsedFormulas.length];
+        this.failures = new UnknownElementException[unparsedFormulas.length];
+    }
+
+    // EFFECTS: parses every unparsed formula with source in parallel and returns the results in input order
+    public static FormulaBatch parse(Collection<String> unparsedFormulas, FormulaSource source) {
+        FormulaBatch batch = new FormulaBatch(unparsedFormulas.toArray(new String[0]));
+        IntStream.range(0, batch.size()).parallel().forEach(i -> batch.parseAt(i, source));
+        return batch;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: parses the unparsed formula at index with source, recording the formula or the failure
+    private void parseAt(int index, FormulaSource source) {
+        try {
+            formulas[index] = source.get(unparsedFormulas[index]);
+        } catch (UnknownElementException e) {
+            failures[index] = e;
+        }
+    }
+
+    // EFFECTS: returns true if the unparsed formula at index was parsed without error
+    public boolean isParsed(int index) {
+        return failures[index] == null;
+    }
+
+    // EFFECTS: returns the formulas in input order, with null at every position that failed to parse
+    public List<Formula> getFormulas() {
+        return Collections.unmodifiableList(Arrays.asList(formulas));
+    }
+
+    // EFFECTS: returns the failures keyed by their position in the input, in ascending order
+    public SortedMap<Integer, UnknownElementException> getFailures() {
+        SortedMap<Integer, UnknownElementException> failuresByIndex = new TreeMap<>();
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] != null) {
+                failuresByIndex.put(i, failures[i]);
+            }
+        }
+        return failuresByIndex;
+    }
+
+    // getters
+
+    public int size() {
+        return unparsedFormulas.length;
+    }
+
+    public String getUnparsedFormula(int index) {
+        return unparsedFormulas[index];
+    }
+
+    public Formula getFormula(int index) {
+        return formulas[index];
+    }
+
+    public UnknownElementException getFailure(int index) {
+        return failures[index];
+    }
+}
@@ -0,0 +1,114 @@
+package model.chemicalstructure;
+
+import model.modelexceptions.UnknownElementException;
+import utils.fieldnames.Constants;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded least recently used cache that shares parsed Formulas between entries with the same unparsed formula
+
+public class FormulaCache {
+    private static FormulaCache instance;
+
+    private final int capacity;
+    private final LinkedHashMap<String, Formula> cachedFormulas;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // REQUIRES: capacity > 0
+    // EFFECTS: constructs an empty cache holding at most capacity formulas
+    public FormulaCache(int capacity) {
+        this.capacity = capacity;
+        this.cachedFormulas = new LinkedHashMap<String, Formula>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Formula> eldest) {
+                if (size() > FormulaCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // EFFECTS: returns the shared cache, creating it with the default capacity if it doesn't already exist
+    public static synchronized FormulaCache getInstance() {
+        if (instance == null) {
+            instance = new FormulaCache(Constants.FORMULA_CACHE_CAPACITY);
+        }
+        return instance;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the cached Formula for unparsedFormula, parsing it within the limits on saved formulas and
+    //          caching it if it is not present
+    //          throws UnknownElementException if unparsedFormula is not a valid formula
+    //          throws FormulaLimitException if unparsedFormula has to be parsed and exceeds the limits
+    public Formula getFormula(String unparsedFormula) throws UnknownElementException {
+        return getFormula(unparsedFormula, ParseLimits.SAVED_DATA);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the cached Formula for unparsedFormula, parsing it within limits and caching it if it is
+    //          not present; a formula already cached is returned without being checked again
+    //          throws UnknownElementException if unparsedFormula is not a valid formula
+    //          throws FormulaLimitException if unparsedFormula has to be parsed and exceeds limits
+    public Formula getFormula(String unparsedFormula, ParseLimits limits) throws UnknownElementException {
+        synchronized (this) {
+            Formula cached = cachedFormulas.get(unparsedFormula);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        Formula parsed = new Formula(unparsedFormula, limits);
+        synchronized (this) {
+            Formula raced = cachedFormulas.putIfAbsent(unparsedFormula, parsed);
+            return raced == null ? parsed : raced;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the cached Formula for every unparsed formula in input order, parsing the ones that are not
+    //          present in parallel within the limits on saved formulas and caching them, together with the
+    //          UnknownElementException raised at each position that is not a valid formula or exceeds the limits
+    public FormulaBatch getFormulas(Collection<String> unparsedFormulas) {
+        return FormulaBatch.parse(unparsedFormulas, this::getFormula);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every cached formula and resets the counters
+    public synchronized void clear() {
+        cachedFormulas.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    // getters
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return cachedFormulas.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
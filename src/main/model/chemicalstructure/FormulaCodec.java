@@ -0,0 +1,165 @@
+package model.chemicalstructure;
+
+import model.enums.AtomicSymbols;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compact byte encoding of the parsed parts of a formula, decoded back into elements and groups on demand
+//
+//  encoding := (element | group)*
+//  group    := (OPEN | OPEN_SUBSTITUTABLE | OPEN_HYDRATE) (element | group)* CLOSE amount
+//  element  := ORDINAL amount
+//  amount   := a whole number from 0 to 127 as one byte | WIDE_AMOUNT followed by the 8 bytes of a double
+//
+// element ordinals are below 0x80 so every byte at the start of an element or group tells them apart.
+// Top level groups are written covalent groups first, then substitutable groups, free elements and hydrates
+
+public class FormulaCodec {
+    public static final byte[] EMPTY = new byte[0];
+
+    private static final int OPEN = 0x80;
+    private static final int OPEN_SUBSTITUTABLE = 0x81;
+    private static final int OPEN_HYDRATE = 0x82;
+    private static final int CLOSE = 0x83;
+    private static final int WIDE_AMOUNT = 0xFF;
+    private static final int MAX_NARROW_AMOUNT = 0x7F;
+    private static final AtomicSymbols[] SYMBOLS = AtomicSymbols.values();
+
+    private final byte[] encoding;
+    private int position;
+
+    // EFFECTS: constructs decoder positioned at the start of encoding
+    private FormulaCodec(byte[] encoding) {
+        this.encoding = encoding;
+        this.position = 0;
+    }
+
+    // EFFECTS: produces the encoding of the given parsed formula parts
+    public static byte[] encode(List<FormulaElement> moleculeList,
+                                List<MoleculeGroup> substitutableGroups,
+                                List<MoleculeGroup> covalentGroups,
+                                List<MoleculeGroup> hydrates) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (MoleculeGroup group : covalentGroups) {
+            writeGroup(output, group, group.isSubstitutable() ? OPEN_SUBSTITUTABLE : OPEN);
+        }
+        for (MoleculeGroup group : substitutableGroups) {
+            writeGroup(output, group, group.isSubstitutable() ? OPEN_SUBSTITUTABLE : OPEN);
+        }
+        writeElements(output, moleculeList);
+        for (MoleculeGroup hydrate : hydrates) {
+            writeGroup(output, hydrate, OPEN_HYDRATE);
+        }
+        return output.size() == 0 ? EMPTY : output.toByteArray();
+    }
+
+    // MODIFIES: moleculeList, substitutableGroups, covalentGroups, hydrates
+    // EFFECTS: decodes encoding, adding free elements to moleculeList and each top level group to the list
+    //          matching its kind
+    public static void decode(byte[] encoding,
+                              List<FormulaElement> moleculeList,
+                              List<MoleculeGroup> substitutableGroups,
+                              List<MoleculeGroup> covalentGroups,
+                              List<MoleculeGroup> hydrates) {
+        FormulaCodec decoder = new FormulaCodec(encoding);
+        while (decoder.position < encoding.length) {
+            int marker = decoder.peek();
+            if (marker < OPEN) {
+                moleculeList.add(decoder.readElement());
+            } else if (marker == OPEN_HYDRATE) {
+                hydrates.add(decoder.readGroup());
+            } else if (marker == OPEN_SUBSTITUTABLE) {
+                substitutableGroups.add(decoder.readGroup());
+            } else {
+                covalentGroups.add(decoder.readGroup());
+            }
+        }
+    }
+
+    // MODIFIES: output
+    // EFFECTS: writes group with the given opening marker, its contents, CLOSE and its multiplier
+    private static void writeGroup(ByteArrayOutputStream output, MoleculeGroup group, int openMarker) {
+        output.write(openMarker);
+        writeElements(output, group.getElements());
+        for (MoleculeGroup subGroup : group.getSubGroups()) {
+            writeGroup(output, subGroup, subGroup.isSubstitutable() ? OPEN_SUBSTITUTABLE : OPEN);
+        }
+        output.write(CLOSE);
+        writeAmount(output, group.getMultiplier());
+    }
+
+    // MODIFIES: output
+    // EFFECTS: writes the ordinal and occupancy of each element
+    private static void writeElements(ByteArrayOutputStream output, List<FormulaElement> elements) {
+        for (FormulaElement element : elements) {
+            output.write(element.getSymbol().ordinal());
+            writeAmount(output, element.getOccupancy());
+        }
+    }
+
+    // MODIFIES: output
+    // EFFECTS: writes amount as one byte if it is a small whole number, otherwise as WIDE_AMOUNT and its bits
+    private static void writeAmount(ByteArrayOutputStream output, double amount) {
+        if (amount == Math.rint(amount) && amount >= 0 && amount <= MAX_NARROW_AMOUNT) {
+            output.write((int) amount);
+            return;
+        }
+        output.write(WIDE_AMOUNT);
+        long bits = Double.doubleToLongBits(amount);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            output.write((int) (bits >>> shift));
+        }
+    }
+
+    // REQUIRES: the byte at position opens a group
+    // MODIFIES: this
+    // EFFECTS: reads the group at position up to and including its multiplier
+    private MoleculeGroup readGroup() {
+        boolean substitutable = next() == OPEN_SUBSTITUTABLE;
+        List<FormulaElement> elements = new ArrayList<>();
+        List<MoleculeGroup> subGroups = new ArrayList<>();
+        while (peek() != CLOSE) {
+            if (peek() < OPEN) {
+                elements.add(readElement());
+            } else {
+                subGroups.add(readGroup());
+            }
+        }
+        position++;
+        return new MoleculeGroup(readAmount(), elements, subGroups, substitutable);
+    }
+
+    // REQUIRES: the byte at position is an element ordinal
+    // MODIFIES: this
+    // EFFECTS: reads the element at position and its occupancy
+    private FormulaElement readElement() {
+        return FormulaElement.of(SYMBOLS[next()], readAmount());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the amount at position
+    private double readAmount() {
+        int first = next();
+        if (first != WIDE_AMOUNT) {
+            return first;
+        }
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | next();
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    // EFFECTS: returns the unsigned byte at position
+    private int peek() {
+        return encoding[position] & 0xFF;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the unsigned byte at position and moves past it
+    private int next() {
+        return encoding[position++] & 0xFF;
+    }
+}
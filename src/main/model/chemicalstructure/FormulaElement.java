@@ -3,14 +3,51 @@ package model.chemicalstructure;
 import model.enums.AtomicSymbols;
 
 // Data representation containing an Element and its amount
+//
+// Instances are immutable, so whole counts up to MAX_SHARED_COUNT are served from a table of shared instances
+// built once per element by of(); larger and fractional amounts get a new instance
 public class FormulaElement {
+    public static final int MAX_SHARED_COUNT = 32;
+    private static final FormulaElement[][] SHARED = createSharedElements();
+
     private final AtomicSymbols symbol;
     private final int count;
+    private final double occupancy;
 
     // EFFECTS: initializes the FormulaElement
     public FormulaElement(AtomicSymbols symbol, int count) {
         this.symbol = symbol;
         this.count = count;
+        this.occupancy = count;
+    }
+
+    // EFFECTS: initializes the FormulaElement with a possibly fractional occupancy, count is occupancy rounded
+    public FormulaElement(AtomicSymbols symbol, double occupancy) {
+        this.symbol = symbol;
+        this.count = (int) Math.round(occupancy);
+        this.occupancy = occupancy;
+    }
+
+    // EFFECTS: produces the shared instance for every symbol and whole count from 0 to MAX_SHARED_COUNT
+    private static FormulaElement[][] createSharedElements() {
+        AtomicSymbols[] symbols = AtomicSymbols.values();
+        FormulaElement[][] shared = new FormulaElement[symbols.length][MAX_SHARED_COUNT + 1];
+        for (AtomicSymbols symbol : symbols) {
+            for (int count = 0; count <= MAX_SHARED_COUNT; count++) {
+                shared[symbol.ordinal()][count] = new FormulaElement(symbol, count);
+            }
+        }
+        return shared;
+    }
+
+    // EFFECTS: returns an element of symbol with the given occupancy, the shared instance if occupancy is a whole
+    //          number from 0 to MAX_SHARED_COUNT and a new instance otherwise
+    public static FormulaElement of(AtomicSymbols symbol, double occupancy) {
+        int count = (int) occupancy;
+        if (count == occupancy && count >= 0 && count <= MAX_SHARED_COUNT) {
+            return SHARED[symbol.ordinal()][count];
+        }
+        return new FormulaElement(symbol, occupancy);
     }
 
     //getters
@@ -18,6 +55,10 @@ public class FormulaElement {
         return count;
     }
 
+    public double getOccupancy() {
+        return occupancy;
+    }
+
     public AtomicSymbols getSymbol() {
         return symbol;
     }
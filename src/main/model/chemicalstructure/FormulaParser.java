@@ -0,0 +1,208 @@
+package model.chemicalstructure;
+
+import model.enums.AtomicSymbols;
+import model.modelexceptions.FormulaLimitException;
+import model.modelexceptions.UnknownElementException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Recursive descent parser that interprets an unparsed formula into elements and a tree of groups in one pass
+//
+//  formula  := sequence (HYDRATE_DOT hydrate)*
+//  hydrate  := amount? sequence
+//  sequence := (element | group)*
+//  group    := '(' sequence (',' sequence)* ')' amount?
+//  element  := UPPER LOWER? amount?
+//  amount   := DIGIT+ ('.' DIGIT+)?
+//
+// characters that cannot start an element or group are skipped
+//
+// every character is consumed once, so parsing is linear in the length of source; the ParseLimits bound that
+// length and the bracket nesting, which is also the recursion depth
+
+public class FormulaParser {
+    private static final String HYDRATE_DOTS = "\u00B7\u2022\u2219*";
+    // digits after this many are below double precision, and one more could overflow the long they are collected in
+    private static final int MAX_FRACTION_DIGITS = 18;
+
+    private final String source;
+    private final int length;
+    private final int lastClosingBracket;
+    private final ParseLimits limits;
+    private int position;
+    private int depth;
+
+    // EFFECTS: constructs a parser positioned at the start of source, bounded by the limits on saved formulas
+    public FormulaParser(String source) {
+        this(source, ParseLimits.SAVED_DATA);
+    }
+
+    // EFFECTS: constructs a parser positioned at the start of source, bounded by limits
+    public FormulaParser(String source, ParseLimits limits) {
+        this.source = source;
+        this.length = source.length();
+        this.lastClosingBracket = source.lastIndexOf(')');
+        this.limits = limits;
+        this.position = 0;
+    }
+
+    // EFFECTS: throws FormulaLimitException if source is longer than the length limit
+    private void checkLength() throws FormulaLimitException {
+        if (length > limits.getMaxLength()) {
+            throw new FormulaLimitException("Formula longer than " + limits.getMaxLength() + " characters");
+        }
+    }
+
+    // MODIFIES: moleculeList, substitutableGroups, covalentGroups, hydrates
+    // EFFECTS: parses source, adding free elements to moleculeList, top level bracketed groups to
+    //          substitutableGroups (if they contain a ',') or covalentGroups (otherwise) and every
+    //          part following a hydrate dot to hydrates
+    //          throws UnknownElementException if an element symbol is not recognized
+    //          throws FormulaLimitException if source exceeds the length or nesting limits
+    public void parse(List<FormulaElement> moleculeList,
+                      List<MoleculeGroup> substitutableGroups,
+                      List<MoleculeGroup> covalentGroups,
+                      List<MoleculeGroup> hydrates) throws UnknownElementException {
+        checkLength();
+        parseSequence(moleculeList, substitutableGroups, covalentGroups, false);
+        while (position < length) {
+            position++;
+            hydrates.add(parseHydrate());
+        }
+    }
+
+    // MODIFIES: targetList
+    // EFFECTS: scans source for elements only, adding each to targetList
+    //          throws UnknownElementException if an element symbol is not recognized
+    //          throws FormulaLimitException if source exceeds the length limit
+    public void parseElements(List<FormulaElement> targetList) throws UnknownElementException {
+        checkLength();
+        while (position < length) {
+            if (isUpperCase(source.charAt(position))) {
+                targetList.add(parseElement());
+            } else {
+                position++;
+            }
+        }
+    }
+
+    // EFFECTS: parses source as a single bracketed group and returns it
+    //          throws UnknownElementException if an element symbol is not recognized
+    //          throws FormulaLimitException if source exceeds the length or nesting limits
+    public MoleculeGroup parseGroup() throws UnknownElementException {
+        checkLength();
+        List<MoleculeGroup> groups = new ArrayList<>(1);
+        parseSequence(new ArrayList<>(), groups, groups, false);
+        return groups.isEmpty() ? new MoleculeGroup(1, new ArrayList<>()) : groups.get(0);
+    }
+
+    // MODIFIES: this, elements, substitutableGroups, covalentGroups
+    // EFFECTS: parses elements and groups until the end of source, the closing bracket of the enclosing group
+    //          (if inGroup) or a hydrate dot (if not inGroup), and returns true if a ',' was passed inside a group
+    private boolean parseSequence(List<FormulaElement> elements,
+                                  List<MoleculeGroup> substitutableGroups,
+                                  List<MoleculeGroup> covalentGroups,
+                                  boolean inGroup) throws UnknownElementException {
+        boolean isSubstitutable = false;
+        while (position < length) {
+            char current = source.charAt(position);
+            if (current == '(' && position < lastClosingBracket) {
+                position++;
+                MoleculeGroup group = parseBracketedGroup();
+                (group.isSubstitutable() ? substitutableGroups : covalentGroups).add(group);
+            } else if (isUpperCase(current)) {
+                elements.add(parseElement());
+            } else if (inGroup ? current == ')' : HYDRATE_DOTS.indexOf(current) >= 0) {
+                break;
+            } else {
+                isSubstitutable |= inGroup && current == ',';
+                position++;
+            }
+        }
+        return isSubstitutable;
+    }
+
+    // REQUIRES: position is just past an opening bracket
+    // MODIFIES: this
+    // EFFECTS: parses the group contents up to and including the closing bracket and its amount
+    //          a group left open at the end of source is closed implicitly
+    //          throws FormulaLimitException if the group is nested deeper than the nesting limit
+    private MoleculeGroup parseBracketedGroup() throws UnknownElementException {
+        if (++depth > limits.getMaxDepth()) {
+            throw new FormulaLimitException("Formula nests more than " + limits.getMaxDepth() + " brackets");
+        }
+        List<FormulaElement> elements = new ArrayList<>();
+        List<MoleculeGroup> subGroups = new ArrayList<>();
+        boolean isSubstitutable = parseSequence(elements, subGroups, subGroups, true);
+        depth--;
+        position++;
+        return new MoleculeGroup(parseAmount(), elements, subGroups, isSubstitutable);
+    }
+
+    // REQUIRES: position is just past a hydrate dot
+    // MODIFIES: this
+    // EFFECTS: parses the coefficient and contents of a hydrate up to the next hydrate dot or the end of source
+    private MoleculeGroup parseHydrate() throws UnknownElementException {
+        double coefficient = parseAmount();
+        List<FormulaElement> elements = new ArrayList<>();
+        List<MoleculeGroup> subGroups = new ArrayList<>();
+        parseSequence(elements, subGroups, subGroups, false);
+        return new MoleculeGroup(coefficient, elements, subGroups, false);
+    }
+
+    // REQUIRES: character at position is an uppercase letter
+    // MODIFIES: this
+    // EFFECTS: parses a one or two letter element symbol followed by its optional amount
+    //          throws UnknownElementException if the symbol is not recognized
+    private FormulaElement parseElement() throws UnknownElementException {
+        int start = position++;
+        if (position < length && isLowerCase(source.charAt(position))) {
+            position++;
+        }
+        AtomicSymbols symbol = AtomicSymbols.lookup(source.charAt(start),
+                position - start > 1 ? source.charAt(start + 1) : 0);
+        if (symbol == null) {
+            throw new UnknownElementException();
+        }
+        return FormulaElement.of(symbol, parseAmount());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: parses the integer or decimal amount at position and returns it, or 1 if there is none; fraction digits
+    //          past MAX_FRACTION_DIGITS are consumed but ignored
+    private double parseAmount() {
+        int start = position;
+        double amount = 0;
+        while (position < length && isDigit(source.charAt(position))) {
+            amount = amount * 10 + (source.charAt(position++) - '0');
+        }
+        if (position > start && position + 1 < length && source.charAt(position) == '.'
+                && isDigit(source.charAt(position + 1))) {
+            position++;
+            long fraction = 0;
+            double divisor = 1;
+            for (int digits = 0; position < length && isDigit(source.charAt(position)); digits++) {
+                if (digits < MAX_FRACTION_DIGITS) {
+                    fraction = fraction * 10 + (source.charAt(position) - '0');
+                    divisor *= 10;
+                }
+                position++;
+            }
+            amount += fraction / divisor;
+        }
+        return position == start ? 1 : amount;
+    }
+
+    private static boolean isUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLowerCase(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
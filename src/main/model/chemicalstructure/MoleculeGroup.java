@@ -1,16 +1,34 @@
 package model.chemicalstructure;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-// Data representation for covalent ions or substitutable groups
+// Data representation for covalent ions or substitutable groups, which may themselves contain nested groups
 public class MoleculeGroup {
     private final int amount;
+    private final double multiplier;
     private final List<FormulaElement> elements;
+    private final List<MoleculeGroup> subGroups;
+    private final boolean substitutable;
+    private String signature;
 
     //EFFECTS: Initializes MoleculeGroup with amount and elements
     public MoleculeGroup(int amount, List<FormulaElement> elements) {
-        this.amount = amount;
+        this(amount, elements, new ArrayList<>(), false);
+    }
+
+    //EFFECTS: Initializes MoleculeGroup with a possibly fractional multiplier, elements, nested groups and whether
+    //         its elements can substitute for each other, amount is multiplier rounded
+    public MoleculeGroup(double multiplier,
+                         List<FormulaElement> elements,
+                         List<MoleculeGroup> subGroups,
+                         boolean substitutable) {
+        this.amount = (int) Math.round(multiplier);
+        this.multiplier = multiplier;
         this.elements = elements;
+        this.subGroups = subGroups;
+        this.substitutable = substitutable;
     }
 
     // getters
@@ -18,8 +36,31 @@ public class MoleculeGroup {
         return amount;
     }
 
+    public double getMultiplier() {
+        return multiplier;
+    }
+
     public List<FormulaElement> getElements() {
-        return elements;
+        return Collections.unmodifiableList(elements);
+    }
+
+    public List<MoleculeGroup> getSubGroups() {
+        return Collections.unmodifiableList(subGroups);
+    }
+
+    public boolean isSubstitutable() {
+        return substitutable;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the contents of one unit of this group in Hill order, e.g. "O4Si" for (SiO4) or (O4Si),
+    //          ignoring the group multiplier, building it on the first call only
+    public String getSignature() {
+        if (signature == null) {
+            signature = Composition.of(elements, subGroups, Collections.emptyList(), Collections.emptyList())
+                    .getHillFormula();
+        }
+        return signature;
     }
 
 }
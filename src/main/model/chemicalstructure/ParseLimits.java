@@ -0,0 +1,37 @@
+package model.chemicalstructure;
+
+import utils.fieldnames.Constants;
+
+// Bounds on the input length and bracket nesting depth a single formula parse may use
+//
+// USER_INPUT applies to formulas typed into the dialogs and the console. SAVED_DATA applies to formulas read back
+// from a saved database, and is far looser so that anything typed once loads again, yet still finite since a file
+// can be crafted or corrupt. The parser makes one linear pass, so the length bounds the time a parse takes and the
+// depth bounds its recursion, and that of every walk over the groups of the parsed formula
+
+public class ParseLimits {
+    public static final ParseLimits USER_INPUT = new ParseLimits(Constants.MAX_FORMULA_LENGTH,
+            Constants.MAX_FORMULA_DEPTH);
+    public static final ParseLimits SAVED_DATA = new ParseLimits(Constants.MAX_SAVED_FORMULA_LENGTH,
+            Constants.MAX_SAVED_FORMULA_DEPTH);
+
+    private final int maxLength;
+    private final int maxDepth;
+
+    // REQUIRES: maxLength >= 0 and maxDepth >= 0
+    // EFFECTS: constructs limits allowing at most maxLength characters and maxDepth nested brackets per parse
+    public ParseLimits(int maxLength, int maxDepth) {
+        this.maxLength = maxLength;
+        this.maxDepth = maxDepth;
+    }
+
+    // getters
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+}
@@ -0,0 +1,7 @@
+package model.entries;
+
+// Interface for classes that want to listen to changes of a WikiEntry
+
+public interface EntryObserver {
+    void update(WikiEntry entry);
+}
@@ -27,9 +27,12 @@ public class Family extends WikiEntry {
     }
 
     // MODIFIES: this
-    // EFFECTS: adds mineral to mineralsWithFamily if it is not already there
+    // EFFECTS: sets mineralsWithFamily to minerals and notifies observers if it changed
     public void setMineralsWithFamily(List<WikiEntry> minerals) {
-        mineralsWithFamily = minerals;
+        if (!minerals.equals(mineralsWithFamily)) {
+            mineralsWithFamily = minerals;
+            notifyObservers();
+        }
     }
 
     // EFFECTS: prints out family name, formula and minerals with this family
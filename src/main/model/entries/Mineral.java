@@ -8,14 +8,14 @@ import model.logging.EventLog;
 import org.json.JSONObject;
 import utils.fieldnames.JsonFieldNames;
 
-// Mineral Data abstraction
+// Mineral Data abstraction, with its numeric attributes held as primitives
 
 public class Mineral extends WikiEntry {
     private CrystalStructure crystalStructure;
     private Cleavage cleavage;
-    private Float indexOfRefraction;
-    private Float hardness;
-    private Float density;
+    private float indexOfRefraction;
+    private float hardness;
+    private float density;
 
 
     public Mineral(String name) {
@@ -51,42 +51,48 @@ public class Mineral extends WikiEntry {
     }
 
     // MODIFIES: this
-    // EFFECTS: changes indexOfRefraction if given value is > 0
+    // EFFECTS: changes indexOfRefraction if given value is > 0 and notifies observers if it changed
     public void setIndexOfRefraction(Float indexOfRefraction) {
-        if (indexOfRefraction > 0) {
+        if (indexOfRefraction > 0 && indexOfRefraction != this.indexOfRefraction) {
             this.indexOfRefraction = indexOfRefraction;
+            notifyObservers();
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: changes hardness if given value is > 0
+    // EFFECTS: changes hardness if given value is > 0 and notifies observers if it changed
     public void setHardness(Float hardness) {
-        if (hardness > 0) {
+        if (hardness > 0 && hardness != this.hardness) {
             this.hardness = hardness;
+            notifyObservers();
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: changes density if given value is > 0
+    // EFFECTS: changes density if given value is > 0 and notifies observers if it changed
     public void setDensity(Float density) {
-        if (density > 0) {
+        if (density > 0 && density != this.density) {
             this.density = density;
+            notifyObservers();
         }
     }
 
     // MODIFIES: this
-    // effects: changes crystalStructure if given value is not CrystalStructure.NA
+    // effects: changes crystalStructure if given value is not CrystalStructure.NA and notifies observers if it
+    //          changed
     public void setCrystalStructure(CrystalStructure crystalStructure) {
-        if (crystalStructure != CrystalStructure.NA) {
+        if (crystalStructure != CrystalStructure.NA && crystalStructure != this.crystalStructure) {
             this.crystalStructure = crystalStructure;
+            notifyObservers();
         }
     }
 
     // MODIFIES: this
-    // effects: changes Cleavage if given value is not Cleavage.NA
+    // effects: changes Cleavage if given value is not Cleavage.NA and notifies observers if it changed
     public void setCleavage(Cleavage cleavage) {
-        if (cleavage != Cleavage.NA) {
+        if (cleavage != Cleavage.NA && cleavage != this.cleavage) {
             this.cleavage = cleavage;
+            notifyObservers();
         }
     }
 
@@ -110,9 +116,9 @@ public class Mineral extends WikiEntry {
         return new String[]{name,
                 crystalStructure.toString(),
                 generalFormula.getFormulaAsString(),
-                hardness.toString(),
-                density.toString(),
-                indexOfRefraction.toString(),
+                Float.toString(hardness),
+                Float.toString(density),
+                Float.toString(indexOfRefraction),
                 cleavage.toString()};
     }
     // EFFECTS: Produces JSON object with the fields of the instance
@@ -9,16 +9,20 @@ import utils.StringUtils;
 import utils.fieldnames.Constants;
 import utils.fieldnames.JsonFieldNames;
 
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public abstract class WikiEntry implements Writable {
     protected String description;
     protected Formula generalFormula;
     protected String name;
+    private final CopyOnWriteArrayList<EntryObserver> entryObservers;
 
     // EFFECTS: constructs WikiEntry with given name
     protected WikiEntry(String name) {
         this.name = name;
         this.description = "No description provided";
         this.generalFormula = new Formula();
+        this.entryObservers = new CopyOnWriteArrayList<>();
     }
 
     // getters
@@ -35,18 +39,41 @@ public abstract class WikiEntry implements Writable {
     }
 
     // MODIFIES: this
-    // EFFECTS: sets description if provided description is not an empty string
+    // EFFECTS: sets description if provided description is not an empty string and notifies observers if the
+    //          description changed
     public void setDescription(String description) {
-        if (!description.isEmpty()) {
+        if (!description.isEmpty() && !description.equals(this.description)) {
             this.description = description;
+            notifyObservers();
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: sets formula if formula.isValidFormula()
+    // EFFECTS: sets formula if formula.isValidFormula() and notifies observers if the formula changed
     public void setGeneralFormula(Formula formula) {
-        if (formula.isValidFormula()) {
+        if (formula.isValidFormula() && formula != this.generalFormula) {
             this.generalFormula = formula;
+            notifyObservers();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds observer to entryObservers if it is not already registered
+    public void addObserver(EntryObserver observer) {
+        entryObservers.addIfAbsent(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes observer from entryObservers
+    public void removeObserver(EntryObserver observer) {
+        entryObservers.remove(observer);
+    }
+
+    // EFFECTS: calls update(this) on all registered observers, iterating over a snapshot of them so that observers
+    //          registered or removed meanwhile, from any thread, neither break nor join this notification
+    protected void notifyObservers() {
+        for (EntryObserver observer : entryObservers) {
+            observer.update(this);
         }
     }
 
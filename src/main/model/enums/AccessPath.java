@@ -0,0 +1,13 @@
+package model.enums;
+
+import utils.StringUtils;
+
+// Contains the ways the query planner can produce the candidate minerals of a query before filtering them
+public enum AccessPath {
+    FULL_SCAN, ATTRIBUTE_RANGE, ATTRIBUTE_ORDER, ELEMENT_INDEX, CRYSTAL_INDEX, CLEAVAGE_INDEX, NAME_INDEX;
+
+    @Override
+    public String toString() {
+        return StringUtils.getSentenceCase(super.toString().replace('_', ' '));
+    }
+}
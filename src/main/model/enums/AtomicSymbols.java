@@ -1,6 +1,7 @@
 package model.enums;
 
-// Stores elements and their atomic number (along with the Vacancy/Any element (X))
+// Stores elements with their atomic number and standard atomic weight (along with the Vacancy/Any element (X))
+// radioactive elements without a standard weight use the mass number of their longest lived isotope
 
 public enum AtomicSymbols {
     X(0), H(1), HE(2), LI(3), BE(4),
@@ -28,10 +29,82 @@ public enum AtomicSymbols {
     DS(110), RG(111), CN(112), NH(113), FL(114),
     MC(115), LV(116), TS(117), OG(118);
 
+    // standard atomic weights in g/mol indexed by ordinal
+    private static final double[] ATOMIC_WEIGHTS = {
+            0, 1.008, 4.0026, 6.94, 9.0122, 10.81, 12.011, 14.007, 15.999, 18.998,
+            20.180, 22.990, 24.305, 26.982, 28.085, 30.974, 32.06, 35.45, 39.95, 39.098,
+            40.078, 44.956, 47.867, 50.942, 51.996, 54.938, 55.845, 58.933, 58.693, 63.546,
+            65.38, 69.723, 72.630, 74.922, 78.971, 79.904, 83.798, 85.468, 87.62, 88.906,
+            91.224, 92.906, 95.95, 98, 101.07, 102.91, 106.42, 107.87, 112.41, 114.82,
+            118.71, 121.76, 127.60, 126.90, 131.29, 132.91, 137.33, 138.91, 140.12, 140.91,
+            144.24, 145, 150.36, 151.96, 157.25, 158.93, 162.50, 164.93, 167.26, 168.93,
+            173.05, 174.97, 178.49, 180.95, 183.84, 186.21, 190.23, 192.22, 195.08, 196.97,
+            200.59, 204.38, 207.2, 208.98, 209, 210, 222, 223, 226, 227,
+            232.04, 231.04, 238.03, 237, 244, 243, 247, 247, 251, 252,
+            257, 258, 259, 266, 267, 268, 269, 270, 269, 278,
+            281, 282, 285, 286, 289, 290, 293, 294, 294
+    };
+
+    // symbol lookup table indexed by first letter * 27 + (0 for no second letter, otherwise second letter + 1)
+    private static final AtomicSymbols[] SYMBOL_TABLE = new AtomicSymbols[26 * 27];
+
+    static {
+        for (AtomicSymbols symbol : values()) {
+            String name = symbol.name();
+            SYMBOL_TABLE[tableIndex(name.charAt(0), name.length() > 1 ? name.charAt(1) : 0)] = symbol;
+        }
+    }
+
+    private final int atomicNumber;
+    private final String displayName;
+
     AtomicSymbols(int atomicNumber) {
+        this.atomicNumber = atomicNumber;
+        this.displayName = name().charAt(0) + name().substring(1).toLowerCase();
+    }
 
+    // getters
+    public int getAtomicNumber() {
+        return atomicNumber;
     }
-}
 
+    public String getDisplayName() {
+        return displayName;
+    }
 
+    public double getAtomicWeight() {
+        return ATOMIC_WEIGHTS[ordinal()];
+    }
 
+    // EFFECTS: returns the standard atomic weight of the element with the given ordinal
+    public static double atomicWeightOf(int ordinal) {
+        return ATOMIC_WEIGHTS[ordinal];
+    }
+
+    // EFFECTS: returns the element whose symbol is first followed by second (0 for a one letter symbol),
+    //          ignoring case, or null if there is no such element
+    public static AtomicSymbols lookup(char first, char second) {
+        int index = tableIndex(first, second);
+        return index < 0 ? null : SYMBOL_TABLE[index];
+    }
+
+    // EFFECTS: returns the element with the given one or two letter symbol ignoring case, or null if there is
+    //          no such element
+    public static AtomicSymbols lookup(String symbol) {
+        if (symbol.isEmpty() || symbol.length() > 2) {
+            return null;
+        }
+        return lookup(symbol.charAt(0), symbol.length() > 1 ? symbol.charAt(1) : 0);
+    }
+
+    // EFFECTS: returns the position of the symbol first followed by second in SYMBOL_TABLE, or -1 if either
+    //          character is not a letter
+    private static int tableIndex(char first, char second) {
+        int row = (first | 0x20) - 'a';
+        int column = second == 0 ? 0 : (second | 0x20) - 'a' + 1;
+        if (row < 0 || row >= 26 || column < 0 || column > 26 || (second != 0 && column == 0)) {
+            return -1;
+        }
+        return row * 27 + column;
+    }
+}
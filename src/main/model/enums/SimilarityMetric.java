@@ -0,0 +1,20 @@
+package model.enums;
+
+import model.chemicalstructure.Composition;
+import utils.StringUtils;
+
+// Contains the distance measures used to compare formula compositions
+public enum SimilarityMetric {
+    COSINE, NORMALIZED_L1;
+
+    // EFFECTS: returns the distance between first and second under this metric, 0 meaning identical proportions
+    public double distance(Composition first, Composition second) {
+        return (this == COSINE) ? first.cosineDistance(second) : first.normalizedL1Distance(second);
+    }
+
+    @Override
+    public String toString() {
+        return (this == NORMALIZED_L1) ? "Normalized L1" :
+                StringUtils.getSentenceCase(super.toString());
+    }
+}
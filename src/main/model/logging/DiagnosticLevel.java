@@ -0,0 +1,6 @@
+package model.logging;
+
+// Contains the severity levels of diagnostic messages, from most to least verbose
+public enum DiagnosticLevel {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+}
@@ -0,0 +1,78 @@
+package model.logging;
+
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+// Singleton channel for developer diagnostics, separate from the user facing EventLog
+//
+// A message is only written when its level is at or above the configured threshold, and callers pass either a
+// constant string or a Supplier so that a disabled message is never built. The starting threshold is read from
+// the system property "mineralwiki.diagnostics" (e.g. -Dmineralwiki.diagnostics=DEBUG), defaulting to INFO
+
+public class Diagnostics {
+    public static final String LEVEL_PROPERTY = "mineralwiki.diagnostics";
+    private static final Diagnostics INSTANCE = new Diagnostics();
+
+    private volatile DiagnosticLevel threshold;
+    private volatile PrintStream output;
+
+    // EFFECTS: private instance constructor with threshold read from LEVEL_PROPERTY and output to System.out
+    private Diagnostics() {
+        this.threshold = DiagnosticLevel.INFO;
+        this.output = System.out;
+        String configuredLevel = System.getProperty(LEVEL_PROPERTY);
+        if (configuredLevel != null) {
+            try {
+                this.threshold = DiagnosticLevel.valueOf(configuredLevel.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log(DiagnosticLevel.WARN, "Unknown diagnostic level: " + configuredLevel);
+            }
+        }
+    }
+
+    // EFFECTS: returns the single instance of Diagnostics
+    public static Diagnostics getInstance() {
+        return INSTANCE;
+    }
+
+    // getters
+    public DiagnosticLevel getThreshold() {
+        return threshold;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the lowest level that is written
+    public void setThreshold(DiagnosticLevel threshold) {
+        this.threshold = threshold;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the stream messages are written to
+    public void setOutput(PrintStream output) {
+        this.output = output;
+    }
+
+    // EFFECTS: returns true if messages of level are written
+    public boolean isEnabled(DiagnosticLevel level) {
+        return level != DiagnosticLevel.OFF && level.compareTo(threshold) >= 0;
+    }
+
+    // EFFECTS: writes message if level is enabled
+    public void log(DiagnosticLevel level, String message) {
+        if (isEnabled(level)) {
+            write(level, message);
+        }
+    }
+
+    // EFFECTS: builds and writes the message given by message if level is enabled
+    public void log(DiagnosticLevel level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            write(level, message.get());
+        }
+    }
+
+    // EFFECTS: writes message to output prefixed by level
+    private void write(DiagnosticLevel level, String message) {
+        output.println("[" + level + "] " + message);
+    }
+}
@@ -8,7 +8,8 @@ import java.util.Iterator;
  * Represents a log of alarm system events.
  * We use the Singleton Design Pattern to ensure that there is only
  * one EventLog in the system and that the system has global access
- * to the single instance of the EventLog.
+ * to the single instance of the EventLog. Every method is synchronized
+ * so events may be logged from several threads.
  */
 public class EventLog implements Iterable<Event> {
     /**
@@ -32,7 +33,7 @@ public class EventLog implements Iterable<Event> {
      *
      * @return instance of EventLog
      */
-    public static EventLog getInstance() {
+    public static synchronized EventLog getInstance() {
         if (theLog == null) {
             theLog = new EventLog();
         }
@@ -45,20 +46,23 @@ public class EventLog implements Iterable<Event> {
      *
      * @param e the event to be added
      */
-    public void logEvent(Event e) {
+    public synchronized void logEvent(Event e) {
         events.add(e);
     }
 
     /**
      * Clears the event log and logs the event.
      */
-    public void clear() {
+    public synchronized void clear() {
         events.clear();
         logEvent(new Event("Event log cleared."));
     }
 
+    /**
+     * Iterates over a snapshot of the events logged so far.
+     */
     @Override
-    public Iterator<Event> iterator() {
-        return events.iterator();
+    public synchronized Iterator<Event> iterator() {
+        return new ArrayList<>(events).iterator();
     }
 }
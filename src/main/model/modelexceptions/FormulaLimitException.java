@@ -0,0 +1,12 @@
+package model.modelexceptions;
+
+// Signals a formula rejected for exceeding the length or nesting limits it was parsed under
+
+public class FormulaLimitException extends UnknownElementException {
+    private static final long serialVersionUID = 1L;
+
+    // EFFECTS: constructs the exception with a message naming the exceeded limit
+    public FormulaLimitException(String message) {
+        super(message);
+    }
+}
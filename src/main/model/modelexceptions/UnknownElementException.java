@@ -1,4 +1,16 @@
 package model.modelexceptions;
 
+// Signals a formula symbol that is not an element, caused by bad input so no stack trace is recorded
+
 public class UnknownElementException extends Exception {
+
+    // EFFECTS: constructs the exception without capturing a stack trace
+    public UnknownElementException() {
+        super(null, null, false, false);
+    }
+
+    // EFFECTS: constructs the exception with message, without capturing a stack trace
+    protected UnknownElementException(String message) {
+        super(message, null, false, false);
+    }
 }
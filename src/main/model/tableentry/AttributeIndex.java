@@ -0,0 +1,180 @@
+package model.tableentry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Sorted secondary index from the value of one numeric attribute to the ids holding it, kept in a balanced tree
+// so that sorted iteration in either direction and range queries cost O(log n + k) and every change costs O(log n)
+//
+// Ids with the same value are ordered by the name they were indexed with
+
+public class AttributeIndex {
+    private final TreeMap<Float, TreeMap<String, Integer>> idsByValue;
+    private final List<String> indexedNames;
+    private final List<Float> indexedValues;
+    private int size;
+
+    // EFFECTS: constructs an empty index
+    public AttributeIndex() {
+        this.idsByValue = new TreeMap<>();
+        this.indexedNames = new ArrayList<>();
+        this.indexedValues = new ArrayList<>();
+    }
+
+    // REQUIRES: id >= 0 and no other indexed id shares name
+    // MODIFIES: this
+    // EFFECTS: indexes value under id, ordered among equal values by name, replacing whatever was indexed
+    //          under id before
+    public void add(int id, String name, float value) {
+        remove(id);
+        while (indexedNames.size() <= id) {
+            indexedNames.add(null);
+            indexedValues.add(null);
+        }
+        indexedNames.set(id, name);
+        indexedValues.set(id, value);
+        idsByValue.computeIfAbsent(value, key -> new TreeMap<>()).put(name, id);
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes id from the index, does nothing if id is not indexed
+    public void remove(int id) {
+        if (id >= indexedNames.size() || indexedNames.get(id) == null) {
+            return;
+        }
+        Float value = indexedValues.set(id, null);
+        TreeMap<String, Integer> ids = idsByValue.get(value);
+        ids.remove(indexedNames.set(id, null));
+        if (ids.isEmpty()) {
+            idsByValue.remove(value);
+        }
+        size--;
+    }
+
+    // REQUIRES: id >= 0 and no other indexed id shares name
+    // MODIFIES: this
+    // EFFECTS: re-indexes id if name or value differ from what is currently indexed under it
+    public void update(int id, String name, float value) {
+        if (id >= indexedNames.size() || !name.equals(indexedNames.get(id))
+                || Float.compare(value, indexedValues.get(id)) != 0) {
+            add(id, name, value);
+        }
+    }
+
+    // EFFECTS: returns every indexed id in ascending order of value
+    public List<Integer> ascending() {
+        return collect(idsByValue);
+    }
+
+    // EFFECTS: returns the ids whose value is between min and max inclusive, in ascending order of value
+    public List<Integer> range(float min, float max) {
+        if (Float.compare(min, max) > 0) {
+            return new ArrayList<>();
+        }
+        return collect(idsByValue.subMap(min, true, max, true));
+    }
+
+    // EFFECTS: returns at most count of the ids whose value is between min and max inclusive, in ascending order
+    //          of value, starting after the position of afterName with afterValue or from min if afterName is null
+    public List<Integer> range(float min, float max, float afterValue, String afterName, int count) {
+        List<Integer> ids = new ArrayList<>();
+        boolean resumes = afterName != null && Float.compare(afterValue, min) >= 0;
+        float from = resumes ? afterValue : min;
+        if (Float.compare(from, max) > 0) {
+            return ids;
+        }
+        for (Map.Entry<Float, TreeMap<String, Integer>> bucket : idsByValue.subMap(from, true, max, true).entrySet()) {
+            boolean first = resumes && Float.compare(bucket.getKey(), afterValue) == 0;
+            for (int id : (first ? bucket.getValue().tailMap(afterName, false) : bucket.getValue()).values()) {
+                if (ids.size() == count) {
+                    return ids;
+                }
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // EFFECTS: returns at most count ids in ascending order of value, after skipping the first skip of those
+    //          following the position of afterName with afterValue, or of all ids if afterName is null; whole
+    //          buckets of equal values are skipped at once
+    public List<Integer> page(float afterValue, String afterName, int skip, int count) {
+        return page(afterValue, afterName, skip, count, false);
+    }
+
+    // EFFECTS: returns the ids page(afterValue, afterName, skip, count) does, or if descending, those read in
+    //          descending order of value and then of name, from the position of afterName with afterValue down
+    public List<Integer> page(float afterValue, String afterName, int skip, int count, boolean descending) {
+        List<Integer> ids = new ArrayList<>();
+        int toSkip = skip;
+        for (Map.Entry<Float, TreeMap<String, Integer>> bucket
+                : bucketsFrom(afterValue, afterName, descending).entrySet()) {
+            boolean first = afterName != null && Float.compare(bucket.getKey(), afterValue) == 0;
+            Map<String, Integer> named = namesFrom(bucket.getValue(), first ? afterName : null, descending);
+            if (toSkip >= named.size()) {
+                toSkip -= named.size();
+                continue;
+            }
+            for (int id : named.values()) {
+                if (ids.size() == count) {
+                    return ids;
+                } else if (toSkip > 0) {
+                    toSkip--;
+                } else {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    // EFFECTS: returns the buckets of idsByValue in the order given by descending, from the bucket of afterValue
+    //          on, or all of them if afterName is null
+    private NavigableMap<Float, TreeMap<String, Integer>> bucketsFrom(float afterValue, String afterName,
+                                                                     boolean descending) {
+        if (afterName == null) {
+            return descending ? idsByValue.descendingMap() : idsByValue;
+        }
+        return descending ? idsByValue.headMap(afterValue, true).descendingMap()
+                : idsByValue.tailMap(afterValue, true);
+    }
+
+    // EFFECTS: returns the ids of bucket in the order given by descending, following afterName, or all of them if
+    //          afterName is null
+    private static NavigableMap<String, Integer> namesFrom(TreeMap<String, Integer> bucket, String afterName,
+                                                          boolean descending) {
+        if (afterName == null) {
+            return descending ? bucket.descendingMap() : bucket;
+        }
+        return descending ? bucket.headMap(afterName, false).descendingMap() : bucket.tailMap(afterName, false);
+    }
+
+    // EFFECTS: returns the ids of every bucket in idsByValue in iteration order
+    private static List<Integer> collect(Map<Float, TreeMap<String, Integer>> buckets) {
+        List<Integer> ids = new ArrayList<>();
+        for (TreeMap<String, Integer> bucket : buckets.values()) {
+            ids.addAll(bucket.values());
+        }
+        return ids;
+    }
+
+    // EFFECTS: returns the name id is indexed with, null if it is not indexed
+    public String getIndexedName(int id) {
+        return id < indexedNames.size() ? indexedNames.get(id) : null;
+    }
+
+    // REQUIRES: id is indexed
+    // EFFECTS: returns the value indexed under id
+    public float getIndexedValue(int id) {
+        return indexedValues.get(id);
+    }
+
+    // EFFECTS: returns the number of indexed ids
+    public int size() {
+        return size;
+    }
+}
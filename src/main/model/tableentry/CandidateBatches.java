@@ -0,0 +1,73 @@
+package model.tableentry;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Candidate ids of a QueryPlan handed out a batch at a time, read from a bitset of ids or straight from a sorted
+// AttributeIndex, so that a lazily consumed query only reads as many candidates as it filters
+//
+// A batch read from an index resumes after the value and name of the last id handed out, so later batches stay in
+// index order even if the index changes in between
+
+public class CandidateBatches {
+    private final BitSet ids;
+    private final AttributeIndex index;
+    private final float min;
+    private final float max;
+    private int nextId;
+    private float lastValue;
+    private String lastName;
+
+    // EFFECTS: constructs batches over the ids in ids, in ascending order
+    public CandidateBatches(BitSet ids) {
+        this.ids = ids;
+        this.index = null;
+        this.min = 0;
+        this.max = 0;
+    }
+
+    // EFFECTS: constructs batches over the ids of index whose value is between min and max inclusive, in
+    //          ascending order of value
+    public CandidateBatches(AttributeIndex index, float min, float max) {
+        this.ids = null;
+        this.index = index;
+        this.min = min;
+        this.max = max;
+    }
+
+    // REQUIRES: count > 0, no write to index happens during the call
+    // MODIFIES: this
+    // EFFECTS: returns the next count candidates, fewer if fewer are left and none once they run out
+    public int[] next(int count) {
+        return ids != null ? nextFromBitSet(count) : nextFromIndex(count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next count set ids of the bitset, fewer if fewer are left
+    private int[] nextFromBitSet(int count) {
+        int[] batch = new int[Math.min(count, ids.size())];
+        int size = 0;
+        for (int id = ids.nextSetBit(nextId); id >= 0 && size < batch.length; id = ids.nextSetBit(id + 1)) {
+            batch[size++] = id;
+            nextId = id + 1;
+        }
+        return Arrays.copyOf(batch, size);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next count ids of the index range, fewer if fewer are left
+    private int[] nextFromIndex(int count) {
+        List<Integer> batch = index.range(min, max, lastValue, lastName, count);
+        int[] array = new int[batch.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = batch.get(i);
+        }
+        if (array.length > 0) {
+            int last = array[array.length - 1];
+            lastName = index.getIndexedName(last);
+            lastValue = index.getIndexedValue(last);
+        }
+        return array;
+    }
+}
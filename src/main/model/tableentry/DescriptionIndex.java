@@ -0,0 +1,453 @@
+package model.tableentry;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Inverted index of entry descriptions ranking the entries matching a text query by BM25
+//
+// Descriptions are split into lower case words, and each word keeps a compressed PostingList of the documents
+// containing it. A query reads only the lists of its own words, all at once in document order, scoring each
+// document it meets and keeping the best in a bounded heap. Documents get increasing ids so that postings are
+// only appended: a changed description is indexed again under a new id, and once removed documents outnumber
+// the live ones the ids are renumbered and the lists rewritten without them. Each document keeps a fingerprint
+// of its description, so that indexing an unchanged description again does nothing
+//
+// The lengths and fingerprints of the documents are kept in primitive arrays indexed by id, and the posting lists
+// of the words of every document in one shared array, the lists of document id starting at wordStarts[id]
+
+public class DescriptionIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_COMPACTION = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int FORMAT_VERSION = 1;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<String, Integer> documentIds;
+    private final List<String> names;
+    private long[] fingerprints;
+    private int[] lengths;
+    private int[] wordStarts;
+    private PostingList[] documentWords;
+    private int wordCount;
+    private final Map<String, PostingList> postings;
+    private long totalLength;
+    private int removedDocuments;
+
+    // EFFECTS: constructs an empty index
+    public DescriptionIndex() {
+        this.documentIds = new HashMap<>();
+        this.names = new ArrayList<>();
+        this.fingerprints = new long[INITIAL_CAPACITY];
+        this.lengths = new int[INITIAL_CAPACITY];
+        this.wordStarts = new int[INITIAL_CAPACITY + 1];
+        this.documentWords = new PostingList[INITIAL_CAPACITY];
+        this.postings = new HashMap<>();
+    }
+
+    // EFFECTS: returns the lower case words of text, separated by any character other than a letter or digit
+    public static List<String> tokenize(String text) {
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= lowerText.length(); i++) {
+            boolean inWord = i < lowerText.length() && Character.isLetterOrDigit(lowerText.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(lowerText.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    // EFFECTS: returns a 64 bit FNV-1a hash of the characters of description
+    private static long fingerprintOf(String description) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < description.length(); i++) {
+            hash = (hash ^ description.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes description as the description of the entry called name, replacing its previous one;
+    //          does nothing if name is already indexed with the same description
+    public void put(String name, String description) {
+        long fingerprint = fingerprintOf(description);
+        Integer previous = documentIds.get(name);
+        if (previous != null && fingerprints[previous] == fingerprint) {
+            return;
+        }
+        if (previous != null) {
+            removeDocument(previous);
+        }
+        int id = names.size();
+        List<String> words = tokenize(description);
+        Map<String, Integer> frequencies = new LinkedHashMap<>(words.size() * 2);
+        for (String word : words) {
+            frequencies.merge(word, 1, Integer::sum);
+        }
+        ensureCapacity(id + 1, wordCount + frequencies.size());
+        appendPostings(id, frequencies);
+        documentIds.put(name, id);
+        names.add(name);
+        fingerprints[id] = fingerprint;
+        lengths[id] = words.size();
+        totalLength += words.size();
+    }
+
+    // REQUIRES: the document arrays have room for id and its words
+    // MODIFIES: this
+    // EFFECTS: appends a posting of id to the list of each word in frequencies and records the lists as its words
+    private void appendPostings(int id, Map<String, Integer> frequencies) {
+        for (Map.Entry<String, Integer> word : frequencies.entrySet()) {
+            PostingList list = postings.computeIfAbsent(word.getKey(), key -> new PostingList());
+            list.append(id, word.getValue());
+            documentWords[wordCount++] = list;
+        }
+        wordStarts[id + 1] = wordCount;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: grows the document arrays to hold at least documents documents and words words, doubling them
+    private void ensureCapacity(int documents, int words) {
+        int capacity = lengths.length;
+        while (capacity < documents) {
+            capacity *= 2;
+        }
+        if (capacity > lengths.length) {
+            fingerprints = Arrays.copyOf(fingerprints, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            wordStarts = Arrays.copyOf(wordStarts, capacity + 1);
+        }
+        int wordCapacity = documentWords.length;
+        while (wordCapacity < words) {
+            wordCapacity *= 2;
+        }
+        if (wordCapacity > documentWords.length) {
+            documentWords = Arrays.copyOf(documentWords, wordCapacity);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the description of the entry called name, does nothing if it is not indexed
+    public void remove(String name) {
+        Integer id = documentIds.get(name);
+        if (id != null) {
+            removeDocument(id);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every description whose entry name is not in kept
+    public void retainAll(Collection<String> kept) {
+        Set<String> keptNames = new HashSet<>(kept);
+        for (String name : new ArrayList<>(documentIds.keySet())) {
+            if (!keptNames.contains(name)) {
+                removeDocument(documentIds.get(name));
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the document id as removed and compacts the index once removed documents outnumber the
+    //          live ones
+    private void removeDocument(int id) {
+        documentIds.remove(names.get(id));
+        names.set(id, null);
+        totalLength -= lengths[id];
+        for (int i = wordStarts[id]; i < wordStarts[id + 1]; i++) {
+            documentWords[i].removeDocument();
+            documentWords[i] = null;
+        }
+        removedDocuments++;
+        if (removedDocuments > Math.max(documentIds.size(), MIN_COMPACTION)) {
+            compact();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: renumbers the live documents in order and rewrites the posting lists without the removed ones,
+    //          dropping the lists left empty
+    private void compact() {
+        int[] newIds = new int[names.size()];
+        int next = 0;
+        for (int id = 0; id < names.size(); id++) {
+            newIds[id] = names.get(id) == null ? -1 : next++;
+        }
+        postings.values().removeIf(list -> list.getDocumentFrequency() == 0);
+        Map<PostingList, PostingList> compacted = new IdentityHashMap<>(postings.size() * 2);
+        postings.replaceAll((word, list) -> {
+            PostingList compactList = list.compact(newIds);
+            compacted.put(list, compactList);
+            return compactList;
+        });
+        keepLive(newIds, compacted);
+        for (int id = 0; id < names.size(); id++) {
+            documentIds.put(names.get(id), id);
+        }
+        removedDocuments = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves each document kept by newIds to its new id, with its words replaced by their compacted lists,
+    //          and drops the others
+    private void keepLive(int[] newIds, Map<PostingList, PostingList> compacted) {
+        int kept = 0;
+        int words = 0;
+        for (int id = 0; id < newIds.length; id++) {
+            int start = wordStarts[id];
+            int end = wordStarts[id + 1];
+            if (newIds[id] >= 0) {
+                names.set(kept, names.get(id));
+                fingerprints[kept] = fingerprints[id];
+                lengths[kept] = lengths[id];
+                wordStarts[kept++] = words;
+                for (int i = start; i < end; i++) {
+                    documentWords[words++] = compacted.get(documentWords[i]);
+                }
+            }
+        }
+        names.subList(kept, names.size()).clear();
+        wordStarts[kept] = words;
+        Arrays.fill(documentWords, words, wordCount, null);
+        wordCount = words;
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit names of the entries whose description contains a word of query, in
+    //          decreasing order of BM25 score and alphabetical order for equal scores
+    public List<String> search(String query, int limit) {
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        List<PostingList.Reader> readers = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String word : new HashSet<>(tokenize(query))) {
+            PostingList list = postings.get(word);
+            if (list != null && list.getDocumentFrequency() > 0) {
+                PostingList.Reader reader = list.reader();
+                reader.next();
+                readers.add(reader);
+                weights.add(inverseDocumentFrequency(list.getDocumentFrequency()));
+            }
+        }
+        return namesOf(bestDocuments(readers, weights, limit));
+    }
+
+    // EFFECTS: returns the BM25 inverse document frequency of a word in documentFrequency live documents
+    private double inverseDocumentFrequency(int documentFrequency) {
+        return Math.log(1 + (documentIds.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    // EFFECTS: returns the limit best scoring live documents of readers, each weighted by the matching weight,
+    //          reading all of them at once in document order
+    private PriorityQueue<ScoredDocument> bestDocuments(List<PostingList.Reader> readers, List<Double> weights,
+                                                        int limit) {
+        PriorityQueue<ScoredDocument> best = new PriorityQueue<>();
+        double averageLength = documentIds.isEmpty() ? 1 : Math.max(1.0, (double) totalLength / documentIds.size());
+        int document = nextDocument(readers);
+        while (document < Integer.MAX_VALUE) {
+            double score = 0;
+            double norm = K1 * (1 - B + B * lengths[document] / averageLength);
+            for (int i = 0; i < readers.size(); i++) {
+                PostingList.Reader reader = readers.get(i);
+                if (reader.getDocument() == document) {
+                    score += weights.get(i) * reader.getFrequency() * (K1 + 1) / (reader.getFrequency() + norm);
+                    reader.next();
+                }
+            }
+            if (names.get(document) != null) {
+                best.add(new ScoredDocument(score, names.get(document)));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            document = nextDocument(readers);
+        }
+        return best;
+    }
+
+    // EFFECTS: returns the smallest document the readers are on, or Integer.MAX_VALUE once all are exhausted
+    private static int nextDocument(List<PostingList.Reader> readers) {
+        int document = Integer.MAX_VALUE;
+        for (PostingList.Reader reader : readers) {
+            document = Math.min(document, reader.getDocument());
+        }
+        return document;
+    }
+
+    // EFFECTS: returns the names of best from the best scoring down
+    private static List<String> namesOf(PriorityQueue<ScoredDocument> best) {
+        List<ScoredDocument> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.reverseOrder());
+        List<String> rankedNames = new ArrayList<>(ranked.size());
+        for (ScoredDocument document : ranked) {
+            rankedNames.add(document.name);
+        }
+        return rankedNames;
+    }
+
+    // EFFECTS: returns true if the description of the entry called name is indexed
+    public boolean contains(String name) {
+        return documentIds.containsKey(name);
+    }
+
+    // EFFECTS: returns the number of indexed descriptions
+    public int size() {
+        return documentIds.size();
+    }
+
+    // EFFECTS: writes the index to out, the documents first and then the posting lists, from which the words of
+    //          each document are recovered when reading
+    //          throws IOException if out cannot be written
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(names.size());
+        for (int id = 0; id < names.size(); id++) {
+            out.writeBoolean(names.get(id) != null);
+            if (names.get(id) != null) {
+                out.writeUTF(names.get(id));
+                out.writeLong(fingerprints[id]);
+                out.writeInt(lengths[id]);
+            }
+        }
+        out.writeInt(postings.size());
+        for (Map.Entry<String, PostingList> list : postings.entrySet()) {
+            out.writeUTF(list.getKey());
+            list.getValue().writeTo(out);
+        }
+    }
+
+    // REQUIRES: in.available() is the number of bytes left in in, as it is for a file or byte array
+    // EFFECTS: returns the index written by writeTo to in, checking every count it reads against the bytes left
+    //          so that a corrupt count cannot make it allocate more than in holds
+    //          throws IOException if in cannot be read or was not written by writeTo
+    public static DescriptionIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unknown description index format");
+        }
+        DescriptionIndex index = new DescriptionIndex();
+        int documents = readCount(in);
+        for (int id = 0; id < documents; id++) {
+            index.readDocument(in, id);
+        }
+        int words = readCount(in);
+        for (int i = 0; i < words; i++) {
+            if (index.postings.put(in.readUTF(), PostingList.readFrom(in)) != null) {
+                throw new IOException("Repeated word in description index");
+            }
+        }
+        index.recoverDocumentWords();
+        return index;
+    }
+
+    // EFFECTS: reads a count of items taking at least one byte each from in and returns it
+    //          throws IOException if in cannot be read or the count is negative or more than the bytes left
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > in.available()) {
+            throw new IOException("Corrupt description index count: " + count);
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the document id as written by writeTo from in
+    //          throws IOException if in cannot be read, or the document is live with a negative length or the
+    //          name of an earlier live document
+    private void readDocument(DataInputStream in, int id) throws IOException {
+        boolean live = in.readBoolean();
+        ensureCapacity(id + 1, 0);
+        names.add(live ? in.readUTF() : null);
+        fingerprints[id] = live ? in.readLong() : 0L;
+        lengths[id] = live ? in.readInt() : 0;
+        if (!live) {
+            removedDocuments++;
+        } else if (lengths[id] < 0 || documentIds.put(names.get(id), id) != null) {
+            throw new IOException("Corrupt document in description index");
+        } else {
+            totalLength += lengths[id];
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the words of each live document to the posting lists containing it
+    //          throws IOException if a posting list contains a document that does not exist, or does not count
+    //          its live documents correctly
+    private void recoverDocumentWords() throws IOException {
+        int[] counts = countLiveWords();
+        for (int id = 0; id < names.size(); id++) {
+            wordStarts[id + 1] = wordStarts[id] + counts[id];
+            counts[id] = wordStarts[id];
+        }
+        wordCount = wordStarts[names.size()];
+        ensureCapacity(names.size(), wordCount);
+        for (PostingList list : postings.values()) {
+            PostingList.Reader reader = list.reader();
+            while (reader.next()) {
+                if (names.get(reader.getDocument()) != null) {
+                    documentWords[counts[reader.getDocument()]++] = list;
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of posting lists containing each document, counting live documents only
+    //          throws IOException if a posting list contains a document that does not exist, or its document
+    //          frequency is not the number of live documents in it
+    private int[] countLiveWords() throws IOException {
+        int[] counts = new int[names.size()];
+        for (PostingList list : postings.values()) {
+            PostingList.Reader reader = list.reader();
+            int live = 0;
+            while (reader.next()) {
+                if (reader.getDocument() >= counts.length) {
+                    throw new IOException("Unknown document in description index");
+                } else if (names.get(reader.getDocument()) != null) {
+                    counts[reader.getDocument()]++;
+                    live++;
+                }
+            }
+            if (live != list.getDocumentFrequency()) {
+                throw new IOException("Wrong document frequency in description index");
+            }
+        }
+        return counts;
+    }
+
+    // Name of a document with its score, ordered by score and then by name in reverse, so that the greatest is
+    // the best match
+    private static class ScoredDocument implements Comparable<ScoredDocument> {
+        private final double score;
+        private final String name;
+
+        ScoredDocument(double score, String name) {
+            this.score = score;
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(ScoredDocument other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : other.name.compareTo(name);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package model.tableentry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Levenshtein distance from one pattern to many texts, cut off at a maximum distance
+//
+// Patterns of at most 64 characters use Myers' bit-parallel algorithm: one word holds a column of the distance
+// matrix as vertical deltas, so each text character costs a handful of word operations instead of a matrix row.
+// Longer patterns fall back to the row by row dynamic program
+
+public class EditDistance {
+    private static final int WORD_SIZE = 64;
+    private static final int ASCII = 128;
+
+    private final String pattern;
+    private final long[] asciiMasks;
+    private final Map<Character, Long> otherMasks;
+
+    // EFFECTS: constructs the distance from pattern, precomputing the positions of each of its characters
+    public EditDistance(String pattern) {
+        this.pattern = pattern;
+        this.asciiMasks = new long[ASCII];
+        this.otherMasks = new HashMap<>();
+        for (int i = 0; i < Math.min(pattern.length(), WORD_SIZE); i++) {
+            char c = pattern.charAt(i);
+            if (c < ASCII) {
+                asciiMasks[c] |= 1L << i;
+            } else {
+                otherMasks.merge(c, 1L << i, (first, second) -> first | second);
+            }
+        }
+    }
+
+    // EFFECTS: returns the bitmask of the positions of c in the pattern
+    private long maskOf(char c) {
+        return c < ASCII ? asciiMasks[c] : otherMasks.getOrDefault(c, 0L);
+    }
+
+    // REQUIRES: maxDistance >= 0
+    // EFFECTS: returns the Levenshtein distance from the pattern to text, or maxDistance + 1 once it is known to
+    //          exceed maxDistance
+    public int to(String text, int maxDistance) {
+        int length = pattern.length();
+        if (Math.abs(length - text.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (length == 0 || length > WORD_SIZE) {
+            return levenshtein(pattern, text, maxDistance);
+        }
+        long last = 1L << (length - 1);
+        long positive = -1L;
+        long negative = 0;
+        int score = length;
+        for (int j = 0; j < text.length(); j++) {
+            long equal = maskOf(text.charAt(j));
+            long vertical = equal | negative;
+            long horizontal = (((equal & positive) + positive) ^ positive) | equal;
+            long positiveHorizontal = negative | ~(horizontal | positive);
+            long negativeHorizontal = positive & horizontal;
+            score += (positiveHorizontal & last) != 0 ? 1 : (negativeHorizontal & last) != 0 ? -1 : 0;
+            if (score - (text.length() - j - 1) > maxDistance) {
+                return maxDistance + 1;
+            }
+            positiveHorizontal = (positiveHorizontal << 1) | 1;
+            negativeHorizontal <<= 1;
+            positive = negativeHorizontal | ~(vertical | positiveHorizontal);
+            negative = positiveHorizontal & vertical;
+        }
+        return Math.min(score, maxDistance + 1);
+    }
+
+    // REQUIRES: maxDistance >= 0
+    // EFFECTS: returns the Levenshtein distance between first and second, or maxDistance + 1 once it is known to
+    //          exceed maxDistance
+    public static int levenshtein(String first, String second, int maxDistance) {
+        if (Math.abs(first.length() - second.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[second.length()], maxDistance + 1);
+    }
+}
@@ -0,0 +1,120 @@
+package model.tableentry;
+
+import model.chemicalstructure.Composition;
+import model.enums.AtomicSymbols;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// Inverted index from every element to the set of ids whose composition contains it, with one bitset
+// per element over dense entry ids
+
+public class ElementIndex {
+    private final BitSet[] idsWithElement;
+    private final BitSet indexedIds;
+    private final List<Composition> indexedCompositions;
+
+    // EFFECTS: constructs an empty index
+    public ElementIndex() {
+        this.idsWithElement = new BitSet[AtomicSymbols.values().length];
+        for (int i = 0; i < idsWithElement.length; i++) {
+            idsWithElement[i] = new BitSet();
+        }
+        this.indexedIds = new BitSet();
+        this.indexedCompositions = new ArrayList<>();
+    }
+
+    // REQUIRES: id >= 0
+    // MODIFIES: this
+    // EFFECTS: indexes composition under id, replacing whatever was indexed under id before
+    public void add(int id, Composition composition) {
+        remove(id);
+        while (indexedCompositions.size() <= id) {
+            indexedCompositions.add(null);
+        }
+        indexedCompositions.set(id, composition);
+        indexedIds.set(id);
+        for (int i = 0; i < composition.size(); i++) {
+            idsWithElement[composition.getOrdinal(i)].set(id);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes id from the index, does nothing if id is not indexed
+    public void remove(int id) {
+        if (!indexedIds.get(id)) {
+            return;
+        }
+        Composition composition = indexedCompositions.set(id, null);
+        indexedIds.clear(id);
+        for (int i = 0; i < composition.size(); i++) {
+            idsWithElement[composition.getOrdinal(i)].clear(id);
+        }
+    }
+
+    // REQUIRES: id >= 0
+    // MODIFIES: this
+    // EFFECTS: re-indexes id if composition differs from the composition currently indexed under it
+    public void update(int id, Composition composition) {
+        if (!indexedIds.get(id) || indexedCompositions.get(id) != composition) {
+            add(id, composition);
+        }
+    }
+
+    // EFFECTS: returns true if id is indexed and its composition contains element
+    public boolean contains(int id, AtomicSymbols element) {
+        return idsWithElement[element.ordinal()].get(id);
+    }
+
+    // EFFECTS: returns the number of indexed ids whose composition contains element
+    public int countWith(AtomicSymbols element) {
+        return idsWithElement[element.ordinal()].cardinality();
+    }
+
+    // EFFECTS: returns a new bitset of the indexed ids matching query
+    public BitSet match(ElementQuery query) {
+        BitSet result = (BitSet) indexedIds.clone();
+        for (AtomicSymbols element : query.getRequired()) {
+            result.and(idsWithElement[element.ordinal()]);
+        }
+        if (!query.getAnyOf().isEmpty()) {
+            BitSet any = new BitSet();
+            for (AtomicSymbols element : query.getAnyOf()) {
+                any.or(idsWithElement[element.ordinal()]);
+            }
+            result.and(any);
+        }
+        for (AtomicSymbols element : query.getExcluded()) {
+            result.andNot(idsWithElement[element.ordinal()]);
+        }
+        return result;
+    }
+
+    // EFFECTS: returns true if id is indexed and its composition matches query
+    public boolean matches(int id, ElementQuery query) {
+        if (!indexedIds.get(id)) {
+            return false;
+        }
+        for (AtomicSymbols element : query.getRequired()) {
+            if (!contains(id, element)) {
+                return false;
+            }
+        }
+        boolean hasAny = query.getAnyOf().isEmpty();
+        for (AtomicSymbols element : query.getAnyOf()) {
+            hasAny |= contains(id, element);
+        }
+        for (AtomicSymbols element : query.getExcluded()) {
+            if (contains(id, element)) {
+                return false;
+            }
+        }
+        return hasAny;
+    }
+
+    // EFFECTS: returns the number of indexed ids
+    public int size() {
+        return indexedIds.cardinality();
+    }
+}
@@ -0,0 +1,57 @@
+package model.tableentry;
+
+import model.enums.AtomicSymbols;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Element condition on a mineral formula: it must contain every required element, at least one of the
+// optional elements (if any are given) and none of the excluded elements
+
+public class ElementQuery {
+    private final Set<AtomicSymbols> required;
+    private final Set<AtomicSymbols> anyOf;
+    private final Set<AtomicSymbols> excluded;
+
+    // EFFECTS: constructs a query matched by every mineral
+    public ElementQuery() {
+        this.required = EnumSet.noneOf(AtomicSymbols.class);
+        this.anyOf = EnumSet.noneOf(AtomicSymbols.class);
+        this.excluded = EnumSet.noneOf(AtomicSymbols.class);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: requires every one of elements to be present and returns this
+    public ElementQuery containing(AtomicSymbols... elements) {
+        Collections.addAll(required, elements);
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: requires at least one of the elements given across all calls to be present and returns this
+    public ElementQuery containingAnyOf(AtomicSymbols... elements) {
+        Collections.addAll(anyOf, elements);
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: requires every one of elements to be absent and returns this
+    public ElementQuery excluding(AtomicSymbols... elements) {
+        Collections.addAll(excluded, elements);
+        return this;
+    }
+
+    // getters
+    public Set<AtomicSymbols> getRequired() {
+        return Collections.unmodifiableSet(required);
+    }
+
+    public Set<AtomicSymbols> getAnyOf() {
+        return Collections.unmodifiableSet(anyOf);
+    }
+
+    public Set<AtomicSymbols> getExcluded() {
+        return Collections.unmodifiableSet(excluded);
+    }
+}
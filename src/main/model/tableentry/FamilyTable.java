@@ -5,28 +5,99 @@ import model.logging.EventLog;
 import utils.fieldnames.Attributes;
 import model.modelexceptions.DuplicationException;
 import model.modelexceptions.FamilyDuplicationException;
+import model.entries.EntryObserver;
 import model.entries.WikiEntry;
 import model.modelexceptions.ItemNotFoundException;
 import org.json.JSONObject;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
-// Implementation of WikiEntryTable for storing a collection of mineral families
+// Implementation of WikiEntryTable for storing a collection of mineral families, safe for use from several
+// threads: families and their names are kept in a ConcurrentHashMap and a NameIndex read without locking, while
+// the methods changing them, or reading the FuzzyNameIndex or DescriptionIndex, are synchronized so that all hold
+// the same names
 
-public class FamilyTable implements WikiEntryTable {
+public class FamilyTable implements WikiEntryTable, EntryObserver {
 
-    private final HashMap<String, WikiEntry> familyNameTable;
+    private final ConcurrentHashMap<String, WikiEntry> familyNameTable;
+    private final NameIndex familyNames;
+    private final FuzzyNameIndex fuzzyFamilyNames;
+    private DescriptionIndex descriptions;
+    private volatile long version;
+    private final AtomicReference<TableSnapshot> snapshot;
 
-    // EFFECTS: constructs the FamilyTable with familyNameTable being a new HashMap
+    // EFFECTS: constructs the FamilyTable with familyNameTable being a new ConcurrentHashMap
     public FamilyTable() {
-        this.familyNameTable = new HashMap<>();
+        this.familyNameTable = new ConcurrentHashMap<>();
+        this.familyNames = new NameIndex();
+        this.fuzzyFamilyNames = new FuzzyNameIndex();
+        this.descriptions = new DescriptionIndex();
+        this.snapshot = new AtomicReference<>(new TableSnapshot(0, new String[0][]));
     }
 
     // getters
-    public HashMap<String, WikiEntry> getFamilyNameTable() {
-        return this.familyNameTable;
+    public Map<String, WikiEntry> getFamilyNameTable() {
+        return Collections.unmodifiableMap(this.familyNameTable);
+    }
+
+    // MODIFIES: this, family
+    // EFFECTS: adds family to the table, replacing any family with the same name
+    public synchronized void putEntry(WikiEntry family) {
+        WikiEntry replaced = familyNameTable.put(family.getName(), family);
+        if (replaced != null) {
+            replaced.removeObserver(this);
+        }
+        indexFamily(family);
+    }
+
+    // MODIFIES: this, family
+    // EFFECTS: indexes the name and description of family, which is in familyNameTable, records the change and
+    //          observes it
+    private void indexFamily(WikiEntry family) {
+        familyNames.add(family.getName());
+        fuzzyFamilyNames.add(family.getName());
+        descriptions.put(family.getName(), family.getDescription());
+        family.addObserver(this);
+        version++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every family to the table, replacing any family with the same name
+    public void putAll(Collection<? extends WikiEntry> families) {
+        for (WikiEntry family : families) {
+            putEntry(family);
+        }
+    }
+
+    // MODIFIES: this, families
+    // EFFECTS: adds every family to the table as putAll does; if the table is empty, first adopts descriptions as
+    //          its description index, so that the descriptions already indexed there are not indexed again, and
+    //          then drops from it the descriptions of entries not in the table
+    public synchronized void putAll(Collection<? extends WikiEntry> families, DescriptionIndex descriptions) {
+        if (familyNameTable.isEmpty()) {
+            this.descriptions = descriptions;
+        }
+        putAll(families);
+        this.descriptions.retainAll(familyNameTable.keySet());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes the description of entry and records the change if it is a family stored in this table
+    @Override
+    public synchronized void update(WikiEntry entry) {
+        if (familyNameTable.get(entry.getName()) == entry) {
+            descriptions.put(entry.getName(), entry.getDescription());
+            version++;
+        }
     }
 
     // EFFECTS: returns Item in familyNameTable where name matches key
@@ -48,9 +119,9 @@ public class FamilyTable implements WikiEntryTable {
     // EFFECTS: adds given entry to familyNameTable with the key being the name of the family
     //          DuplicateException if item already exists in table
     @Override
-    public void addEntry(WikiEntry entry) throws DuplicationException {
-        if (this.familyNameTable.get(entry.getName()) == null) {
-            this.familyNameTable.put(entry.getName(), entry);
+    public synchronized void addEntry(WikiEntry entry) throws DuplicationException {
+        if (this.familyNameTable.putIfAbsent(entry.getName(), entry) == null) {
+            indexFamily(entry);
             EventLog.getInstance().logEvent(new Event("Family: "
                     + entry.getName()
                     + " has been added to the family table"));
@@ -64,9 +135,14 @@ public class FamilyTable implements WikiEntryTable {
     // EFFECTS: Removes entry in familyNameTable with given name
     //          throws ItemNotFoundException if item is not in table
     @Override
-    public void removeEntry(String name) throws ItemNotFoundException {
-        if (this.familyNameTable.get(name) != null) {
-            this.familyNameTable.remove(name);
+    public synchronized void removeEntry(String name) throws ItemNotFoundException {
+        WikiEntry removed = this.familyNameTable.remove(name);
+        if (removed != null) {
+            removed.removeObserver(this);
+            familyNames.remove(name);
+            fuzzyFamilyNames.remove(name);
+            descriptions.remove(name);
+            version++;
             EventLog.getInstance().logEvent(new Event("Family: "
                     + name
                     + " has been removed from the family table"));
@@ -75,15 +151,121 @@ public class FamilyTable implements WikiEntryTable {
         }
     }
 
-    // EFFECTS: produces 2D String array of all the families in the table
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit family names starting with prefix, ignoring case, in alphabetical order
+    @Override
+    public List<String> getNameCompletions(String prefix, int limit) {
+        return familyNames.complete(prefix, limit);
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit family names within FuzzyNameIndex.MAX_DISTANCE edits of name, ignoring case,
+    //          closest first
+    @Override
+    public synchronized List<String> getNameSuggestions(String name, int limit) {
+        return fuzzyFamilyNames.search(name, FuzzyNameIndex.MAX_DISTANCE, limit);
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit families whose description contains a word of query, best match first
+    @Override
+    public synchronized List<WikiEntry> searchDescriptions(String query, int limit) {
+        List<WikiEntry> matches = new ArrayList<>();
+        for (String name : descriptions.search(query, limit)) {
+            matches.add(familyNameTable.get(name));
+        }
+        return matches;
+    }
+
+    // EFFECTS: writes the description index of the table to out
+    //          throws IOException if out cannot be written
+    @Override
+    public synchronized void writeDescriptionIndex(DataOutputStream out) throws IOException {
+        descriptions.writeTo(out);
+    }
+
+    // EFFECTS: returns the number of families in the table
+    @Override
+    public int size() {
+        return familyNameTable.size();
+    }
+
+    // EFFECTS: returns the number of changes made to the table so far
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    // REQUIRES: offset >= 0, limit >= 0
+    // EFFECTS: returns the page of at most limit families starting at position offset of the table in
+    //          alphabetical order ignoring case, whatever the sort attribute
+    @Override
+    public TablePage getPage(Attributes sortAttribute, int offset, int limit) {
+        return getPage(sortAttribute, offset, limit, false);
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns the page of at most limit families following after, or starting at the first family if
+    //          after is null, in alphabetical order ignoring case whatever the sort attribute, without locking
+    @Override
+    public TablePage getPage(Attributes sortAttribute, TableCursor after, int limit) {
+        return getPage(sortAttribute, after, limit, false);
+    }
+
+    // REQUIRES: offset >= 0, limit >= 0
+    // EFFECTS: returns the page getPage(sortAttribute, offset, limit) does, or if descending, the one starting at
+    //          position offset of the table in reverse alphabetical order ignoring case
+    @Override
+    public TablePage getPage(Attributes sortAttribute, int offset, int limit, boolean descending) {
+        return pageOf(sortAttribute, familyNames.page(null, offset, limit, descending), limit);
+    }
+
+    // REQUIRES: limit >= 0, after is null or was read in the direction of descending
+    // EFFECTS: returns the page getPage(sortAttribute, after, limit) does, or if descending, the page of at most
+    //          limit families preceding after, or ending the table if after is null, in reverse alphabetical order
+    //          ignoring case
+    @Override
+    public TablePage getPage(Attributes sortAttribute, TableCursor after, int limit, boolean descending) {
+        return pageOf(sortAttribute, familyNames.page(after == null ? null : after.getName(), 0, limit, descending),
+                limit);
+    }
+
+    // EFFECTS: returns the page of the families called names that are still in the table, the last page of the
+    //          table if there are fewer than limit names
+    private TablePage pageOf(Attributes sortAttribute, List<String> names, int limit) {
+        List<WikiEntry> entries = new ArrayList<>(names.size());
+        for (String name : names) {
+            WikiEntry family = familyNameTable.get(name);
+            if (family != null) {
+                entries.add(family);
+            }
+        }
+        String[][] rows = new String[entries.size()][];
+        for (int i = 0; i < entries.size(); i++) {
+            rows[i] = entries.get(i).giveAttributeAsObjects();
+        }
+        boolean last = names.isEmpty() || names.size() < limit;
+        return new TablePage(entries, rows,
+                last ? null : new TableCursor(sortAttribute, 0, names.get(names.size() - 1)));
+    }
+
+    // EFFECTS: produces 2D String array of all the families in the table, reusing the rows built last if the table
+    //          has not changed since; the rows are shared between calls and must not be modified
     @Override
     public String[][] getTableAsArray(Attributes attributes) {
+        long current = version;
+        TableSnapshot cached = snapshot.get();
+        if (cached.isAt(current)) {
+            return cached.getRows();
+        }
         List<WikiEntry> familyValues = new ArrayList<>(familyNameTable.values());
         String[][] familyArray = new String[familyValues.size()][];
         for (int i = 0; i < familyValues.size(); i++) {
             familyArray[i] = familyValues.get(i).giveAttributeAsObjects();
         }
-        return familyArray;
+        // every change up to current was made before it was counted, so the rows are no older than current
+        snapshot.accumulateAndGet(new TableSnapshot(current, familyArray), TableSnapshot::later);
+        return Arrays.copyOf(familyArray, familyArray.length);
     }
 
     // EFFECTS: creates a JSONObject containing key value pairs of the family names and a JSONObject of the family
@@ -0,0 +1,244 @@
+package model.tableentry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Trigram index of entry names for finding the names within a few edits of a misspelt one, ignoring case
+//
+// Every edit changes at most three of the trigrams of a name padded at both ends, so a name within d edits of the
+// query shares at least (distinct query trigrams - 3d) of them. Posting lists are kept per trigram and name length,
+// and counting shared trigrams over the lists of the query trigrams for the lengths within d of the query length
+// yields a few candidates, which alone are checked with an EditDistance cut off at d.
+// Queries too short for that bound fall back to the names of nearby lengths
+
+public class FuzzyNameIndex {
+    public static final int MAX_DISTANCE = 2;
+    private static final int GRAM_LENGTH = 3;
+    private static final String PADDING = "\u0000\u0000";
+
+    private final Map<String, Integer> nameIds;
+    private final List<String> names;
+    private final List<String> foldedNames;
+    private final Deque<Integer> freeIds;
+    private final Map<String, Postings> idsByGram;
+    private final Map<Integer, Postings> idsByLength;
+
+    // EFFECTS: constructs an empty index
+    public FuzzyNameIndex() {
+        this.nameIds = new HashMap<>();
+        this.names = new ArrayList<>();
+        this.foldedNames = new ArrayList<>();
+        this.freeIds = new ArrayDeque<>();
+        this.idsByGram = new HashMap<>();
+        this.idsByLength = new HashMap<>();
+    }
+
+    // EFFECTS: returns name in lower case
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // EFFECTS: returns the distinct trigrams of folded padded at both ends, in order of first occurrence
+    private static Set<String> gramsOf(String folded) {
+        String padded = PADDING + folded + PADDING;
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    // EFFECTS: returns the key of the postings of the names of the given length containing gram
+    private static String keyOf(String gram, int length) {
+        return gram + (char) length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds name to the index, does nothing if it is already indexed
+    public void add(String name) {
+        if (nameIds.containsKey(name)) {
+            return;
+        }
+        int id = freeIds.isEmpty() ? names.size() : freeIds.pop();
+        if (id == names.size()) {
+            names.add(null);
+            foldedNames.add(null);
+        }
+        String folded = fold(name);
+        nameIds.put(name, id);
+        names.set(id, name);
+        foldedNames.set(id, folded);
+        for (String gram : gramsOf(folded)) {
+            idsByGram.computeIfAbsent(keyOf(gram, folded.length()), key -> new Postings()).add(id);
+        }
+        idsByLength.computeIfAbsent(folded.length(), key -> new Postings()).add(id);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes name from the index, does nothing if it is not indexed
+    public void remove(String name) {
+        Integer id = nameIds.remove(name);
+        if (id == null) {
+            return;
+        }
+        String folded = foldedNames.get(id);
+        for (String gram : gramsOf(folded)) {
+            removePosting(idsByGram, keyOf(gram, folded.length()), id);
+        }
+        removePosting(idsByLength, folded.length(), id);
+        names.set(id, null);
+        foldedNames.set(id, null);
+        freeIds.push(id);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes id from the postings of key, dropping them once empty
+    private static <K> void removePosting(Map<K, Postings> postings, K key, int id) {
+        Postings ids = postings.get(key);
+        ids.remove(id);
+        if (ids.size() == 0) {
+            postings.remove(key);
+        }
+    }
+
+    // REQUIRES: 0 <= maxDistance, limit >= 0
+    // EFFECTS: returns at most limit indexed names within maxDistance edits of name ignoring case, closest first
+    //          and names at the same distance in alphabetical order ignoring case; searches within 0, 1, ...
+    //          edits in turn and stops at the first distance yielding limit names, since closer names rank first
+    public List<String> search(String name, int maxDistance, int limit) {
+        String folded = fold(name);
+        Map<Integer, Integer> distances = new HashMap<>();
+        for (int distance = 0; distance <= maxDistance && distances.size() < limit; distance++) {
+            distances = distancesWithin(folded, distance);
+        }
+        List<Integer> matches = new ArrayList<>(distances.keySet());
+        Map<Integer, Integer> finalDistances = distances;
+        matches.sort(Comparator.comparingInt((Integer id) -> finalDistances.get(id))
+                .thenComparing(id -> foldedNames.get(id)).thenComparing(id -> names.get(id)));
+        List<String> results = new ArrayList<>();
+        for (int id : matches.subList(0, Math.min(limit, matches.size()))) {
+            results.add(names.get(id));
+        }
+        return results;
+    }
+
+    // EFFECTS: returns the distances to folded of the ids of the names within maxDistance edits of it
+    private Map<Integer, Integer> distancesWithin(String folded, int maxDistance) {
+        Set<String> grams = gramsOf(folded);
+        List<Integer> candidates = grams.size() > maxDistance * GRAM_LENGTH
+                ? candidatesSharing(grams, folded.length(), maxDistance)
+                : candidatesWithLength(folded.length(), maxDistance);
+        EditDistance editDistance = new EditDistance(folded);
+        Map<Integer, Integer> distances = new HashMap<>();
+        for (int id : candidates) {
+            int distance = editDistance.to(foldedNames.get(id), maxDistance);
+            if (distance <= maxDistance) {
+                distances.put(id, distance);
+            }
+        }
+        return distances;
+    }
+
+    // EFFECTS: returns the ids of the names at most maxDistance characters longer or shorter than length that
+    //          share at least enough of grams to be within maxDistance edits; counts shared grams in a map sized
+    //          by the postings read, so the work does not grow with the number of indexed names
+    private List<Integer> candidatesSharing(Set<String> grams, int length, int maxDistance) {
+        int minSharedGrams = grams.size() - maxDistance * GRAM_LENGTH;
+        List<Postings> postings = postingsNear(grams, length, maxDistance);
+        int touched = 0;
+        for (Postings ids : postings) {
+            touched += ids.size();
+        }
+        Map<Integer, Integer> sharedGrams = new HashMap<>(Math.max(16, touched * 4 / 3 + 1));
+        List<Integer> candidates = new ArrayList<>();
+        for (Postings ids : postings) {
+            for (int i = 0; i < ids.size(); i++) {
+                if (sharedGrams.merge(ids.get(i), 1, Integer::sum) == minSharedGrams) {
+                    candidates.add(ids.get(i));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    // EFFECTS: returns the postings of grams for the names at most maxDistance characters longer or shorter than
+    //          length
+    private List<Postings> postingsNear(Set<String> grams, int length, int maxDistance) {
+        List<Postings> postings = new ArrayList<>();
+        for (int nearLength = length - maxDistance; nearLength <= length + maxDistance; nearLength++) {
+            for (String gram : grams) {
+                Postings ids = idsByGram.get(keyOf(gram, nearLength));
+                if (ids != null) {
+                    postings.add(ids);
+                }
+            }
+        }
+        return postings;
+    }
+
+    // EFFECTS: returns the ids of the names at most maxDistance characters longer or shorter than length
+    private List<Integer> candidatesWithLength(int length, int maxDistance) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int nearLength = length - maxDistance; nearLength <= length + maxDistance; nearLength++) {
+            Postings ids = idsByLength.get(nearLength);
+            for (int i = 0; ids != null && i < ids.size(); i++) {
+                candidates.add(ids.get(i));
+            }
+        }
+        return candidates;
+    }
+
+    // EFFECTS: returns the number of indexed names
+    public int size() {
+        return nameIds.size();
+    }
+
+    // Sorted set of ids kept in a growable int array, so that large posting lists cost four bytes per id
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        // MODIFIES: this
+        // EFFECTS: adds id in order, does nothing if it is already present
+        void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertion = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: removes id, does nothing if it is not present
+        void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
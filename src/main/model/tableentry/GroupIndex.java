@@ -0,0 +1,95 @@
+package model.tableentry;
+
+import model.chemicalstructure.Formula;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Inverted index from each covalent group signature to the ids whose formula contains that group, with the ids
+// of each signature kept in one bitset per multiplicity so that minimum multiplicity queries only combine
+// a few bitsets
+
+public class GroupIndex {
+    private final HashMap<String, TreeMap<Double, BitSet>> idsBySignature;
+    private final List<Map<String, Double>> indexedGroups;
+    private final List<Formula> indexedFormulas;
+
+    // EFFECTS: constructs an empty index
+    public GroupIndex() {
+        this.idsBySignature = new HashMap<>();
+        this.indexedGroups = new ArrayList<>();
+        this.indexedFormulas = new ArrayList<>();
+    }
+
+    // REQUIRES: id >= 0
+    // MODIFIES: this
+    // EFFECTS: indexes the groups of formula under id, replacing whatever was indexed under id before
+    public void add(int id, Formula formula) {
+        remove(id);
+        while (indexedGroups.size() <= id) {
+            indexedGroups.add(null);
+            indexedFormulas.add(null);
+        }
+        Map<String, Double> groups = formula.getGroupMultiplicities();
+        indexedGroups.set(id, groups);
+        indexedFormulas.set(id, formula);
+        for (Map.Entry<String, Double> group : groups.entrySet()) {
+            idsBySignature.computeIfAbsent(group.getKey(), signature -> new TreeMap<>())
+                    .computeIfAbsent(group.getValue(), multiplicity -> new BitSet())
+                    .set(id);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes id from the index, does nothing if id is not indexed
+    public void remove(int id) {
+        if (id >= indexedGroups.size() || indexedGroups.get(id) == null) {
+            return;
+        }
+        for (Map.Entry<String, Double> group : indexedGroups.set(id, null).entrySet()) {
+            TreeMap<Double, BitSet> idsByMultiplicity = idsBySignature.get(group.getKey());
+            BitSet ids = idsByMultiplicity.get(group.getValue());
+            ids.clear(id);
+            if (ids.isEmpty()) {
+                idsByMultiplicity.remove(group.getValue());
+            }
+            if (idsByMultiplicity.isEmpty()) {
+                idsBySignature.remove(group.getKey());
+            }
+        }
+        indexedFormulas.set(id, null);
+    }
+
+    // REQUIRES: id >= 0
+    // MODIFIES: this
+    // EFFECTS: re-indexes id if formula is not the formula currently indexed under it
+    public void update(int id, Formula formula) {
+        if (id >= indexedFormulas.size() || indexedFormulas.get(id) != formula) {
+            add(id, formula);
+        }
+    }
+
+    // EFFECTS: returns a new bitset of the ids containing at least minMultiplicity groups with signature
+    public BitSet match(String signature, double minMultiplicity) {
+        BitSet result = new BitSet();
+        TreeMap<Double, BitSet> idsByMultiplicity = idsBySignature.get(signature);
+        if (idsByMultiplicity != null) {
+            for (BitSet ids : idsByMultiplicity.tailMap(minMultiplicity, true).values()) {
+                result.or(ids);
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the signatures of every indexed group
+    public List<String> getSignatures() {
+        List<String> signatures = new ArrayList<>(idsBySignature.keySet());
+        Collections.sort(signatures);
+        return signatures;
+    }
+}
@@ -0,0 +1,248 @@
+package model.tableentry;
+
+import model.entries.Mineral;
+import model.enums.Cleavage;
+import model.enums.CrystalStructure;
+import utils.fieldnames.Attributes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+// Scan and sort index over the scalar attributes of the minerals in a table, one primitive column per attribute
+// indexed by dense id, so that full table scans and sorts read contiguous arrays instead of visiting each Mineral
+//
+// Like the other indexes of MineralTable it is derived data: each Mineral holds its own attributes and the columns
+// are refreshed from it whenever the table adds, replaces, edits or removes it. Crystal structures and cleavages
+// are stored as byte ordinals, which also lets them be sorted by counting, and as one bitset of ids per ordinal so
+// that the minerals with a set of values are found without a scan
+
+public class MineralColumns {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int SAMPLE_SIZE = 256;
+    private static final CrystalStructure[] CRYSTAL_STRUCTURES = CrystalStructure.values();
+    private static final Cleavage[] CLEAVAGES = Cleavage.values();
+
+    private float[] hardness;
+    private float[] density;
+    private float[] indexOfRefraction;
+    private double[] molarMass;
+    private byte[] crystalStructures;
+    private byte[] cleavages;
+    private final BitSet storedIds;
+    private final BitSet[] idsWithCrystalStructure;
+    private final BitSet[] idsWithCleavage;
+
+    // EFFECTS: constructs empty columns
+    public MineralColumns() {
+        this.hardness = new float[INITIAL_CAPACITY];
+        this.density = new float[INITIAL_CAPACITY];
+        this.indexOfRefraction = new float[INITIAL_CAPACITY];
+        this.molarMass = new double[INITIAL_CAPACITY];
+        this.crystalStructures = new byte[INITIAL_CAPACITY];
+        this.cleavages = new byte[INITIAL_CAPACITY];
+        this.storedIds = new BitSet();
+        this.idsWithCrystalStructure = createBitSets(CRYSTAL_STRUCTURES.length);
+        this.idsWithCleavage = createBitSets(CLEAVAGES.length);
+    }
+
+    // EFFECTS: returns count empty bitsets
+    private static BitSet[] createBitSets(int count) {
+        BitSet[] bitSets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+
+    // REQUIRES: id >= 0
+    // MODIFIES: this
+    // EFFECTS: stores the attributes of mineral in row id, growing the columns if needed
+    public void set(int id, Mineral mineral) {
+        clear(id);
+        ensureCapacity(id + 1);
+        hardness[id] = mineral.getHardness();
+        density[id] = mineral.getDensity();
+        indexOfRefraction[id] = mineral.getIndexOfRefraction();
+        molarMass[id] = mineral.getGeneralFormula().getMolarMass();
+        crystalStructures[id] = (byte) mineral.getCrystalStructure().ordinal();
+        cleavages[id] = (byte) mineral.getCleavage().ordinal();
+        idsWithCrystalStructure[crystalStructures[id]].set(id);
+        idsWithCleavage[cleavages[id]].set(id);
+        storedIds.set(id);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: doubles every column until it holds at least rows rows
+    private void ensureCapacity(int rows) {
+        int capacity = hardness.length;
+        if (rows <= capacity) {
+            return;
+        }
+        while (capacity < rows) {
+            capacity *= 2;
+        }
+        hardness = Arrays.copyOf(hardness, capacity);
+        density = Arrays.copyOf(density, capacity);
+        indexOfRefraction = Arrays.copyOf(indexOfRefraction, capacity);
+        molarMass = Arrays.copyOf(molarMass, capacity);
+        crystalStructures = Arrays.copyOf(crystalStructures, capacity);
+        cleavages = Arrays.copyOf(cleavages, capacity);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks row id as empty, does nothing if it is not stored
+    public void clear(int id) {
+        if (storedIds.get(id)) {
+            idsWithCrystalStructure[crystalStructures[id]].clear(id);
+            idsWithCleavage[cleavages[id]].clear(id);
+            storedIds.clear(id);
+        }
+    }
+
+    // EFFECTS: returns a new bitset of the stored ids whose crystal structure is in crystalStructures
+    public BitSet withCrystalStructures(Set<CrystalStructure> crystalStructures) {
+        BitSet ids = new BitSet();
+        for (CrystalStructure crystalStructure : crystalStructures) {
+            ids.or(idsWithCrystalStructure[crystalStructure.ordinal()]);
+        }
+        return ids;
+    }
+
+    // EFFECTS: returns a new bitset of the stored ids whose cleavage is in cleavages
+    public BitSet withCleavages(Set<Cleavage> cleavages) {
+        BitSet ids = new BitSet();
+        for (Cleavage cleavage : cleavages) {
+            ids.or(idsWithCleavage[cleavage.ordinal()]);
+        }
+        return ids;
+    }
+
+    // EFFECTS: estimates the fraction of stored ids whose value of attribute is between min and max inclusive
+    //          from the stored ids among at most SAMPLE_SIZE rows spread evenly over the columns, 1 if none
+    //          of those rows is stored
+    public double fractionInRange(Attributes attribute, float min, float max) {
+        int bound = storedIds.length();
+        int step = Math.max(1, bound / SAMPLE_SIZE);
+        int sampled = 0;
+        int matched = 0;
+        for (int id = 0; id < bound; id += step) {
+            if (storedIds.get(id)) {
+                double value = getValue(attribute, id);
+                matched += value >= min && value <= max ? 1 : 0;
+                sampled++;
+            }
+        }
+        return sampled == 0 ? 1 : (double) matched / sampled;
+    }
+
+    // EFFECTS: returns the value of attribute in row id, the ordinal for CRYSTAL and CLEAVAGE and 0 for DEFAULT
+    public double getValue(Attributes attribute, int id) {
+        switch (attribute) {
+            case HARDNESS:
+                return hardness[id];
+            case DENSITY:
+                return density[id];
+            case IOR:
+                return indexOfRefraction[id];
+            case MOLAR_MASS:
+                return molarMass[id];
+            case CRYSTAL:
+                return crystalStructures[id];
+            case CLEAVAGE:
+                return cleavages[id];
+            default:
+                return 0;
+        }
+    }
+
+    // EFFECTS: returns a copy of the set of stored ids
+    public BitSet getStoredIdSet() {
+        return (BitSet) storedIds.clone();
+    }
+
+    // REQUIRES: every id in ids is stored
+    // EFFECTS: returns ids stably sorted by crystal structure ordinal
+    public List<Integer> sortByCrystalStructure(List<Integer> ids) {
+        return countingSort(ids, crystalStructures, CRYSTAL_STRUCTURES.length);
+    }
+
+    // REQUIRES: every id in ids is stored
+    // EFFECTS: returns ids stably sorted by cleavage ordinal
+    public List<Integer> sortByCleavage(List<Integer> ids) {
+        return countingSort(ids, cleavages, CLEAVAGES.length);
+    }
+
+    // EFFECTS: returns ids stably sorted by the byte ordinal stored for each in column, in O(n + ordinalCount)
+    private static List<Integer> countingSort(List<Integer> ids, byte[] column, int ordinalCount) {
+        int[] starts = new int[ordinalCount + 1];
+        for (int id : ids) {
+            starts[column[id] + 1]++;
+        }
+        for (int i = 1; i <= ordinalCount; i++) {
+            starts[i] += starts[i - 1];
+        }
+        Integer[] sorted = new Integer[ids.size()];
+        for (Integer id : ids) {
+            sorted[starts[column[id]]++] = id;
+        }
+        return Arrays.asList(sorted);
+    }
+
+    // EFFECTS: returns every stored id sorted by molar mass, ids with equal molar masses in ascending order
+    public List<Integer> sortByMolarMass() {
+        Integer[] sorted = new Integer[storedIds.cardinality()];
+        for (int id = storedIds.nextSetBit(0), i = 0; id >= 0; id = storedIds.nextSetBit(id + 1)) {
+            sorted[i++] = id;
+        }
+        Arrays.sort(sorted, Comparator.comparingDouble(id -> molarMass[id]));
+        return Arrays.asList(sorted);
+    }
+
+    // EFFECTS: returns the stored ids whose molar mass is between min and max inclusive, scanning the column
+    public BitSet molarMassBetween(double min, double max) {
+        BitSet matches = new BitSet();
+        for (int id = storedIds.nextSetBit(0); id >= 0; id = storedIds.nextSetBit(id + 1)) {
+            if (molarMass[id] >= min && molarMass[id] <= max) {
+                matches.set(id);
+            }
+        }
+        return matches;
+    }
+
+    // getters
+
+    public boolean isStored(int id) {
+        return storedIds.get(id);
+    }
+
+    public int size() {
+        return storedIds.cardinality();
+    }
+
+    public float getHardness(int id) {
+        return hardness[id];
+    }
+
+    public float getDensity(int id) {
+        return density[id];
+    }
+
+    public float getIndexOfRefraction(int id) {
+        return indexOfRefraction[id];
+    }
+
+    public double getMolarMass(int id) {
+        return molarMass[id];
+    }
+
+    public CrystalStructure getCrystalStructure(int id) {
+        return CRYSTAL_STRUCTURES[crystalStructures[id]];
+    }
+
+    public Cleavage getCleavage(int id) {
+        return CLEAVAGES[cleavages[id]];
+    }
+}
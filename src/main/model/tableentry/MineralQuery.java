@@ -0,0 +1,129 @@
+package model.tableentry;
+
+import model.enums.Cleavage;
+import model.enums.CrystalStructure;
+import utils.fieldnames.Attributes;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+// Conjunction of conditions on the minerals of a table: inclusive ranges on hardness, density, IOR and molar mass,
+// allowed crystal structures and cleavages, an element condition and a name prefix, with an optional order and
+// limit
+//
+// A condition that is never set is matched by every mineral
+
+public class MineralQuery {
+    private final Map<Attributes, float[]> ranges;
+    private final Set<CrystalStructure> crystalStructures;
+    private final Set<Cleavage> cleavages;
+    private ElementQuery elementQuery;
+    private String namePrefix;
+    private Attributes sortAttribute;
+    private int limit;
+
+    // EFFECTS: constructs an unordered and unlimited query matched by every mineral
+    public MineralQuery() {
+        this.ranges = new EnumMap<>(Attributes.class);
+        this.crystalStructures = EnumSet.noneOf(CrystalStructure.class);
+        this.cleavages = EnumSet.noneOf(Cleavage.class);
+        this.sortAttribute = Attributes.DEFAULT;
+        this.limit = Integer.MAX_VALUE;
+    }
+
+    // REQUIRES: attribute is HARDNESS, DENSITY, IOR or MOLAR_MASS
+    // MODIFIES: this
+    // EFFECTS: requires the value of attribute to be between min and max inclusive, narrowing any range already
+    //          given for attribute, and returns this; molar mass ranges are only filtered, never indexed
+    public MineralQuery withRange(Attributes attribute, float min, float max) {
+        float[] range = ranges.get(attribute);
+        if (range == null) {
+            ranges.put(attribute, new float[]{min, max});
+        } else {
+            range[0] = Math.max(range[0], min);
+            range[1] = Math.min(range[1], max);
+        }
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: requires the crystal structure to be one of those given across all calls and returns this
+    public MineralQuery withCrystalStructures(CrystalStructure... crystalStructures) {
+        Collections.addAll(this.crystalStructures, crystalStructures);
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: requires the cleavage to be one of those given across all calls and returns this
+    public MineralQuery withCleavages(Cleavage... cleavages) {
+        Collections.addAll(this.cleavages, cleavages);
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: requires the formula to satisfy elementQuery and returns this
+    public MineralQuery withElements(ElementQuery elementQuery) {
+        this.elementQuery = elementQuery;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: requires the name to start with namePrefix, ignoring case, and returns this
+    public MineralQuery withNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+        return this;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: orders the results by ascending attribute, minerals with equal values by name, and returns this;
+    //          DEFAULT leaves the results unordered
+    public MineralQuery sortedBy(Attributes attribute) {
+        this.sortAttribute = attribute;
+        return this;
+    }
+
+    // REQUIRES: limit >= 0
+    // MODIFIES: this
+    // EFFECTS: keeps at most limit results and returns this
+    public MineralQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    // EFFECTS: returns true if the results are ordered by an attribute
+    public boolean isSorted() {
+        return sortAttribute != Attributes.DEFAULT;
+    }
+
+    // getters
+    public Map<Attributes, float[]> getRanges() {
+        return Collections.unmodifiableMap(ranges);
+    }
+
+    public Set<CrystalStructure> getCrystalStructures() {
+        return Collections.unmodifiableSet(crystalStructures);
+    }
+
+    public Set<Cleavage> getCleavages() {
+        return Collections.unmodifiableSet(cleavages);
+    }
+
+    public ElementQuery getElementQuery() {
+        return elementQuery;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public Attributes getSortAttribute() {
+        return sortAttribute;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
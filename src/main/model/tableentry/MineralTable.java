@@ -3,59 +3,347 @@ package model.tableentry;
 import model.logging.Event;
 import model.logging.EventLog;
 import model.modelexceptions.DuplicationException;
+import model.entries.EntryObserver;
 import model.entries.Mineral;
 import model.entries.WikiEntry;
+import model.enums.AtomicSymbols;
+import model.enums.SimilarityMetric;
+import model.chemicalstructure.Formula;
+import model.chemicalstructure.FormulaParser;
 import utils.fieldnames.Attributes;
 import model.modelexceptions.EmptyTableException;
 import model.modelexceptions.ItemNotFoundException;
 import model.modelexceptions.MineralDuplicateException;
+import model.modelexceptions.UnknownElementException;
 import org.json.JSONObject;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 // Implementation of WikiEntryTable for storing a collection of minerals
+//
+// Safe for use from several threads: minerals are found by name through a ConcurrentHashMap and names are
+// completed through a NameIndex without locking, while the id assignment, indexes and columns are guarded by one
+// StampedLock, written under its write lock and queried under its read lock or, for small lookups, an optimistic
+// read validated afterwards
 
-public class MineralTable implements WikiEntryTable {
+public class MineralTable implements WikiEntryTable, EntryObserver {
 
-    private final HashMap<String, Mineral> mineralNameTable;
+    private final ConcurrentHashMap<String, Mineral> mineralNameTable;
+    private final StampedLock lock;
+    private final HashMap<String, Integer> mineralIds;
+    private final List<Mineral> mineralsById;
+    private final Deque<Integer> freeIds;
+    private final ElementIndex elementIndex;
+    private final PolymorphIndex polymorphIndex;
+    private final GroupIndex groupIndex;
+    private final EnumMap<Attributes, AttributeIndex> attributeIndexes;
+    private final MineralColumns columns;
+    private final NameIndex mineralNames;
+    private final FuzzyNameIndex fuzzyMineralNames;
+    private DescriptionIndex descriptions;
+    private final QueryPlanner planner;
+    private volatile long version;
+    private final ConcurrentHashMap<Attributes, TableSnapshot> snapshots;
 
-    // EFFECTS: constructs the MineralTable with mineralNameTable initialized to a new HashMap
+    // EFFECTS: constructs the MineralTable with mineralNameTable initialized to a new ConcurrentHashMap
     public MineralTable() {
-        this.mineralNameTable = new HashMap<>();
+        this.mineralNameTable = new ConcurrentHashMap<>();
+        this.lock = new StampedLock();
+        this.mineralIds = new HashMap<>();
+        this.mineralsById = new ArrayList<>();
+        this.freeIds = new ArrayDeque<>();
+        this.elementIndex = new ElementIndex();
+        this.polymorphIndex = new PolymorphIndex();
+        this.groupIndex = new GroupIndex();
+        this.attributeIndexes = new EnumMap<>(Attributes.class);
+        this.columns = new MineralColumns();
+        this.mineralNames = new NameIndex();
+        this.fuzzyMineralNames = new FuzzyNameIndex();
+        this.descriptions = new DescriptionIndex();
+        this.snapshots = new ConcurrentHashMap<>();
+        for (Attributes attribute : List.of(Attributes.HARDNESS, Attributes.DENSITY, Attributes.IOR)) {
+            attributeIndexes.put(attribute, new AttributeIndex());
+        }
+        this.planner = new QueryPlanner(mineralIds, mineralsById, columns, elementIndex, attributeIndexes,
+                mineralNames);
     }
 
     // getters
-    public HashMap<String, Mineral> getMineralNameTable() {
-        return this.mineralNameTable;
+    public Map<String, Mineral> getMineralNameTable() {
+        return Collections.unmodifiableMap(this.mineralNameTable);
+    }
+
+    // EFFECTS: returns the result of query, run while holding the read lock
+    private <T> T read(Supplier<T> query) {
+        long stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // EFFECTS: returns the result of query, run without locking if no write happens meanwhile and otherwise run
+    //          again under the read lock; only for queries that cannot loop on a structure being written
+    private <T> T readOptimistically(Supplier<T> query) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = query.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // read a structure midway through a write, the stamp is invalid so the query is run again below
+            }
+        }
+        return read(query);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs mutation while holding the write lock
+    private void write(Runnable mutation) {
+        long stamp = lock.writeLock();
+        try {
+            mutation.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
-    // EFFECTS: returns a Mineral List ordered/grouped by the provided attribute
+    // EFFECTS: returns a Mineral List ordered/grouped by the provided attribute, read straight from the sorted
+    //          index for hardness, density and IOR (minerals with equal values ordered by name) and sorted from
+    //          the attribute columns otherwise
     public List<Mineral> getTableSortedBy(Attributes attribute) throws EmptyTableException {
+        List<Mineral> returnList = read(() -> getSortedMinerals(attribute));
+        if (returnList.isEmpty()) {
+            throw new EmptyTableException();
+        }
+        EventLog.getInstance().logEvent(new Event("Mineral table has been sorted by: " + attribute));
+        return returnList;
+    }
+
+    // EFFECTS: returns a Mineral List ordered by the weight percent of element in each mineral formula
+    //          throws EmptyTableException if there are no minerals
+    public List<Mineral> getTableSortedByWeightPercent(AtomicSymbols element) throws EmptyTableException {
         if (this.mineralNameTable.isEmpty()) {
             throw new EmptyTableException();
         }
         List<Mineral> returnList = new ArrayList<>(this.mineralNameTable.values());
+        returnList.sort(Comparator.comparingDouble((Mineral m) -> m.getGeneralFormula().getWeightPercent(element)));
+        EventLog.getInstance().logEvent(new Event("Mineral table has been sorted by weight percent of: " + element));
+        return returnList;
+    }
+
+    // EFFECTS: returns the minerals sorted by attribute as in getTableSortedBy, without locking
+    private List<Mineral> getSortedMinerals(Attributes attribute) {
+        AttributeIndex index = attributeIndexes.get(attribute);
+        return getMineralsWithIds(index != null ? index.ascending() : getSortedIds(attribute));
+    }
+
+    // EFFECTS: returns the ids of the table sorted by the column of attribute if it is CRYSTAL, CLEAVAGE or
+    //          MOLAR_MASS, with ties in the hash order of their names (as in the name table) for the enum columns
+    //          and in id order for molar mass
+    private List<Integer> getSortedIds(Attributes attribute) {
+        if (attribute == Attributes.MOLAR_MASS) {
+            return columns.sortByMolarMass();
+        }
+        List<Integer> ids = new ArrayList<>(mineralIds.values());
         switch (attribute) {
-            case IOR: returnList.sort((Mineral m1, Mineral m2) ->
-                        Float.compare(m1.getIndexOfRefraction(), m2.getIndexOfRefraction()));
-                break;
-            case HARDNESS: returnList.sort((Mineral m1, Mineral m2) -> Float.compare(m1.getHardness(),
-                    m2.getHardness()));
-                break;
-            case DENSITY: returnList.sort((Mineral m1, Mineral m2) -> Float.compare(m1.getDensity(), m2.getDensity()));
-                break;
-            case CRYSTAL: returnList.sort(Comparator.comparingInt((Mineral m) -> m.getCrystalStructure().ordinal()));
-                break;
-            case CLEAVAGE: returnList.sort(Comparator.comparingInt((Mineral m) -> m.getCleavage().ordinal()));
-                break;
+            case CRYSTAL:
+                return columns.sortByCrystalStructure(ids);
+            case CLEAVAGE:
+                return columns.sortByCleavage(ids);
             default:
-                break;
+                return ids;
         }
+    }
 
-        EventLog.getInstance().logEvent(new Event("Mineral table has been sorted by: " + attribute));
+    // REQUIRES: attribute is HARDNESS, DENSITY or IOR
+    // EFFECTS: returns the minerals whose value of attribute is between min and max inclusive, in ascending order
+    //          of that value
+    public List<Mineral> getMineralsInRange(Attributes attribute, float min, float max) {
+        AttributeIndex index = attributeIndexes.get(attribute);
+        return index == null ? new ArrayList<>() : read(() -> getMineralsWithIds(index.range(min, max)));
+    }
+
+    // EFFECTS: returns the value of the indexed attribute of mineral
+    private static float attributeValue(Mineral mineral, Attributes attribute) {
+        switch (attribute) {
+            case HARDNESS:
+                return mineral.getHardness();
+            case DENSITY:
+                return mineral.getDensity();
+            default:
+                return mineral.getIndexOfRefraction();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes the indexed attributes of mineral under id
+    private void indexAttributes(int id, Mineral mineral) {
+        for (Map.Entry<Attributes, AttributeIndex> index : attributeIndexes.entrySet()) {
+            index.getValue().update(id, mineral.getName(), attributeValue(mineral, index.getKey()));
+        }
+    }
+
+    // EFFECTS: returns the plan that select would use for query
+    public QueryPlan explain(MineralQuery query) {
+        return read(() -> planner.plan(query));
+    }
+
+    // EFFECTS: returns the minerals matching query, in its order and up to its limit; each iteration plans the
+    //          query again and, unless the results must be sorted after filtering, filters the candidates lazily
+    //          a batch at a time, so minerals changed during iteration are seen as of their batch
+    public Iterable<Mineral> select(MineralQuery query) {
+        return () -> read(() -> openCursor(query));
+    }
+
+    // EFFECTS: returns an iterator over the results of query, without locking
+    private Iterator<Mineral> openCursor(MineralQuery query) {
+        QueryPlan plan = planner.plan(query);
+        CandidateBatches candidates = planner.openCandidates(plan, query);
+        if (query.isSorted() && !plan.isOrdered()) {
+            List<Integer> matches = filterIds(candidates.next(Integer.MAX_VALUE), query);
+            matches.sort(planner.order(query.getSortAttribute()));
+            int limit = Math.min(query.getLimit(), matches.size());
+            return getMineralsWithIds(matches.subList(0, limit)).iterator();
+        }
+        return new QueryCursor(query.getLimit(), () -> read(() -> {
+            int[] batch = candidates.next(QueryCursor.BATCH_SIZE);
+            return batch.length == 0 ? null : getMineralsWithIds(filterIds(batch, query));
+        }));
+    }
+
+    // EFFECTS: returns the ids in ids that are stored and match query, in the same order
+    private List<Integer> filterIds(int[] ids, MineralQuery query) {
+        List<Integer> matches = new ArrayList<>();
+        for (int id : ids) {
+            if (planner.matches(id, query)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    // EFFECTS: returns the minerals whose formula molar mass is between min and max inclusive
+    public List<Mineral> getMineralsWithMolarMass(double min, double max) {
+        return read(() -> getMineralsWithIds(columns.molarMassBetween(min, max)));
+    }
+
+    // EFFECTS: returns the minerals whose formula has a weight percent of element between min and max inclusive
+    public List<Mineral> getMineralsWithWeightPercent(AtomicSymbols element, double min, double max) {
+        List<Mineral> returnList = new ArrayList<>();
+        for (Mineral mineral : mineralNameTable.values()) {
+            double weightPercent = mineral.getGeneralFormula().getWeightPercent(element);
+            if (weightPercent >= min && weightPercent <= max) {
+                returnList.add(mineral);
+            }
+        }
+        return returnList;
+    }
+
+    // EFFECTS: returns the minerals whose formula satisfies the element conditions of query
+    public List<Mineral> getMineralsMatching(ElementQuery query) {
+        return read(() -> getMineralsWithIds(elementIndex.match(query)));
+    }
+
+    // EFFECTS: returns the minerals whose ids are set in ids
+    private List<Mineral> getMineralsWithIds(BitSet ids) {
+        List<Mineral> returnList = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            returnList.add(mineralsById.get(id));
+        }
+        return returnList;
+    }
+
+    // EFFECTS: returns the number of minerals whose formula satisfies the element conditions of query
+    public int countMineralsMatching(ElementQuery query) {
+        return read(() -> elementIndex.match(query).cardinality());
+    }
+
+    // EFFECTS: returns the minerals whose formula contains at least minMultiplicity units of any of the given
+    //          covalent groups per formula unit, where each group is written with or without brackets, e.g. "(SiO4)"
+    //          throws UnknownElementException if a group contains an unknown element
+    public List<Mineral> getMineralsWithAnyGroup(double minMultiplicity, String... groups)
+            throws UnknownElementException {
+        List<String> signatures = new ArrayList<>(groups.length);
+        for (String group : groups) {
+            String bracketedGroup = group.trim().startsWith("(") ? group : "(" + group + ")";
+            signatures.add(new FormulaParser(bracketedGroup).parseGroup().getSignature());
+        }
+        return read(() -> {
+            BitSet matches = new BitSet();
+            for (String signature : signatures) {
+                matches.or(groupIndex.match(signature, minMultiplicity));
+            }
+            return getMineralsWithIds(matches);
+        });
+    }
+
+    // EFFECTS: returns the signatures of every covalent group found in the formulas of the table
+    public List<String> getGroupSignatures() {
+        return read(groupIndex::getSignatures);
+    }
+
+    // EFFECTS: returns the minerals whose formula has the same empirical form as formula
+    public List<Mineral> getMineralsWithFormula(Formula formula) {
+        return read(() -> getMineralsWithIds(polymorphIndex.getIds(formula)));
+    }
+
+    // EFFECTS: returns true if a mineral in the table has the same empirical form as formula
+    public boolean containsFormula(Formula formula) {
+        return readOptimistically(() -> !polymorphIndex.getIds(formula).isEmpty());
+    }
+
+    // EFFECTS: returns the other minerals whose formula has the same empirical form as that of the mineral
+    //          with the given name
+    //          throws ItemNotFoundException if there is no mineral with the given name
+    public List<Mineral> getPolymorphs(String name) throws ItemNotFoundException {
+        Mineral mineral = mineralNameTable.get(name);
+        if (mineral == null) {
+            throw new ItemNotFoundException();
+        }
+        List<Mineral> polymorphs = getMineralsWithFormula(mineral.getGeneralFormula());
+        polymorphs.remove(mineral);
+        return polymorphs;
+    }
+
+    // EFFECTS: returns the groups of minerals that share the empirical form of their formula with another mineral
+    public List<List<Mineral>> getDuplicateChemistryGroups() {
+        return read(() -> {
+            List<List<Mineral>> groups = new ArrayList<>();
+            for (List<Integer> ids : polymorphIndex.getSharedGroups()) {
+                groups.add(getMineralsWithIds(ids));
+            }
+            return groups;
+        });
+    }
+
+    // EFFECTS: returns the minerals with the given ids
+    private List<Mineral> getMineralsWithIds(List<Integer> ids) {
+        List<Mineral> returnList = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            returnList.add(mineralsById.get(id));
+        }
         return returnList;
     }
 
+    // EFFECTS: returns at most k minerals whose composition is closest to that of formula under metric,
+    //          closest first
+    public List<SimilarityMatch> getMostSimilarMinerals(Formula formula, int k, SimilarityMetric metric) {
+        List<SimilarityMatch> matches = read(() -> SimilaritySearch.search(
+                Collections.unmodifiableList(mineralsById), formula.getComposition(), k, metric));
+        EventLog.getInstance().logEvent(new Event("Mineral table has been searched for minerals similar to: "
+                + formula.getUnparsedFormula()));
+        return matches;
+    }
+
     // EFFECTS: returns the entry with the corresponding name
     //          throws ItemNotFoundException if there is no entry with the provided key
     @Override
@@ -74,14 +362,18 @@ public class MineralTable implements WikiEntryTable {
     //          throws DuplicateException if the key is already in mineralNameTable
     @Override
     public void addEntry(WikiEntry entry) throws DuplicationException {
-        if (mineralNameTable.get(entry.getName()) == null) {
-            mineralNameTable.put(entry.getName(), (Mineral) entry);
-            EventLog.getInstance().logEvent(new Event("Mineral of name: "
-                    + entry.getName()
-                    + " has been added to the mineral table"));
-        } else {
-            throw new MineralDuplicateException();
+        long stamp = lock.writeLock();
+        try {
+            if (mineralNameTable.containsKey(entry.getName())) {
+                throw new MineralDuplicateException();
+            }
+            putIndexed((Mineral) entry);
+        } finally {
+            lock.unlockWrite(stamp);
         }
+        EventLog.getInstance().logEvent(new Event("Mineral of name: "
+                + entry.getName()
+                + " has been added to the mineral table"));
     }
 
     // MODIFIES: this
@@ -89,32 +381,321 @@ public class MineralTable implements WikiEntryTable {
     //          throws ItemNotFoundException if name is not a key
     @Override
     public void removeEntry(String name) throws ItemNotFoundException {
+        long stamp = lock.writeLock();
+        try {
+            if (!removeIndexed(name)) {
+                throw new ItemNotFoundException();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        EventLog.getInstance().logEvent(new Event("Mineral of name: "
+                + name
+                + " has been removed from the mineral table"));
+    }
+
+    // REQUIRES: the write lock is held
+    // MODIFIES: this
+    // EFFECTS: removes the mineral called name and its index entries, returns false if there is no such mineral
+    private boolean removeIndexed(String name) {
+        Mineral removed = mineralNameTable.remove(name);
+        if (removed == null) {
+            return false;
+        }
+        int id = mineralIds.remove(name);
+        mineralNames.remove(name);
+        fuzzyMineralNames.remove(name);
+        descriptions.remove(name);
+        removed.removeObserver(this);
+        elementIndex.remove(id);
+        polymorphIndex.remove(id);
+        groupIndex.remove(id);
+        for (AttributeIndex index : attributeIndexes.values()) {
+            index.remove(id);
+        }
+        columns.clear(id);
+        mineralsById.set(id, null);
+        freeIds.push(id);
+        version++;
+        return true;
+    }
+
+    // MODIFIES: this, mineral
+    // EFFECTS: adds mineral to the table, replacing any mineral with the same name, and indexes its formula
+    public void putEntry(Mineral mineral) {
+        write(() -> putIndexed(mineral));
+    }
+
+    // MODIFIES: this, minerals
+    // EFFECTS: adds every mineral to the table as putEntry does, taking the write lock once for all of them
+    public void putAll(Collection<Mineral> minerals) {
+        write(() -> minerals.forEach(this::putIndexed));
+    }
+
+    // MODIFIES: this, minerals
+    // EFFECTS: adds every mineral to the table as putAll does; if the table is empty, first adopts descriptions as
+    //          its description index, so that the descriptions already indexed there are not indexed again, and
+    //          then drops from it the descriptions of entries not in the table
+    public void putAll(Collection<Mineral> minerals, DescriptionIndex descriptions) {
+        write(() -> {
+            if (mineralNameTable.isEmpty()) {
+                this.descriptions = descriptions;
+            }
+            minerals.forEach(this::putIndexed);
+            this.descriptions.retainAll(mineralNameTable.keySet());
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every mineral whose name is in names, taking the write lock once for all of them, and
+    //          returns the number of minerals removed
+    public int removeAll(Collection<String> names) {
+        long stamp = lock.writeLock();
+        try {
+            int removed = 0;
+            for (String name : names) {
+                removed += removeIndexed(name) ? 1 : 0;
+            }
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
 
-        if (mineralNameTable.get(name) != null) {
-            mineralNameTable.remove(name);
-            EventLog.getInstance().logEvent(new Event("Mineral of name: "
-                    + name
-                    + " has been removed from the mineral table"));
+    // REQUIRES: the write lock is held
+    // MODIFIES: this, mineral
+    // EFFECTS: adds mineral to the table, replacing any mineral with the same name, and indexes it
+    private void putIndexed(Mineral mineral) {
+        Integer id = mineralIds.get(mineral.getName());
+        if (id == null) {
+            id = freeIds.isEmpty() ? mineralsById.size() : freeIds.pop();
+            mineralIds.put(mineral.getName(), id);
+            mineralNames.add(mineral.getName());
+            fuzzyMineralNames.add(mineral.getName());
+            if (id == mineralsById.size()) {
+                mineralsById.add(null);
+            }
         } else {
-            throw new ItemNotFoundException();
+            mineralsById.get(id).removeObserver(this);
+        }
+        mineralNameTable.put(mineral.getName(), mineral);
+        mineralsById.set(id, mineral);
+        elementIndex.add(id, mineral.getGeneralFormula().getComposition());
+        polymorphIndex.add(id, mineral.getGeneralFormula());
+        groupIndex.add(id, mineral.getGeneralFormula());
+        indexAttributes(id, mineral);
+        columns.set(id, mineral);
+        descriptions.put(mineral.getName(), mineral.getDescription());
+        mineral.addObserver(this);
+        version++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes the formula, attributes and description of entry, refreshes its columns and records the
+    //          change if it is a mineral stored in this table
+    @Override
+    public void update(WikiEntry entry) {
+        write(() -> {
+            Integer id = mineralIds.get(entry.getName());
+            if (id != null && mineralsById.get(id) == entry) {
+                elementIndex.update(id, entry.getGeneralFormula().getComposition());
+                polymorphIndex.update(id, entry.getGeneralFormula());
+                groupIndex.update(id, entry.getGeneralFormula());
+                indexAttributes(id, (Mineral) entry);
+                columns.set(id, (Mineral) entry);
+                descriptions.put(entry.getName(), entry.getDescription());
+                version++;
+            }
+        });
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit mineral names starting with prefix, ignoring case, in alphabetical order,
+    //          without locking
+    @Override
+    public List<String> getNameCompletions(String prefix, int limit) {
+        return mineralNames.complete(prefix, limit);
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit mineral names within FuzzyNameIndex.MAX_DISTANCE edits of name, ignoring
+    //          case, closest first
+    @Override
+    public List<String> getNameSuggestions(String name, int limit) {
+        return read(() -> fuzzyMineralNames.search(name, FuzzyNameIndex.MAX_DISTANCE, limit));
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit minerals whose description contains a word of query, best match first
+    @Override
+    public List<WikiEntry> searchDescriptions(String query, int limit) {
+        return read(() -> {
+            List<WikiEntry> matches = new ArrayList<>();
+            for (String name : descriptions.search(query, limit)) {
+                matches.add(mineralNameTable.get(name));
+            }
+            return matches;
+        });
+    }
+
+    // EFFECTS: writes the description index of the table to out
+    //          throws IOException if out cannot be written
+    @Override
+    public void writeDescriptionIndex(DataOutputStream out) throws IOException {
+        long stamp = lock.readLock();
+        try {
+            descriptions.writeTo(out);
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
 
     // EFFECTS: produces a 2D String array with the rows being in order of given attribute
-    //          of Minerals converted to array
+    //          of Minerals converted to array, reusing the rows built for attribute if the table has not changed
+    //          since; the rows are shared between calls and must not be modified
     @Override
     public String[][] getTableAsArray(Attributes attribute) {
-        List<Mineral> mineralValues;
-        try {
-            mineralValues = getTableSortedBy(attribute);
-        } catch (EmptyTableException e) {
-            mineralValues = new ArrayList<>(mineralNameTable.values());
+        TableSnapshot snapshot = read(() -> getSnapshot(attribute));
+        if (snapshot.size() > 0) {
+            EventLog.getInstance().logEvent(new Event("Mineral table has been sorted by: " + attribute));
+        }
+        return snapshot.getRows();
+    }
+
+    // REQUIRES: the read lock is held, so that version cannot change meanwhile
+    // EFFECTS: returns the rows of the table sorted by attribute at the current version, built and cached if the
+    //          cached ones are older
+    private TableSnapshot getSnapshot(Attributes attribute) {
+        TableSnapshot cached = snapshots.get(attribute);
+        if (cached != null && cached.isAt(version)) {
+            return cached;
         }
+        List<Mineral> mineralValues = getSortedMinerals(attribute);
         String[][] mineralArray = new String[mineralValues.size()][];
         for (int i = 0; i < mineralValues.size(); i++) {
-            mineralArray[i] = mineralValues.get(i).giveAttributeAsObjects();
+            mineralArray[i] = giveTableRow(mineralValues.get(i));
         }
-        return mineralArray;
+        return snapshots.merge(attribute, new TableSnapshot(version, mineralArray), TableSnapshot::later);
+    }
+
+    // EFFECTS: returns the number of minerals in the table
+    @Override
+    public int size() {
+        return mineralNameTable.size();
+    }
+
+    // EFFECTS: returns the number of changes made to the table so far
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    // REQUIRES: offset >= 0, limit >= 0
+    // EFFECTS: returns the page of at most limit rows starting at position offset of the table in the order of
+    //          sortAttribute, the order getPage(sortAttribute, null, limit) reads the table in
+    @Override
+    public TablePage getPage(Attributes sortAttribute, int offset, int limit) {
+        return getPage(sortAttribute, offset, limit, false);
+    }
+
+    // REQUIRES: limit >= 0, after is null or was read in the order of sortAttribute
+    // EFFECTS: returns the page of at most limit rows following after, or starting at the first row if after is
+    //          null, in ascending order of sortAttribute and then of name, or in alphabetical order ignoring case
+    //          for DEFAULT; only the rows of the page are built
+    @Override
+    public TablePage getPage(Attributes sortAttribute, TableCursor after, int limit) {
+        return getPage(sortAttribute, after, limit, false);
+    }
+
+    // REQUIRES: offset >= 0, limit >= 0
+    // EFFECTS: returns the page getPage(sortAttribute, offset, limit) does, or if descending, the one starting at
+    //          position offset of the table read in the reverse of that order
+    @Override
+    public TablePage getPage(Attributes sortAttribute, int offset, int limit, boolean descending) {
+        return read(() -> pageOf(sortAttribute, pageIds(sortAttribute, null, offset, limit, descending), limit));
+    }
+
+    // REQUIRES: limit >= 0, after is null or was read in the order of sortAttribute and direction of descending
+    // EFFECTS: returns the page getPage(sortAttribute, after, limit) does, or if descending, the page of at most
+    //          limit rows following after, or starting at the last row if after is null, in the reverse of that
+    //          order, seeking the sorted indexes from after down instead of counting the rows from the end
+    @Override
+    public TablePage getPage(Attributes sortAttribute, TableCursor after, int limit, boolean descending) {
+        return read(() -> pageOf(sortAttribute, pageIds(sortAttribute, after, 0, limit, descending), limit));
+    }
+
+    // EFFECTS: returns the ids of the limit rows following after in the direction of descending, or from the
+    //          first row in that direction if after is null, once skip of them have been skipped, read from the
+    //          sorted indexes for hardness, density, IOR and names and selected from the columns otherwise,
+    //          without locking
+    private List<Integer> pageIds(Attributes attribute, TableCursor after, int skip, int limit, boolean descending) {
+        String afterName = after == null ? null : after.getName();
+        AttributeIndex index = attributeIndexes.get(attribute);
+        if (index != null) {
+            return index.page(after == null ? 0 : (float) after.getValue(), afterName, skip, limit, descending);
+        } else if (attribute != Attributes.DEFAULT) {
+            return selectPage(attribute, after, skip, limit, descending);
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (String name : mineralNames.page(afterName, skip, limit, descending)) {
+            ids.add(mineralIds.get(name));
+        }
+        return ids;
+    }
+
+    // EFFECTS: returns the ids of the page as pageIds does for an attribute without a sorted index, keeping the
+    //          first skip + limit ids following after in a bounded heap while scanning the columns
+    private List<Integer> selectPage(Attributes attribute, TableCursor after, int skip, int limit,
+                                     boolean descending) {
+        Comparator<Integer> order = descending ? planner.order(attribute).reversed() : planner.order(attribute);
+        int capacity = (int) Math.min(Integer.MAX_VALUE, (long) skip + limit);
+        PriorityQueue<Integer> first = new PriorityQueue<>(order.reversed());
+        BitSet ids = columns.getStoredIdSet();
+        for (int id = ids.nextSetBit(0); id >= 0 && capacity > 0; id = ids.nextSetBit(id + 1)) {
+            boolean follows = after == null || follows(attribute, id, after, descending);
+            if (follows && (first.size() < capacity || order.compare(id, first.peek()) < 0)) {
+                first.add(id);
+                if (first.size() > capacity) {
+                    first.poll();
+                }
+            }
+        }
+        List<Integer> page = new ArrayList<>(first);
+        page.sort(order);
+        return page.subList(Math.min(skip, page.size()), page.size());
+    }
+
+    // EFFECTS: returns true if the row of id comes after the position of after in the order of attribute, or
+    //          before it if descending
+    private boolean follows(Attributes attribute, int id, TableCursor after, boolean descending) {
+        int byValue = Double.compare(columns.getValue(attribute, id), after.getValue());
+        int compared = byValue != 0 ? byValue : mineralsById.get(id).getName().compareTo(after.getName());
+        return descending ? compared < 0 : compared > 0;
+    }
+
+    // EFFECTS: returns the page of the minerals with ids, the last page of the table if there are fewer than limit
+    private TablePage pageOf(Attributes attribute, List<Integer> ids, int limit) {
+        List<WikiEntry> entries = new ArrayList<>(ids.size());
+        String[][] rows = new String[ids.size()][];
+        for (int i = 0; i < ids.size(); i++) {
+            Mineral mineral = mineralsById.get(ids.get(i));
+            entries.add(mineral);
+            rows[i] = giveTableRow(mineral);
+        }
+        if (ids.isEmpty() || ids.size() < limit) {
+            return new TablePage(entries, rows, null);
+        }
+        int last = ids.get(ids.size() - 1);
+        return new TablePage(entries, rows,
+                new TableCursor(attribute, columns.getValue(attribute, last), mineralsById.get(last).getName()));
+    }
+
+    // EFFECTS: produces the attributes of mineral followed by its molar mass
+    private static String[] giveTableRow(Mineral mineral) {
+        String[] attributes = mineral.giveAttributeAsObjects();
+        String[] row = Arrays.copyOf(attributes, attributes.length + 1);
+        row[attributes.length] = String.format("%.3f", mineral.getGeneralFormula().getMolarMass());
+        return row;
     }
 
     // EFFECTS: returns a new JSONObject containing each value in mineralNameTable converted to a JSONObject
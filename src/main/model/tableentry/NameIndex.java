@@ -0,0 +1,102 @@
+package model.tableentry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Sorted index of entry names for completing a typed prefix, ignoring case, in O(log n + k) for k completions
+//
+// Names are kept in a ConcurrentSkipListMap under their lower case form followed by the name itself, so that the
+// names starting with a prefix form one contiguous range of keys, found by binary search from the lower case
+// prefix, and so that completions can be read while names are added or removed from other threads
+
+public class NameIndex {
+    private static final char SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, String> namesByKey;
+
+    // EFFECTS: constructs an empty index
+    public NameIndex() {
+        this.namesByKey = new ConcurrentSkipListMap<>();
+    }
+
+    // EFFECTS: returns the key name is indexed under
+    private static String keyOf(String name) {
+        return name.toLowerCase(Locale.ROOT) + SEPARATOR + name;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds name to the index, does nothing if it is already indexed
+    public void add(String name) {
+        namesByKey.put(keyOf(name), name);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes name from the index, does nothing if it is not indexed
+    public void remove(String name) {
+        namesByKey.remove(keyOf(name));
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit indexed names starting with prefix, ignoring case, in alphabetical order
+    //          ignoring case
+    public List<String> complete(String prefix, int limit) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        List<String> completions = new ArrayList<>();
+        for (Map.Entry<String, String> entry : namesByKey.tailMap(lowerPrefix).entrySet()) {
+            if (completions.size() == limit || !entry.getKey().startsWith(lowerPrefix)) {
+                break;
+            }
+            completions.add(entry.getValue());
+        }
+        return completions;
+    }
+
+    // REQUIRES: skip >= 0, limit >= 0
+    // EFFECTS: returns at most limit indexed names in alphabetical order ignoring case, after skipping the first
+    //          skip of those following afterName, or of all names if afterName is null
+    public List<String> page(String afterName, int skip, int limit) {
+        return page(afterName, skip, limit, false);
+    }
+
+    // REQUIRES: skip >= 0, limit >= 0
+    // EFFECTS: returns the names page(afterName, skip, limit) does, or if descending, those read in reverse
+    //          alphabetical order ignoring case, from afterName down
+    public List<String> page(String afterName, int skip, int limit, boolean descending) {
+        List<String> names = new ArrayList<>();
+        int toSkip = skip;
+        for (String name : namesFrom(afterName, descending).values()) {
+            if (names.size() == limit) {
+                break;
+            } else if (toSkip > 0) {
+                toSkip--;
+            } else {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    // EFFECTS: returns the indexed names in the order given by descending, following afterName, or all of them if
+    //          afterName is null
+    private NavigableMap<String, String> namesFrom(String afterName, boolean descending) {
+        if (afterName == null) {
+            return descending ? namesByKey.descendingMap() : namesByKey;
+        }
+        return descending ? namesByKey.headMap(keyOf(afterName), false).descendingMap()
+                : namesByKey.tailMap(keyOf(afterName), false);
+    }
+
+    // EFFECTS: returns true if name is indexed
+    public boolean contains(String name) {
+        return namesByKey.containsKey(keyOf(name));
+    }
+
+    // EFFECTS: returns the number of indexed names
+    public int size() {
+        return namesByKey.size();
+    }
+}
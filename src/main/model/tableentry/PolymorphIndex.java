@@ -0,0 +1,91 @@
+package model.tableentry;
+
+import model.chemicalstructure.Formula;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Groups ids by the empirical form of their formula so that polymorphs, which share one composition,
+// fall into the same group. Formulas without any elements are not indexed
+
+public class PolymorphIndex {
+    private final HashMap<Formula, List<Integer>> idsByFormula;
+    private final Set<Formula> sharedFormulas;
+    private final List<Formula> indexedFormulas;
+
+    // EFFECTS: constructs an empty index
+    public PolymorphIndex() {
+        this.idsByFormula = new HashMap<>();
+        this.sharedFormulas = new LinkedHashSet<>();
+        this.indexedFormulas = new ArrayList<>();
+    }
+
+    // REQUIRES: id >= 0
+    // MODIFIES: this
+    // EFFECTS: indexes formula under id, replacing whatever was indexed under id before
+    public void add(int id, Formula formula) {
+        remove(id);
+        if (formula.getComposition().size() == 0) {
+            return;
+        }
+        while (indexedFormulas.size() <= id) {
+            indexedFormulas.add(null);
+        }
+        indexedFormulas.set(id, formula);
+        List<Integer> group = idsByFormula.computeIfAbsent(formula, key -> new ArrayList<>(1));
+        group.add(id);
+        if (group.size() == 2) {
+            sharedFormulas.add(formula);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes id from the index, does nothing if id is not indexed
+    public void remove(int id) {
+        Formula formula = id < indexedFormulas.size() ? indexedFormulas.set(id, null) : null;
+        if (formula == null) {
+            return;
+        }
+        List<Integer> group = idsByFormula.get(formula);
+        group.remove(Integer.valueOf(id));
+        if (group.isEmpty()) {
+            idsByFormula.remove(formula);
+        } else if (group.size() == 1) {
+            sharedFormulas.remove(formula);
+        }
+    }
+
+    // REQUIRES: id >= 0
+    // MODIFIES: this
+    // EFFECTS: re-indexes id if formula has a different empirical form from the formula indexed under it
+    public void update(int id, Formula formula) {
+        Formula indexed = id < indexedFormulas.size() ? indexedFormulas.get(id) : null;
+        if (indexed == null || !indexed.equals(formula)) {
+            add(id, formula);
+        }
+    }
+
+    // EFFECTS: returns the ids whose formula has the same empirical form as formula
+    public List<Integer> getIds(Formula formula) {
+        List<Integer> group = idsByFormula.get(formula);
+        return group == null ? Collections.emptyList() : Collections.unmodifiableList(group);
+    }
+
+    // EFFECTS: returns the groups of ids that share an empirical form with at least one other id
+    public List<List<Integer>> getSharedGroups() {
+        List<List<Integer>> groups = new ArrayList<>(sharedFormulas.size());
+        for (Formula formula : sharedFormulas) {
+            groups.add(Collections.unmodifiableList(idsByFormula.get(formula)));
+        }
+        return groups;
+    }
+
+    // EFFECTS: returns the number of distinct empirical forms indexed
+    public int size() {
+        return idsByFormula.size();
+    }
+}
@@ -0,0 +1,212 @@
+package model.tableentry;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Compressed list of the documents containing a term, with the number of times each contains it, in increasing
+// document order
+//
+// Each posting is stored as the gap from the previous document and the term frequency, both as variable length
+// integers of seven bits per byte, so that most postings take two bytes. Postings can only be appended, the
+// documents removed since are skipped by the reader and dropped when the list is compacted
+
+public class PostingList {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int PAYLOAD_BITS = 7;
+    private static final int PAYLOAD = 0x7F;
+    private static final int CONTINUATION = 0x80;
+
+    private byte[] bytes;
+    private int length;
+    private int lastDocument;
+    private int documentFrequency;
+
+    // EFFECTS: constructs an empty posting list
+    public PostingList() {
+        this.bytes = new byte[INITIAL_CAPACITY];
+        this.lastDocument = -1;
+    }
+
+    // REQUIRES: document is greater than every document in the list, frequency > 0
+    // MODIFIES: this
+    // EFFECTS: appends a posting of document containing the term frequency times
+    public void append(int document, int frequency) {
+        writeVarInt(document - lastDocument);
+        writeVarInt(frequency);
+        lastDocument = document;
+        documentFrequency++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that one of the documents in the list has been removed
+    public void removeDocument() {
+        documentFrequency--;
+    }
+
+    // EFFECTS: returns the number of documents in the list that have not been removed
+    public int getDocumentFrequency() {
+        return documentFrequency;
+    }
+
+    // EFFECTS: returns the number of bytes the postings take
+    public int getByteLength() {
+        return length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends value to the bytes seven bits at a time, lowest first
+    private void writeVarInt(int value) {
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+        }
+        while ((value & ~PAYLOAD) != 0) {
+            bytes[length++] = (byte) ((value & PAYLOAD) | CONTINUATION);
+            value >>>= PAYLOAD_BITS;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    // EFFECTS: returns a reader positioned before the first posting
+    public Reader reader() {
+        return new Reader();
+    }
+
+    // REQUIRES: newIds maps every document of the list to its new id, or to -1 if it has been removed, keeping
+    //           the order of the documents kept
+    // EFFECTS: returns a list of the postings of the documents kept, under their new ids
+    public PostingList compact(int[] newIds) {
+        PostingList compacted = new PostingList();
+        Reader reader = reader();
+        while (reader.next()) {
+            int newId = newIds[reader.getDocument()];
+            if (newId >= 0) {
+                compacted.append(newId, reader.getFrequency());
+            }
+        }
+        return compacted;
+    }
+
+    // EFFECTS: writes the list to out
+    //          throws IOException if out cannot be written
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(lastDocument);
+        out.writeInt(documentFrequency);
+        out.writeInt(length);
+        out.write(bytes, 0, length);
+    }
+
+    // EFFECTS: returns the list written by writeTo to in, reading its bytes in chunks so that a corrupt length
+    //          allocates no more than in holds
+    //          throws IOException if in cannot be read or does not hold a well formed list
+    public static PostingList readFrom(DataInputStream in) throws IOException {
+        PostingList list = new PostingList();
+        list.lastDocument = in.readInt();
+        list.documentFrequency = in.readInt();
+        int length = in.readInt();
+        if (length < 0 || list.documentFrequency < 0) {
+            throw new IOException("Corrupt posting list");
+        }
+        list.bytes = in.readNBytes(length);
+        if (list.bytes.length < length) {
+            throw new EOFException("Truncated posting list");
+        }
+        list.length = length;
+        list.checkPostings();
+        return list;
+    }
+
+    // EFFECTS: throws IOException unless the bytes decode into postings of increasing documents ending at
+    //          lastDocument, with at least documentFrequency of them
+    private void checkPostings() throws IOException {
+        Reader reader = reader();
+        int postings = 0;
+        int document = -1;
+        while (reader.nextChecked()) {
+            document = reader.getDocument();
+            postings++;
+        }
+        if (document != lastDocument || postings < documentFrequency) {
+            throw new IOException("Corrupt posting list");
+        }
+    }
+
+    // Forward reader over the postings of the list, decoding one posting at a time
+    public class Reader {
+        private int offset;
+        private int document = -1;
+        private int frequency;
+
+        // MODIFIES: this
+        // EFFECTS: moves to the next posting, returns false if there is none
+        public boolean next() {
+            if (offset >= length) {
+                document = Integer.MAX_VALUE;
+                return false;
+            }
+            document += readVarInt();
+            frequency = readVarInt();
+            return true;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: moves to the next posting as next does, checking its bytes on the way
+        //          throws IOException if the posting is cut short or its gap or frequency is not positive
+        private boolean nextChecked() throws IOException {
+            if (offset >= length) {
+                document = Integer.MAX_VALUE;
+                return false;
+            }
+            int gap = readCheckedVarInt();
+            frequency = readCheckedVarInt();
+            if (gap <= 0 || frequency <= 0 || document >= Integer.MAX_VALUE - gap) {
+                throw new IOException("Corrupt posting list");
+            }
+            document += gap;
+            return true;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the variable length integer at offset and moves past it
+        //          throws IOException if it runs past the end of the list or is longer than an int
+        private int readCheckedVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += PAYLOAD_BITS) {
+                if (offset >= length) {
+                    throw new EOFException("Truncated posting list");
+                }
+                byte current = bytes[offset++];
+                value |= (current & PAYLOAD) << shift;
+                if ((current & CONTINUATION) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Corrupt posting list");
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the variable length integer at offset and moves past it
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = bytes[offset++];
+                value |= (current & PAYLOAD) << shift;
+                shift += PAYLOAD_BITS;
+            } while ((current & CONTINUATION) != 0);
+            return value;
+        }
+
+        // getters
+        public int getDocument() {
+            return document;
+        }
+
+        public int getFrequency() {
+            return frequency;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package model.tableentry;
+
+import model.entries.Mineral;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+// Iterator over the results of a query that reads and filters its candidates lazily, one batch at a time, and
+// stops once the limit is reached, so that only as many candidates are checked as the caller consumes
+
+public class QueryCursor implements Iterator<Mineral> {
+    public static final int BATCH_SIZE = 256;
+
+    private final Supplier<List<Mineral>> batches;
+    private final Deque<Mineral> buffered;
+    private int remaining;
+    private int batchesRead;
+
+    // REQUIRES: limit >= 0, batches returns the matches among the next candidates in order and null once the
+    //           candidates run out
+    // EFFECTS: constructs a cursor yielding at most limit of the minerals returned by batches
+    public QueryCursor(int limit, Supplier<List<Mineral>> batches) {
+        this.batches = batches;
+        this.buffered = new ArrayDeque<>();
+        this.remaining = limit;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads batches until a match is buffered or the candidates run out, returns true if a result is
+    //          left within the limit
+    @Override
+    public boolean hasNext() {
+        while (remaining > 0 && buffered.isEmpty()) {
+            List<Mineral> batch = batches.get();
+            if (batch == null) {
+                return false;
+            }
+            buffered.addAll(batch);
+            batchesRead++;
+        }
+        return remaining > 0 && !buffered.isEmpty();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next result
+    //          throws NoSuchElementException if there is none
+    @Override
+    public Mineral next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        remaining--;
+        return buffered.poll();
+    }
+
+    // EFFECTS: returns the number of batches read so far
+    public int getBatchesRead() {
+        return batchesRead;
+    }
+}
@@ -0,0 +1,64 @@
+package model.tableentry;
+
+import model.enums.AccessPath;
+import utils.fieldnames.Attributes;
+
+import java.util.BitSet;
+
+// Access path chosen by the QueryPlanner for a MineralQuery, with the estimated number of candidates it produces
+// and the estimated cost of producing, filtering and ordering them
+
+public class QueryPlan {
+    private final AccessPath accessPath;
+    private final Attributes attribute;
+    private final double estimatedRows;
+    private final double cost;
+    private final boolean ordered;
+    private final BitSet candidateIds;
+
+    // REQUIRES: attribute is the indexed attribute for the ATTRIBUTE paths and DEFAULT otherwise, candidateIds
+    //           holds the candidates of the index paths and is null otherwise
+    // EFFECTS: constructs a plan reading candidates through accessPath, in the requested order if ordered
+    public QueryPlan(AccessPath accessPath, Attributes attribute, double estimatedRows, double cost,
+                     boolean ordered, BitSet candidateIds) {
+        this.accessPath = accessPath;
+        this.attribute = attribute;
+        this.estimatedRows = estimatedRows;
+        this.cost = cost;
+        this.ordered = ordered;
+        this.candidateIds = candidateIds;
+    }
+
+    // getters
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    public Attributes getAttribute() {
+        return attribute;
+    }
+
+    public double getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public BitSet getCandidateIds() {
+        return candidateIds;
+    }
+
+    // EFFECTS: returns the access path, its attribute if any, and the estimates, e.g. "Attribute range on HARDNESS,
+    //          ~120 rows, cost 127.3"
+    @Override
+    public String toString() {
+        String on = attribute == Attributes.DEFAULT ? "" : " on " + attribute;
+        return String.format("%s%s, ~%.0f rows, cost %.1f", accessPath, on, estimatedRows, cost);
+    }
+}
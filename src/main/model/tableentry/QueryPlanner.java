@@ -0,0 +1,193 @@
+package model.tableentry;
+
+import model.entries.Mineral;
+import model.enums.AccessPath;
+import utils.fieldnames.Attributes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Cost based planner for MineralQuery: estimates how many candidates each available access path produces, picks
+// the cheapest path and filters its candidates on the remaining conditions
+//
+// Range sizes are estimated by sampling the columns, while element, crystal structure, cleavage and name prefix
+// candidates are counted exactly from their indexes. The cost counts candidate ids produced, candidates filtered
+// (fewer when a limit lets filtering stop early) and the comparisons of sorting the matches when the path is not
+// already in the requested order. A name prefix only becomes an access path when at most an eighth of the names
+// start with it, so that planning never lists more names than a full scan would filter
+
+public class QueryPlanner {
+    private static final double BITSET_WORD_COST = 1.0 / 64;
+    private static final double CANDIDATE_COST = 0.25;
+    private static final int MAX_NAME_FRACTION = 8;
+
+    private final Map<String, Integer> mineralIds;
+    private final List<Mineral> mineralsById;
+    private final MineralColumns columns;
+    private final ElementIndex elementIndex;
+    private final Map<Attributes, AttributeIndex> attributeIndexes;
+    private final NameIndex mineralNames;
+
+    // EFFECTS: constructs a planner over the structures of a table, which it only reads
+    public QueryPlanner(Map<String, Integer> mineralIds, List<Mineral> mineralsById, MineralColumns columns,
+                        ElementIndex elementIndex, Map<Attributes, AttributeIndex> attributeIndexes,
+                        NameIndex mineralNames) {
+        this.mineralIds = mineralIds;
+        this.mineralsById = mineralsById;
+        this.columns = columns;
+        this.elementIndex = elementIndex;
+        this.attributeIndexes = attributeIndexes;
+        this.mineralNames = mineralNames;
+    }
+
+    // EFFECTS: returns the cheapest plan for query
+    public QueryPlan plan(MineralQuery query) {
+        int rows = columns.size();
+        List<QueryPlan> paths = getAccessPaths(query, rows);
+        double matchFraction = 1;
+        for (QueryPlan path : paths) {
+            if (path.getAccessPath() != AccessPath.FULL_SCAN && path.getAccessPath() != AccessPath.ATTRIBUTE_ORDER) {
+                matchFraction *= rows == 0 ? 1 : path.getEstimatedRows() / rows;
+            }
+        }
+        for (Map.Entry<Attributes, float[]> range : query.getRanges().entrySet()) {
+            if (!attributeIndexes.containsKey(range.getKey())) {
+                matchFraction *= columns.fractionInRange(range.getKey(), range.getValue()[0], range.getValue()[1]);
+            }
+        }
+        QueryPlan best = null;
+        for (QueryPlan path : paths) {
+            QueryPlan costed = withTotalCost(path, query, rows * matchFraction);
+            if (best == null || costed.getCost() < best.getCost()) {
+                best = costed;
+            }
+        }
+        return best;
+    }
+
+    // EFFECTS: returns every access path available to query, with its estimated candidates and the cost of
+    //          reaching them
+    private List<QueryPlan> getAccessPaths(MineralQuery query, int rows) {
+        List<QueryPlan> paths = new ArrayList<>();
+        double treeCost = Math.log(rows + 1) / Math.log(2);
+        paths.add(new QueryPlan(AccessPath.FULL_SCAN, Attributes.DEFAULT, rows, 0, false, null));
+        for (Map.Entry<Attributes, float[]> range : query.getRanges().entrySet()) {
+            if (attributeIndexes.containsKey(range.getKey())) {
+                double fraction = columns.fractionInRange(range.getKey(), range.getValue()[0], range.getValue()[1]);
+                paths.add(new QueryPlan(AccessPath.ATTRIBUTE_RANGE, range.getKey(), rows * fraction, treeCost,
+                        range.getKey() == query.getSortAttribute(), null));
+            }
+        }
+        Attributes sortAttribute = query.getSortAttribute();
+        if (attributeIndexes.containsKey(sortAttribute) && !query.getRanges().containsKey(sortAttribute)) {
+            paths.add(new QueryPlan(AccessPath.ATTRIBUTE_ORDER, sortAttribute, rows, treeCost, true, null));
+        }
+        addIndexPaths(paths, query, rows);
+        return paths;
+    }
+
+    // MODIFIES: paths
+    // EFFECTS: adds the unordered paths through the element, crystal structure, cleavage and name indexes that
+    //          apply to query
+    private void addIndexPaths(List<QueryPlan> paths, MineralQuery query, int rows) {
+        if (query.getElementQuery() != null) {
+            paths.add(bitSetPath(AccessPath.ELEMENT_INDEX, elementIndex.match(query.getElementQuery()), rows));
+        }
+        if (!query.getCrystalStructures().isEmpty()) {
+            paths.add(bitSetPath(AccessPath.CRYSTAL_INDEX, columns.withCrystalStructures(
+                    query.getCrystalStructures()), rows));
+        }
+        if (!query.getCleavages().isEmpty()) {
+            paths.add(bitSetPath(AccessPath.CLEAVAGE_INDEX, columns.withCleavages(query.getCleavages()), rows));
+        }
+        String prefix = query.getNamePrefix();
+        if (prefix != null && !prefix.isEmpty()) {
+            List<String> names = mineralNames.complete(prefix, rows / MAX_NAME_FRACTION + 1);
+            if (names.size() <= rows / MAX_NAME_FRACTION) {
+                BitSet ids = new BitSet();
+                names.forEach(name -> ids.set(mineralIds.get(name)));
+                paths.add(new QueryPlan(AccessPath.NAME_INDEX, Attributes.DEFAULT, names.size(), names.size(), false,
+                        ids));
+            }
+        }
+    }
+
+    // EFFECTS: returns an unordered path producing the ids in candidateIds
+    private static QueryPlan bitSetPath(AccessPath accessPath, BitSet candidateIds, int rows) {
+        return new QueryPlan(accessPath, Attributes.DEFAULT, candidateIds.cardinality(), rows * BITSET_WORD_COST,
+                false, candidateIds);
+    }
+
+    // EFFECTS: returns path with the cost of producing and filtering its candidates added, given that about
+    //          matches minerals satisfy query, and of sorting them if path is not in the requested order
+    private static QueryPlan withTotalCost(QueryPlan path, MineralQuery query, double matches) {
+        double candidates = path.getEstimatedRows();
+        boolean sortsAfter = query.isSorted() && !path.isOrdered();
+        double filtered = candidates;
+        if (!sortsAfter && query.getLimit() < matches) {
+            filtered = candidates * query.getLimit() / matches;
+        }
+        double sortCost = sortsAfter ? matches * Math.log(matches + 2) / Math.log(2) : 0;
+        double cost = path.getCost() + CANDIDATE_COST * candidates + filtered + sortCost;
+        return new QueryPlan(path.getAccessPath(), path.getAttribute(), candidates, cost, path.isOrdered(),
+                path.getCandidateIds());
+    }
+
+    // REQUIRES: plan was made for query
+    // EFFECTS: returns the candidate ids of plan, in the requested order if the plan is ordered
+    public CandidateBatches openCandidates(QueryPlan plan, MineralQuery query) {
+        switch (plan.getAccessPath()) {
+            case FULL_SCAN:
+                return new CandidateBatches(columns.getStoredIdSet());
+            case ATTRIBUTE_RANGE:
+                float[] range = query.getRanges().get(plan.getAttribute());
+                return new CandidateBatches(attributeIndexes.get(plan.getAttribute()), range[0], range[1]);
+            case ATTRIBUTE_ORDER:
+                // NaN sorts after every other value in the index
+                return new CandidateBatches(attributeIndexes.get(plan.getAttribute()), Float.NEGATIVE_INFINITY,
+                        Float.NaN);
+            default:
+                return new CandidateBatches(plan.getCandidateIds());
+        }
+    }
+
+    // EFFECTS: returns true if id is stored and its mineral satisfies every condition of query
+    public boolean matches(int id, MineralQuery query) {
+        if (!columns.isStored(id)) {
+            return false;
+        }
+        for (Map.Entry<Attributes, float[]> range : query.getRanges().entrySet()) {
+            double value = columns.getValue(range.getKey(), id);
+            if (value < range.getValue()[0] || value > range.getValue()[1]) {
+                return false;
+            }
+        }
+        if (!query.getCrystalStructures().isEmpty()
+                && !query.getCrystalStructures().contains(columns.getCrystalStructure(id))) {
+            return false;
+        }
+        if (!query.getCleavages().isEmpty() && !query.getCleavages().contains(columns.getCleavage(id))) {
+            return false;
+        }
+        if (query.getElementQuery() != null && !elementIndex.matches(id, query.getElementQuery())) {
+            return false;
+        }
+        return query.getNamePrefix() == null || startsWithIgnoringCase(mineralsById.get(id).getName(),
+                query.getNamePrefix());
+    }
+
+    // EFFECTS: returns true if name starts with prefix once both are in lower case, the fold NameIndex uses
+    private static boolean startsWithIgnoringCase(String name, String prefix) {
+        return name.toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT));
+    }
+
+    // EFFECTS: returns the order on ids by ascending attribute, then by mineral name
+    public Comparator<Integer> order(Attributes attribute) {
+        return Comparator.comparingDouble((Integer id) -> columns.getValue(attribute, id))
+                .thenComparing(id -> mineralsById.get(id).getName());
+    }
+}
@@ -0,0 +1,36 @@
+package model.tableentry;
+
+import model.entries.Mineral;
+
+import java.util.Comparator;
+
+// A mineral found by a similarity search together with its composition distance from the searched formula
+
+public class SimilarityMatch {
+    public static final Comparator<SimilarityMatch> CLOSEST_FIRST = Comparator
+            .comparingDouble(SimilarityMatch::getDistance)
+            .thenComparing((SimilarityMatch match) -> match.getMineral().getName());
+
+    private final Mineral mineral;
+    private final double distance;
+
+    // EFFECTS: constructs match of mineral at the given distance
+    public SimilarityMatch(Mineral mineral, double distance) {
+        this.mineral = mineral;
+        this.distance = distance;
+    }
+
+    // getters
+    public Mineral getMineral() {
+        return mineral;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%.4f)", mineral.getName(), distance);
+    }
+}
@@ -0,0 +1,97 @@
+package model.tableentry;
+
+import model.chemicalstructure.Composition;
+import model.entries.Mineral;
+import model.enums.SimilarityMetric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Fork join task that finds the k minerals whose composition is closest to a target composition,
+// keeping a bounded max heap of the best matches per chunk and merging the heaps of both halves
+
+public class SimilaritySearch extends RecursiveTask<PriorityQueue<SimilarityMatch>> {
+    private static final long serialVersionUID = 1L;
+    private static final int CHUNK_SIZE = 4096;
+
+    private final List<Mineral> minerals;
+    private final Composition target;
+    private final int k;
+    private final SimilarityMetric metric;
+    private final int from;
+    private final int to;
+
+    // REQUIRES: k > 0, 0 <= from <= to <= minerals.size()
+    // EFFECTS: constructs search over minerals[from, to), null entries are skipped
+    private SimilaritySearch(List<Mineral> minerals, Composition target, int k, SimilarityMetric metric,
+                             int from, int to) {
+        this.minerals = minerals;
+        this.target = target;
+        this.k = k;
+        this.metric = metric;
+        this.from = from;
+        this.to = to;
+    }
+
+    // EFFECTS: returns at most k matches from minerals closest to target under metric, closest first
+    //          minerals with an empty composition and null entries are skipped, and nothing is returned
+    //          if target is empty
+    public static List<SimilarityMatch> search(List<Mineral> minerals, Composition target, int k,
+                                               SimilarityMetric metric) {
+        if (k <= 0 || minerals.isEmpty() || target.size() == 0) {
+            return new ArrayList<>();
+        }
+        SimilaritySearch search = new SimilaritySearch(minerals, target, k, metric, 0, minerals.size());
+        List<SimilarityMatch> matches = new ArrayList<>(ForkJoinPool.commonPool().invoke(search));
+        matches.sort(SimilarityMatch.CLOSEST_FIRST);
+        return matches;
+    }
+
+    // EFFECTS: scans the range directly if it is small enough, otherwise splits it in half and merges the results
+    @Override
+    protected PriorityQueue<SimilarityMatch> compute() {
+        if (to - from <= CHUNK_SIZE) {
+            return scan();
+        }
+        int middle = (from + to) >>> 1;
+        SimilaritySearch left = new SimilaritySearch(minerals, target, k, metric, from, middle);
+        left.fork();
+        PriorityQueue<SimilarityMatch> best = new SimilaritySearch(minerals, target, k, metric, middle, to).compute();
+        for (SimilarityMatch match : left.join()) {
+            offer(best, match);
+        }
+        return best;
+    }
+
+    // EFFECTS: returns the best k matches in the range
+    private PriorityQueue<SimilarityMatch> scan() {
+        PriorityQueue<SimilarityMatch> best = new PriorityQueue<>(k + 1, SimilarityMatch.CLOSEST_FIRST.reversed());
+        for (int i = from; i < to; i++) {
+            Mineral mineral = minerals.get(i);
+            if (mineral == null) {
+                continue;
+            }
+            Composition composition = mineral.getGeneralFormula().getComposition();
+            if (composition.size() == 0) {
+                continue;
+            }
+            double distance = metric.distance(target, composition);
+            if (best.size() < k || distance <= best.peek().getDistance()) {
+                offer(best, new SimilarityMatch(mineral, distance));
+            }
+        }
+        return best;
+    }
+
+    // MODIFIES: best
+    // EFFECTS: adds match to best and drops the furthest match if best holds more than k matches
+    private void offer(PriorityQueue<SimilarityMatch> best, SimilarityMatch match) {
+        best.offer(match);
+        if (best.size() > k) {
+            best.poll();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package model.tableentry;
+
+import utils.fieldnames.Attributes;
+
+// Position just after a row of a table read in the order of a sort attribute, holding the sort value and name of
+// that row so that the rows following it are found by searching the sort order instead of counting the rows
+// before it
+
+public class TableCursor {
+    private final Attributes sortAttribute;
+    private final double value;
+    private final String name;
+
+    // EFFECTS: constructs the position after the row called name with value for sortAttribute
+    public TableCursor(Attributes sortAttribute, double value, String name) {
+        this.sortAttribute = sortAttribute;
+        this.value = value;
+        this.name = name;
+    }
+
+    // getters
+    public Attributes getSortAttribute() {
+        return sortAttribute;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
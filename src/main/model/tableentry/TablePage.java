@@ -0,0 +1,41 @@
+package model.tableentry;
+
+import model.entries.WikiEntry;
+
+import java.util.List;
+
+// Consecutive rows of a table in the order of a sort attribute, with their entries and the cursor to read the
+// rows after them
+
+public class TablePage {
+    private final List<WikiEntry> entries;
+    private final String[][] rows;
+    private final TableCursor next;
+
+    // REQUIRES: rows[i] is the row of entries.get(i)
+    // EFFECTS: constructs a page of entries shown as rows, followed by the rows after next, or the last page of
+    //          its table if next is null
+    public TablePage(List<WikiEntry> entries, String[][] rows, TableCursor next) {
+        this.entries = entries;
+        this.rows = rows;
+        this.next = next;
+    }
+
+    // getters
+    public List<WikiEntry> getEntries() {
+        return entries;
+    }
+
+    public String[][] getRows() {
+        return rows;
+    }
+
+    public TableCursor getNext() {
+        return next;
+    }
+
+    // EFFECTS: returns true if there may be rows after this page
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,44 @@
+package model.tableentry;
+
+import java.util.Arrays;
+
+// Rows of a table materialized in one sort order, together with the version of the table they were read at
+//
+// A snapshot never changes once built, so tables keep the last one of each order in a concurrent map and hand it
+// to any thread asking while their version is unchanged, building a new one after the next change
+
+public class TableSnapshot {
+    private final long version;
+    private final String[][] rows;
+
+    // EFFECTS: constructs the snapshot of rows read at version, which it keeps without copying
+    public TableSnapshot(long version, String[][] rows) {
+        this.version = version;
+        this.rows = rows;
+    }
+
+    // EFFECTS: returns the later of older and newer, keeping older if both were read at the same version
+    public static TableSnapshot later(TableSnapshot older, TableSnapshot newer) {
+        return newer.version > older.version ? newer : older;
+    }
+
+    // EFFECTS: returns true if the snapshot was read at version
+    public boolean isAt(long version) {
+        return this.version == version;
+    }
+
+    // EFFECTS: returns a copy of the array of rows; the rows themselves are shared between calls and must not be
+    //          modified
+    public String[][] getRows() {
+        return Arrays.copyOf(rows, rows.length);
+    }
+
+    // getters
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return rows.length;
+    }
+}
@@ -7,6 +7,10 @@ import model.modelexceptions.ItemNotFoundException;
 import org.json.JSONObject;
 import persistence.Writable;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
 // Interface for the table structure
 
 public interface WikiEntryTable extends Writable {
@@ -18,6 +22,26 @@ public interface WikiEntryTable extends Writable {
 
     String[][] getTableAsArray(Attributes attribute);
 
+    int size();
+
+    long getVersion();
+
+    TablePage getPage(Attributes sortAttribute, int offset, int limit);
+
+    TablePage getPage(Attributes sortAttribute, TableCursor after, int limit);
+
+    TablePage getPage(Attributes sortAttribute, int offset, int limit, boolean descending);
+
+    TablePage getPage(Attributes sortAttribute, TableCursor after, int limit, boolean descending);
+
+    List<String> getNameCompletions(String prefix, int limit);
+
+    List<String> getNameSuggestions(String name, int limit);
+
+    List<WikiEntry> searchDescriptions(String query, int limit);
+
+    void writeDescriptionIndex(DataOutputStream out) throws IOException;
+
     // List<WikiEntry> getAllMatches();
 
 
@@ -0,0 +1,70 @@
+package persistence;
+
+import model.tableentry.DescriptionIndex;
+import model.tableentry.WikiEntryTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Binary file next to a database .json file holding the description indexes of its mineral and family tables,
+// so that loading the database does not index every description again
+
+public class DescriptionIndexFile {
+    public static final String EXTENSION = ".index";
+    private static final String DATABASE_EXTENSION = ".json";
+
+    private final String path;
+
+    // EFFECTS: constructs the index file of the database at databasePath
+    public DescriptionIndexFile(String databasePath) {
+        this.path = pathFor(databasePath);
+    }
+
+    // EFFECTS: returns the path of the index file of the database at databasePath, which has the same name with
+    //          EXTENSION in place of .json
+    public static String pathFor(String databasePath) {
+        String base = databasePath.endsWith(DATABASE_EXTENSION)
+                ? databasePath.substring(0, databasePath.length() - DATABASE_EXTENSION.length())
+                : databasePath;
+        return base + EXTENSION;
+    }
+
+    // getters
+    public String getPath() {
+        return path;
+    }
+
+    // EFFECTS: returns true if the index file exists
+    public boolean exists() {
+        return Files.isRegularFile(Paths.get(path));
+    }
+
+    // EFFECTS: writes the description indexes of mineralTable and familyTable to the index file
+    //          throws IOException if the file cannot be written
+    public void write(WikiEntryTable mineralTable, WikiEntryTable familyTable) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            mineralTable.writeDescriptionIndex(out);
+            familyTable.writeDescriptionIndex(out);
+        }
+    }
+
+    // EFFECTS: returns the mineral and then the family description index read from the index file
+    //          throws IOException if the file cannot be read or is not an index file
+    public List<DescriptionIndex> read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            List<DescriptionIndex> indexes = new ArrayList<>();
+            indexes.add(DescriptionIndex.readFrom(in));
+            indexes.add(DescriptionIndex.readFrom(in));
+            return indexes;
+        }
+    }
+}
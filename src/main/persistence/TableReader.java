@@ -1,15 +1,21 @@
 package persistence;
 
 import model.chemicalstructure.Formula;
+import model.chemicalstructure.FormulaBatch;
+import model.chemicalstructure.FormulaCache;
 import model.entries.Family;
 import model.entries.Mineral;
 import model.entries.WikiEntry;
 import model.enums.Cleavage;
 import model.enums.CrystalStructure;
+import model.logging.DiagnosticLevel;
+import model.logging.Diagnostics;
 import model.logging.Event;
 import model.logging.EventLog;
+import model.modelexceptions.FormulaLimitException;
 import model.modelexceptions.ItemNotFoundException;
 import model.modelexceptions.UnknownElementException;
+import model.tableentry.DescriptionIndex;
 import model.tableentry.FamilyTable;
 import model.tableentry.MineralTable;
 import org.json.JSONArray;
@@ -57,33 +63,81 @@ public class TableReader {
     // REQUIRES: if a valid JSON file is given by source then it must be a valid format and has at least
     //              1 Mineral and 1 Family
     // MODIFIES: this
-    // EFFECTS: populates mineralTable and familyTable with the data stored in source
+    // EFFECTS: populates mineralTable and familyTable with the data stored in source, reusing the description
+    //          indexes saved next to it if there are any
+    //          throws InvalidFileException if an entry in source cannot be read or a formula in it exceeds the
+    //          limits on saved formulas
     public void setupTables() throws IOException, InvalidFileException {
         JSONObject readFile = readFile();
-        JSONObject mineralJson = readFile.getJSONObject(JsonFieldNames.MINERALS);
-        JSONObject familyJson = readFile.getJSONObject(JsonFieldNames.FAMILIES);
-        setUpMineralTable(mineralJson);
-        setUpFamilyTable(familyJson);
+        try {
+            JSONObject mineralJson = readFile.getJSONObject(JsonFieldNames.MINERALS);
+            JSONObject familyJson = readFile.getJSONObject(JsonFieldNames.FAMILIES);
+            List<DescriptionIndex> descriptions = readDescriptionIndexes();
+            setUpMineralTable(mineralJson, descriptions.get(0));
+            setUpFamilyTable(familyJson, descriptions.get(1));
+        } catch (JSONException e) {
+            Diagnostics.getInstance().log(DiagnosticLevel.WARN, () -> "Could not load " + source + ": "
+                    + e.getMessage());
+            throw new InvalidFileException();
+        }
         EventLog.getInstance().logEvent(new Event("Database loaded from: " + source));
 
     }
 
+    // EFFECTS: returns the mineral and then the family description index saved next to source, or two empty
+    //          indexes if there are none or they cannot be read, so that the descriptions are indexed again
+    private List<DescriptionIndex> readDescriptionIndexes() {
+        DescriptionIndexFile indexFile = new DescriptionIndexFile(source);
+        if (indexFile.exists()) {
+            try {
+                return indexFile.read();
+            } catch (IOException | RuntimeException e) {
+                Diagnostics.getInstance().log(DiagnosticLevel.WARN,
+                        () -> "Unreadable description index: " + indexFile.getPath());
+            }
+        }
+        return List.of(new DescriptionIndex(), new DescriptionIndex());
+    }
+
     // REQUIRES: the mineralJson given must be recognizable
     // MODIFIES: this
-    // EFFECTS: adds the entries in mineralJson to mineralTable
+    // EFFECTS: adds the entries in mineralJson to mineralTable, parsing all of their formulas in parallel first
     public void setUpMineralTable(JSONObject mineralJson) {
+        setUpMineralTable(mineralJson, new DescriptionIndex());
+    }
+
+    // REQUIRES: the mineralJson given must be recognizable
+    // MODIFIES: this
+    // EFFECTS: adds the entries in mineralJson to mineralTable as setUpMineralTable does, starting from the
+    //          descriptions already indexed in descriptions if mineralTable is empty
+    public void setUpMineralTable(JSONObject mineralJson, DescriptionIndex descriptions) {
+        List<JSONObject> mineralData = new ArrayList<>();
+        List<String> unparsedFormulas = new ArrayList<>();
         for (String s : JSONObject.getNames(mineralJson)) {
-            Mineral newEntry = setupMineral(mineralJson.getJSONObject(s));
-            mineralTable.getMineralNameTable().put(newEntry.getName(), newEntry);
+            JSONObject data = mineralJson.getJSONObject(s);
+            mineralData.add(data);
+            unparsedFormulas.add(data.getString(JsonFieldNames.FORMULA));
+        }
+        FormulaBatch formulas = FormulaCache.getInstance().getFormulas(unparsedFormulas);
+        List<Mineral> minerals = new ArrayList<>(mineralData.size());
+        for (int i = 0; i < mineralData.size(); i++) {
+            minerals.add(setupMineral(mineralData.get(i), getFormula(formulas, i)));
         }
+        mineralTable.putAll(minerals, descriptions);
     }
 
     // REQUIRES: this given mineralData must be recognizable
     // EFFECTS: returns a new mineral with the fields based on the mineralData
     public Mineral setupMineral(JSONObject mineralData) {
+        return setupMineral(mineralData, getFormula(mineralData.getString(JsonFieldNames.FORMULA)));
+    }
+
+    // REQUIRES: this given mineralData must be recognizable
+    // EFFECTS: returns a new mineral with the given formula and the other fields based on the mineralData
+    public Mineral setupMineral(JSONObject mineralData, Formula formula) {
         Mineral mineral = new Mineral(mineralData.getString(JsonFieldNames.NAME));
         Mineral.fillMineral(mineral,
-                getFormula(mineralData.getString(JsonFieldNames.FORMULA)),
+                formula,
                 CrystalStructure.valueOf(mineralData.getString(JsonFieldNames.CRYSTAL_STRUCTURE)),
                 mineralData.getFloat(JsonFieldNames.HARDNESS),
                 mineralData.getFloat(JsonFieldNames.DENSITY),
@@ -97,10 +151,19 @@ public class TableReader {
     // MODIFIES: this
     // EFFECTS: fills familyTable with the families indicated in familyJson
     public void setUpFamilyTable(JSONObject familyJson) {
+        setUpFamilyTable(familyJson, new DescriptionIndex());
+    }
+
+    // REQUIRES: given familyJson can be parsed
+    // MODIFIES: this
+    // EFFECTS: fills familyTable as setUpFamilyTable does, starting from the descriptions already indexed in
+    //          descriptions if familyTable is empty
+    public void setUpFamilyTable(JSONObject familyJson, DescriptionIndex descriptions) {
+        List<Family> families = new ArrayList<>();
         for (String s : JSONObject.getNames(familyJson)) {
-            Family newFamily = setUpFamily(familyJson.getJSONObject(s));
-            familyTable.getFamilyNameTable().put(newFamily.getName(), newFamily);
+            families.add(setUpFamily(familyJson.getJSONObject(s)));
         }
+        familyTable.putAll(families, descriptions);
     }
 
     // REQUIRES: given familyData can be parsed
@@ -130,13 +193,43 @@ public class TableReader {
         return relatedMinerals;
     }
 
-    // EFFECTS: returns a new Formula based on the mineralFormulaName
+    // EFFECTS: returns the formula parsed at index of formulas
+    //          if its unparsed formula is empty or caused an error, a dummy formula is returned
+    //          throws JSONException if the unparsed formula exceeds the limits on saved formulas
+    private static Formula getFormula(FormulaBatch formulas, int index) {
+        if (!formulas.isParsed(index)) {
+            rejectIfOverLimits(formulas.getFailure(index));
+            warnUnreadable(formulas.getUnparsedFormula(index));
+            return new Formula();
+        }
+        return formulas.getUnparsedFormula(index).isEmpty() ? new Formula() : formulas.getFormula(index);
+    }
+
+    // EFFECTS: returns the shared Formula based on the mineralFormulaName
     //          if mineralFormulaName is empty or causes an error, a dummy formula is returned
+    //          throws JSONException if mineralFormulaName exceeds the limits on saved formulas
     public static Formula getFormula(String mineralFormulaName) {
         try {
-            return mineralFormulaName.isEmpty() ? new Formula() : new Formula(mineralFormulaName);
+            return mineralFormulaName.isEmpty()
+                    ? new Formula()
+                    : FormulaCache.getInstance().getFormula(mineralFormulaName);
         } catch (UnknownElementException e) {
+            rejectIfOverLimits(e);
+            warnUnreadable(mineralFormulaName);
             return new Formula();
         }
     }
+
+    // EFFECTS: throws JSONException if failure is a FormulaLimitException, since no formula the app accepts is
+    //          that long or deeply nested and so the file must be crafted or corrupt
+    private static void rejectIfOverLimits(UnknownElementException failure) {
+        if (failure instanceof FormulaLimitException) {
+            throw new JSONException("Formula over the saved formula limits: " + failure.getMessage());
+        }
+    }
+
+    // EFFECTS: warns through Diagnostics that unparsedFormula could not be read and is loaded as a blank formula
+    private static void warnUnreadable(String unparsedFormula) {
+        Diagnostics.getInstance().log(DiagnosticLevel.WARN, () -> "Unreadable formula: " + unparsedFormula);
+    }
 }
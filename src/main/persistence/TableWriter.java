@@ -9,6 +9,7 @@ import org.json.JSONObject;
 import utils.fieldnames.JsonFieldNames;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
 
 public class TableWriter {
@@ -43,4 +44,12 @@ public class TableWriter {
 
         writer.print(bothTableJson.toString(4));
     }
+
+    // EFFECTS: writes the description indexes of mineralTable and familyTable next to the destination, so that
+    //          loading it does not index every description again
+    //          throws IOException if the index file cannot be written
+    public void writeDescriptionIndexes(WikiEntryTable mineralTable, WikiEntryTable familyTable)
+            throws IOException {
+        new DescriptionIndexFile(destination).write(mineralTable, familyTable);
+    }
 }
@@ -1,18 +1,23 @@
 package ui;
 
 import model.chemicalstructure.Formula;
+import model.chemicalstructure.FormulaCache;
+import model.chemicalstructure.ParseLimits;
 import model.entries.Family;
 import model.entries.Mineral;
 import model.entries.WikiEntry;
 import ui.misc.UserQuery;
 import utils.fieldnames.Attributes;
+import utils.fieldnames.Constants;
 import model.enums.CrystalStructure;
+import model.enums.SimilarityMetric;
 import model.modelexceptions.DuplicationException;
-import model.modelexceptions.EmptyTableException;
 import model.modelexceptions.ItemNotFoundException;
 import model.modelexceptions.UnknownElementException;
 import model.tableentry.FamilyTable;
 import model.tableentry.MineralTable;
+import model.tableentry.SimilarityMatch;
+import model.tableentry.TablePage;
 import model.tableentry.WikiEntryTable;
 import persistence.InvalidFileException;
 import persistence.TableReader;
@@ -36,6 +41,9 @@ import static ui.misc.UserQuery.queryString;
 // Console application that interprets user commands to instructions on model classes
 
 public class MineralWikiConsoleApp {
+    private static final int MAX_SEARCH_RESULTS = 10;
+    private static final int PAGE_SIZE = 20;
+
     private final Scanner scanner;
     private final MineralTable mineralTable;
     private final FamilyTable familyTable;
@@ -59,7 +67,9 @@ public class MineralWikiConsoleApp {
                     + "a: add item\n"
                     + "d: delete item\n"
                     + "e: edit item\n"
+                    + "f: search descriptions\n"
                     + "g: view table\n"
+                    + "s: find similar minerals\n"
                     + "v: view item \n"
                     + "q: quit";
             System.out.println(question);
@@ -115,12 +125,18 @@ public class MineralWikiConsoleApp {
             case "e":
                 editItem();
                 break;
+            case "f":
+                searchDescriptions();
+                break;
             case "g":
                 viewTable();
                 break;
             case "q":
                 quit();
                 break;
+            case "s":
+                findSimilarMinerals();
+                break;
             case "v":
                 viewItem();
                 break;
@@ -137,8 +153,8 @@ public class MineralWikiConsoleApp {
             return;
         }
 
+        String requested = UserQuery.queryString("What would you like to edit?", this.scanner);
         try {
-            String requested = UserQuery.queryString("What would you like to edit?", this.scanner);
             WikiEntry target = table.getRequestedEntry(requested);
             if (table.equals(this.mineralTable)) {
                 System.out.println("Leave entry blank to keep the same");
@@ -148,7 +164,7 @@ public class MineralWikiConsoleApp {
                 setupUserFamily((Family) target);
             }
         } catch (ItemNotFoundException e) {
-            System.out.println("Could not find item");
+            printNotFound("Could not find item", table, requested);
         } catch (NonNumericValueGiven e) {
             System.out.println("Enter a numerical value");
         } catch (UnknownElementException e) {
@@ -175,8 +191,27 @@ public class MineralWikiConsoleApp {
 
     // EFFECTS: prints out family table
     public void viewFamilyTable() {
-        for (WikiEntry family : this.familyTable.getFamilies()) {
-            System.out.println(family.giveAllAttributes());
+        if (!printPages(this.familyTable, Attributes.DEFAULT)) {
+            System.out.println("Your family table is empty!");
+        }
+    }
+
+    // EFFECTS: prints the entries of table in the order of sortAttribute PAGE_SIZE at a time, asking before each
+    //          page after the first, and returns false if the table is empty
+    private boolean printPages(WikiEntryTable table, Attributes sortAttribute) {
+        TablePage page = table.getPage(sortAttribute, 0, PAGE_SIZE);
+        if (page.getEntries().isEmpty()) {
+            return false;
+        }
+        while (true) {
+            for (WikiEntry entry : page.getEntries()) {
+                System.out.println(entry.giveAllAttributes());
+            }
+            if (!page.hasNext() || queryString("Press enter to see more, q to stop", this.scanner)
+                    .equalsIgnoreCase("q")) {
+                return true;
+            }
+            page = table.getPage(sortAttribute, page.getNext(), PAGE_SIZE);
         }
     }
 
@@ -189,15 +224,36 @@ public class MineralWikiConsoleApp {
                             + "2. Cleavage\n"
                             + "3. Hardness\n"
                             + "4. Density\n"
-                            + "5. Index of refraction", this.scanner).toUpperCase());
-            List<Mineral> sortedMineralList = this.mineralTable.getTableSortedBy(groupAttributes);
-            for (WikiEntry mineral : sortedMineralList) {
-                System.out.println(mineral.giveAllAttributes());
+                            + "5. Index of refraction\n"
+                            + "6. Molar mass", this.scanner).toUpperCase());
+            if (!printPages(this.mineralTable, groupAttributes)) {
+                System.out.println("Your mineral table is empty!");
             }
         } catch (IllegalArgumentException e) {
             System.out.println("Unknown attribute");
-        } catch (EmptyTableException e) {
-            System.out.println("Your mineral table is empty!");
+        }
+    }
+
+    // EFFECTS: prints the minerals whose composition is closest to a user given formula
+    public void findSimilarMinerals() {
+        try {
+            Formula formula = FormulaCache.getInstance().getFormula(
+                    queryString("What is the chemical formula of your sample?", this.scanner), ParseLimits.USER_INPUT);
+            String metricResponse = queryString("How should compositions be compared:\n"
+                    + "1. Cosine\n"
+                    + "2. Normalized L1", this.scanner);
+            SimilarityMetric metric = metricResponse.equals("2") || metricResponse.toUpperCase().contains("L1")
+                    ? SimilarityMetric.NORMALIZED_L1 : SimilarityMetric.COSINE;
+            List<SimilarityMatch> matches = mineralTable.getMostSimilarMinerals(formula,
+                    Constants.SIMILAR_MINERAL_COUNT, metric);
+            if (matches.isEmpty()) {
+                System.out.println("No similar minerals found");
+            }
+            for (SimilarityMatch match : matches) {
+                System.out.println(match);
+            }
+        } catch (UnknownElementException e) {
+            System.out.println("Formula is not valid");
         }
     }
 
@@ -221,8 +277,11 @@ public class MineralWikiConsoleApp {
             try {
                 writer.open();
                 writer.writeToDestination(mineralTable, familyTable);
+                writer.writeDescriptionIndexes(mineralTable, familyTable);
             } catch (FileNotFoundException e) {
                 System.out.println("Could not find file");
+            } catch (IOException e) {
+                System.out.println("Could not save description index");
             } finally {
                 writer.close();
             }
@@ -237,12 +296,12 @@ public class MineralWikiConsoleApp {
         if (table == null) {
             return;
         }
-        String removeQuestion = "What is the name of the item you would like to remove?";
+        String removed = queryString("What is the name of the item you would like to remove?", this.scanner);
         try {
-            table.removeEntry(queryString(removeQuestion, this.scanner));
+            table.removeEntry(removed);
             System.out.println("Item removed");
         } catch (ItemNotFoundException e) {
-            System.out.println("Could not delete item");
+            printNotFound("Could not delete item", table, removed);
         }
 
     }
@@ -272,12 +331,38 @@ public class MineralWikiConsoleApp {
             System.out.println(item.giveAllAttributes());
             System.out.println(item.getDescription());
         } catch (ItemNotFoundException e) {
-            System.out.println("Could not find entry");
+            printNotFound("Could not find entry", table, desiredItem);
         }
         queryString("Type anything to continue", this.scanner);
 
     }
 
+    // EFFECTS: prints the entries of a user chosen table whose descriptions best match user given words
+    public void searchDescriptions() {
+        WikiEntryTable table = getCorrectTable();
+        if (table == null) {
+            return;
+        }
+        String query = queryString("What words would you like to search the descriptions for?", this.scanner);
+        List<WikiEntry> matches = table.searchDescriptions(query, MAX_SEARCH_RESULTS);
+        if (matches.isEmpty()) {
+            System.out.println("No description matches");
+        }
+        for (WikiEntry match : matches) {
+            System.out.println(match.getName() + ": " + match.getDescription());
+        }
+    }
+
+    // EFFECTS: prints message followed by the names in table closest to the requested name, if there are any
+    private void printNotFound(String message, WikiEntryTable table, String requested) {
+        System.out.println(message);
+        String suggestions = UserQuery.describeSuggestions(
+                table.getNameSuggestions(requested, UserQuery.MAX_SUGGESTIONS));
+        if (!suggestions.isEmpty()) {
+            System.out.println(suggestions);
+        }
+    }
+
 
     // MODIFIES: this
     // EFFECTS: creates and adds new mineral or family to mainTable
@@ -314,7 +399,8 @@ public class MineralWikiConsoleApp {
     public Family setupUserFamily(Family startFamily) throws UnknownElementException {
         List<WikiEntry> familyMinerals = queryFamilyMinerals();
         String description = queryString("Please enter a quick description", this.scanner);
-        Formula familyFormula = new Formula(queryString("What is the chemical formula", this.scanner));
+        Formula familyFormula = FormulaCache.getInstance().getFormula(
+                queryString("What is the chemical formula", this.scanner), ParseLimits.USER_INPUT);
         Family.fillFamily(
                 startFamily,
                 familyFormula,
@@ -329,15 +415,15 @@ public class MineralWikiConsoleApp {
         List<WikiEntry> familyMinerals = new ArrayList<>();
         boolean doneEntering = false;
         while (!doneEntering) {
+            String request = queryString("What mineral would you like to link to this? (q to stop)", this.scanner);
             try {
-                String request = queryString("What mineral would you like to link to this? (q to stop)", this.scanner);
                 if (request.equalsIgnoreCase("q")) {
                     doneEntering = true;
                     continue;
                 }
                 familyMinerals.add(mineralTable.getRequestedEntry(request));
             } catch (ItemNotFoundException e) {
-                System.out.println("Could not find mineral");
+                printNotFound("Could not find mineral", mineralTable, request);
             }
         }
         return familyMinerals;
@@ -371,7 +457,8 @@ public class MineralWikiConsoleApp {
     public Mineral setupUserMineral(Mineral startMineral)
             throws UnknownElementException, NonNumericValueGiven, IllegalArgumentException {
         String description = queryString("Please enter a quick description about your mineral:", this.scanner);
-        Formula formula = new Formula(queryString("What is the chemical formula?: ", this.scanner));
+        Formula formula = FormulaCache.getInstance().getFormula(
+                queryString("What is the chemical formula?: ", this.scanner), ParseLimits.USER_INPUT);
         CrystalStructure crystalStructure = CrystalStructure.valueOf(queryString(
                 "What is the crystalline Structure?: ", this.scanner).toUpperCase());
         Float indexOfRefraction = queryFloat("What is the mineral index of refraction?: ", this.scanner);
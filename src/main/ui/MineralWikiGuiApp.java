@@ -8,6 +8,8 @@ import model.logging.EventLog;
 import model.modelexceptions.ItemNotFoundException;
 import model.tableentry.FamilyTable;
 import model.tableentry.MineralTable;
+import model.logging.DiagnosticLevel;
+import model.logging.Diagnostics;
 import sun.awt.WindowClosingListener;
 import ui.misc.UserQuery;
 import ui.additionmenu.familyaddition.FamilyQueryHandler;
@@ -109,7 +111,8 @@ public class MineralWikiGuiApp extends WindowAdapter implements ClickObserver {
         if (selectedItem instanceof Mineral) {
             Mineral updatedMineral = MineralQueryHandler.queryEditMineral((Mineral) selectedItem);
             mineralTableView.getModel().updateValues();
-            System.out.println(Arrays.toString(updatedMineral.giveAttributeAsObjects()));
+            Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, () -> "Edited mineral: "
+                    + Arrays.toString(updatedMineral.giveAttributeAsObjects()));
             itemView.updateDisplayPage(updatedMineral);
         } else if (selectedItem instanceof Family) {
             Family updatedFamily = FamilyQueryHandler.queryEditFamily((Family) selectedItem, mineralTable);
@@ -159,16 +162,18 @@ public class MineralWikiGuiApp extends WindowAdapter implements ClickObserver {
     @Override
     public void update() {
         itemView.updateDisplayPage(ClickedItemHandler.getInstance().getClickedItem());
-        System.out.println(Arrays.toString(ClickedItemHandler.getInstance().getClickedItem().giveAttributeAsObjects()));
+        Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, () -> "Showing item: "
+                + Arrays.toString(ClickedItemHandler.getInstance().getClickedItem().giveAttributeAsObjects()));
         switchableWindowPanel.showPanel(WindowNames.ITEM_PAGE);
     }
 
     @Override
     public void windowClosing(WindowEvent e) {
-        System.out.println("Goodbye");
+        Diagnostics diagnostics = Diagnostics.getInstance();
+        diagnostics.log(DiagnosticLevel.INFO, "Goodbye");
         Iterator<Event> events = EventLog.getInstance().iterator();
         while (events.hasNext()) {
-            System.out.println(events.next().toString());
+            diagnostics.log(DiagnosticLevel.INFO, events.next().toString());
         }
         System.exit(0);
     }
@@ -1,5 +1,8 @@
 package ui.additionmenu.familyaddition;
 
+import model.tableentry.WikiEntryTable;
+import ui.misc.NameCompleter;
+
 import javax.swing.*;
 import java.awt.event.ActionListener;
 
@@ -30,6 +33,12 @@ public class AdditionPanel extends JToolBar {
         addButton.addActionListener(listener);
     }
 
+    // MODIFIES: this
+    // EFFECTS: completes the names typed in nameBox from the names in table
+    public void completeNamesFrom(WikiEntryTable table) {
+        new NameCompleter(nameBox, table::getNameCompletions);
+    }
+
     // MODIFIES: this
     // EFFECTS: clears the nameBox text
     public void clearText() {
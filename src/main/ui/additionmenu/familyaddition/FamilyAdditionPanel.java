@@ -3,6 +3,7 @@ package ui.additionmenu.familyaddition;
 
 import model.entries.Family;
 import model.entries.WikiEntry;
+import model.tableentry.WikiEntryTable;
 import ui.misc.DescendantMenu;
 import utils.fieldnames.AttributeNames;
 
@@ -21,11 +22,11 @@ public class FamilyAdditionPanel extends JPanel {
 
     GridBagConstraints constraints;
 
-    // EFFECTS: Constructs new FamilyAdditionPanel
-    public FamilyAdditionPanel() {
+    // EFFECTS: Constructs new FamilyAdditionPanel, completing descendant names from mineralTable
+    public FamilyAdditionPanel(WikiEntryTable mineralTable) {
         familyName = new JTextField(8);
         familyFormula = new JTextField(12);
-        descendantAdditionMenu = new DescendantMenu(2);
+        descendantAdditionMenu = new DescendantMenu(2, mineralTable);
         description = new JTextArea(6, 30);
         description.setLineWrap(true);
 
@@ -1,6 +1,8 @@
 package ui.additionmenu.familyaddition;
 
 import model.chemicalstructure.Formula;
+import model.chemicalstructure.FormulaCache;
+import model.chemicalstructure.ParseLimits;
 import model.entries.Family;
 import model.entries.WikiEntry;
 import model.modelexceptions.ItemNotFoundException;
@@ -19,7 +21,7 @@ public class FamilyQueryHandler {
 
     // EFFECTS: Makes FamilyAdditionPanel and returns the user specified Family
     public static Family queryAddFamily(WikiEntryTable mineralTable) {
-        FamilyAdditionPanel panel = new FamilyAdditionPanel();
+        FamilyAdditionPanel panel = new FamilyAdditionPanel(mineralTable);
         try {
             return queryFamily(panel, "Specify your Family!", mineralTable, null);
         } catch (BlankNameException e) {
@@ -60,7 +62,7 @@ public class FamilyQueryHandler {
 
     // EFFECTS: prompts addition configured with family attributes
     public static Family queryEditFamily(Family family, WikiEntryTable mineralTable) {
-        FamilyAdditionPanel additionPanel = new FamilyAdditionPanel();
+        FamilyAdditionPanel additionPanel = new FamilyAdditionPanel(mineralTable);
         additionPanel.configurePanelBy(family);
         try {
             return queryFamily(additionPanel, "Edit your Family!", mineralTable, family);
@@ -69,6 +71,18 @@ public class FamilyQueryHandler {
         }
     }
 
+    // EFFECTS: returns the mineral named related; if there is none, offers the closest mineral names and returns
+    //          the one picked, or null if the user cancels or no name is close
+    private static WikiEntry findDescendant(WikiEntryTable mineralTable, String related) {
+        try {
+            return mineralTable.getRequestedEntry(related);
+        } catch (ItemNotFoundException e) {
+            String chosen = UserQuery.chooseSuggestion("Could not find mineral with name:\n" + related,
+                    mineralTable.getNameSuggestions(related, UserQuery.MAX_SUGGESTIONS));
+            return chosen == null ? null : findDescendant(mineralTable, chosen);
+        }
+    }
+
     // EFFECTS: fills newFamily with attributes in panel
     private static void populateFamilyFields(FamilyAdditionPanel panel,
                                              Family newFamily,
@@ -78,17 +92,16 @@ public class FamilyQueryHandler {
         String description = panel.getDescription();
 
         try {
-            formula = new Formula(panel.getFormula());
+            formula = FormulaCache.getInstance().getFormula(panel.getFormula(), ParseLimits.USER_INPUT);
         } catch (UnknownElementException e) {
             UserQuery.showErrorMessage("Unknown Formula Defaulting to blank");
             formula = new Formula();
         }
 
         for (String related : panel.getDescendants()) {
-            try {
-                descendants.add(mineralTable.getRequestedEntry(related));
-            } catch (ItemNotFoundException e) {
-                UserQuery.showErrorMessage("Could not find mineral with name:\n" + related);
+            WikiEntry descendant = findDescendant(mineralTable, related);
+            if (descendant != null) {
+                descendants.add(descendant);
             }
         }
 
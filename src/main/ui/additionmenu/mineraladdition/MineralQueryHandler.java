@@ -1,10 +1,14 @@
 package ui.additionmenu.mineraladdition;
 
 import model.chemicalstructure.Formula;
+import model.chemicalstructure.FormulaCache;
+import model.chemicalstructure.ParseLimits;
 import model.entries.Mineral;
 import model.enums.Cleavage;
 import model.enums.CrystalStructure;
 import model.modelexceptions.UnknownElementException;
+import model.logging.DiagnosticLevel;
+import model.logging.Diagnostics;
 import ui.uiexceptions.BlankNameException;
 import ui.misc.UserQuery;
 
@@ -54,7 +58,8 @@ public class MineralQueryHandler {
     // EFFECTS: edits mineral
     public static Mineral queryEditMineral(Mineral mineral) {
         MineralAdditionPanel panel = new MineralAdditionPanel();
-        System.out.println(Arrays.toString(mineral.giveAttributeAsObjects()));
+        Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, () -> "Editing mineral: "
+                + Arrays.toString(mineral.giveAttributeAsObjects()));
         panel.setFields(mineral);
         try {
             return queryMineral(panel, "Make your Changes!", mineral);
@@ -100,8 +105,8 @@ public class MineralQueryHandler {
     private static Formula getFormula(MineralAdditionPanel panel) {
         Formula formula;
         try {
-            formula = new Formula(panel.getFormula());
-            System.out.println(panel.getFormula());
+            formula = FormulaCache.getInstance().getFormula(panel.getFormula(), ParseLimits.USER_INPUT);
+            Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, () -> "Formula entered: " + panel.getFormula());
         } catch (UnknownElementException e) {
             UserQuery.showErrorMessage("Could not Understand formula \n Defaulting to blank formula");
             formula = new Formula();
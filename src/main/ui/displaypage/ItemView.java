@@ -3,6 +3,8 @@ package ui.displaypage;
 import model.entries.Family;
 import model.entries.Mineral;
 import model.entries.WikiEntry;
+import model.logging.DiagnosticLevel;
+import model.logging.Diagnostics;
 
 import javax.swing.*;
 import java.awt.*;
@@ -49,7 +51,7 @@ public class ItemView extends JPanel {
         } else if (entry instanceof Family) {
             page = new FamilyDisplayPage((Family) entry);
         }
-        System.out.println("Updating");
+        Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, "Updating item view");
         add(page, BorderLayout.CENTER);
         updateUI();
     }
@@ -128,8 +128,10 @@ public class MineralDisplayPage extends DisplayPage {
                 String.valueOf(mineral.getHardness())};
         String[] density = new String[]{AttributeNames.DENSITY + " (g/cm^3)",
                 String.valueOf(mineral.getDensity())};
+        String[] molarMass = new String[]{AttributeNames.MOLAR_MASS + " (g/mol)",
+                String.format("%.3f", mineral.getGeneralFormula().getMolarMass())};
 
-        return new String[][]{hardness, ior, density};
+        return new String[][]{hardness, ior, density, molarMass};
     }
 
 }
@@ -1,5 +1,7 @@
 package ui.misc;
 
+import model.logging.DiagnosticLevel;
+import model.logging.Diagnostics;
 import utils.fieldnames.PropertyNames;
 
 import javax.swing.*;
@@ -24,7 +26,7 @@ public class CardPanel extends JPanel {
 
     // getters
     public String getActivePanelName() {
-        System.out.println(activePanel.getName());
+        Diagnostics.getInstance().log(DiagnosticLevel.TRACE, () -> "Active panel: " + activePanel.getName());
         return activePanel.getName();
     }
 
@@ -1,6 +1,7 @@
 package ui.misc;
 
 import model.entries.WikiEntry;
+import model.tableentry.WikiEntryTable;
 import ui.additionmenu.familyaddition.AddedItemBox;
 import ui.additionmenu.familyaddition.AdditionPanel;
 import ui.displaypage.EntryHyperLink;
@@ -50,6 +51,12 @@ public class DescendantMenu extends JPanel {
 
     }
 
+    // Constructor for Descendant Panel used in FamilyAdditionPanel, completing typed names from completionTable
+    public DescendantMenu(int rowCount, WikiEntryTable completionTable) {
+        this(rowCount);
+        additionPanel.completeNamesFrom(completionTable);
+    }
+
     // Constructor used for FamilyDisplayPanel
     public DescendantMenu(int rowCount, List<WikiEntry> entries) {
         this(rowCount);
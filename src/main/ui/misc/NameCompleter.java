@@ -0,0 +1,82 @@
+package ui.misc;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.List;
+import java.util.function.BiFunction;
+
+// Shows the entry names completing the text of a field in a popup below it as the user types
+
+public class NameCompleter implements DocumentListener {
+    public static final int MAX_COMPLETIONS = 8;
+
+    private final JTextField field;
+    private final BiFunction<String, Integer, List<String>> completions;
+    private final JPopupMenu popup;
+    private boolean completing;
+
+    // EFFECTS: constructs a completer offering at most MAX_COMPLETIONS of the names completions gives for the
+    //          text of field and a limit
+    public NameCompleter(JTextField field, BiFunction<String, Integer, List<String>> completions) {
+        this.field = field;
+        this.completions = completions;
+        this.popup = new JPopupMenu();
+        popup.setFocusable(false);
+        field.getDocument().addDocumentListener(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: refreshes the completions once the current edit of the field is done
+    private void textChanged() {
+        if (!completing) {
+            SwingUtilities.invokeLater(this::showCompletions);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the completions of the field text, hides the popup if there are none or the text is blank
+    private void showCompletions() {
+        popup.setVisible(false);
+        popup.removeAll();
+        String text = field.getText();
+        if (text.trim().isEmpty() || !field.isShowing()) {
+            return;
+        }
+        List<String> names = completions.apply(text, MAX_COMPLETIONS);
+        if (names.isEmpty() || names.size() == 1 && names.get(0).equals(text)) {
+            return;
+        }
+        for (String name : names) {
+            JMenuItem item = new JMenuItem(name);
+            item.addActionListener(e -> complete(name));
+            popup.add(item);
+        }
+        popup.show(field, 0, field.getHeight());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the field text to name and hides the popup
+    private void complete(String name) {
+        completing = true;
+        field.setText(name);
+        completing = false;
+        popup.setVisible(false);
+        field.requestFocusInWindow();
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        textChanged();
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        textChanged();
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        textChanged();
+    }
+}
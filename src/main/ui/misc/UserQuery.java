@@ -4,9 +4,12 @@ import ui.uiexceptions.NonNumericValueGiven;
 
 import javax.swing.*;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
 
 public class UserQuery {
+    public static final int MAX_SUGGESTIONS = 5;
+
     // EFFECTS: returns user input for a specified query returns "NA" if entry is blank
     public static String queryString(String userQuestion, Scanner scanner) {
         System.out.println(userQuestion);
@@ -36,4 +39,24 @@ public class UserQuery {
     public static void showErrorMessage(String message) {
         JOptionPane.showMessageDialog(null, message);
     }
+
+    // EFFECTS: returns a line offering the suggested names in order, or an empty string if there are none
+    public static String describeSuggestions(List<String> suggestions) {
+        if (suggestions.isEmpty()) {
+            return "";
+        }
+        return "Did you mean: " + String.join(", ", suggestions) + "?";
+    }
+
+    // EFFECTS: shows message in a popup letting the user pick one of suggestions, returns the picked name or null
+    //          if the user cancels; shows message as an error and returns null if there are no suggestions
+    public static String chooseSuggestion(String message, List<String> suggestions) {
+        if (suggestions.isEmpty()) {
+            showErrorMessage(message);
+            return null;
+        }
+        Object[] options = suggestions.toArray();
+        return (String) JOptionPane.showInputDialog(null, message + "\nDid you mean:", "Entry not found",
+                JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+    }
 }
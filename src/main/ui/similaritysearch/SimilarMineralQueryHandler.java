@@ -0,0 +1,66 @@
+package ui.similaritysearch;
+
+import model.chemicalstructure.Formula;
+import model.chemicalstructure.FormulaCache;
+import model.chemicalstructure.ParseLimits;
+import model.enums.SimilarityMetric;
+import model.modelexceptions.UnknownElementException;
+import model.tableentry.MineralTable;
+import model.tableentry.SimilarityMatch;
+import ui.clickeditemhandler.ClickedItemHandler;
+import ui.misc.UserQuery;
+import utils.fieldnames.Constants;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+// Class for handling queries for the minerals closest in composition to a user given formula
+
+public class SimilarMineralQueryHandler {
+
+    // MODIFIES: ClickedItemHandler
+    // EFFECTS: asks user for a formula and a metric, shows the closest minerals in table and sets the
+    //          chosen one as the clicked item
+    public static void querySimilarMinerals(MineralTable table) {
+        JTextField formulaField = new JTextField(20);
+        JComboBox<SimilarityMetric> metricBox = new JComboBox<>(SimilarityMetric.values());
+        JPanel panel = new JPanel(new GridLayout(2, 2));
+        panel.add(new JLabel("Formula"));
+        panel.add(formulaField);
+        panel.add(new JLabel("Compare by"));
+        panel.add(metricBox);
+
+        int userResponse = JOptionPane.showConfirmDialog(null, panel, "Find similar minerals",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE, null);
+        if (userResponse != JOptionPane.OK_OPTION) {
+            return;
+        }
+        try {
+            Formula formula = FormulaCache.getInstance().getFormula(formulaField.getText(), ParseLimits.USER_INPUT);
+            List<SimilarityMatch> matches = table.getMostSimilarMinerals(formula,
+                    Constants.SIMILAR_MINERAL_COUNT, (SimilarityMetric) metricBox.getSelectedItem());
+            if (matches.isEmpty()) {
+                UserQuery.showErrorMessage("No similar minerals found");
+            } else {
+                showMatches(matches);
+            }
+        } catch (UnknownElementException e) {
+            UserQuery.showErrorMessage("Formula is not valid");
+        }
+    }
+
+    // MODIFIES: ClickedItemHandler
+    // EFFECTS: shows matches closest first and sets the mineral of the selected match as the clicked item
+    private static void showMatches(List<SimilarityMatch> matches) {
+        JList<SimilarityMatch> matchList = new JList<>(matches.toArray(new SimilarityMatch[0]));
+        matchList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        matchList.setSelectedIndex(0);
+        int userResponse = JOptionPane.showConfirmDialog(null, new JScrollPane(matchList),
+                "Closest minerals, choose one to view",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE, null);
+        if (userResponse == JOptionPane.OK_OPTION && matchList.getSelectedValue() != null) {
+            ClickedItemHandler.getInstance().setClickedItem(matchList.getSelectedValue().getMineral());
+        }
+    }
+}
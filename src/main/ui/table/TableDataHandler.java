@@ -7,20 +7,37 @@ import model.modelexceptions.EmptyTableException;
 import model.modelexceptions.ItemNotFoundException;
 import model.tableentry.FamilyTable;
 import model.tableentry.MineralTable;
+import model.tableentry.TableCursor;
+import model.tableentry.TablePage;
 import model.tableentry.WikiEntryTable;
 import utils.fieldnames.AttributeNames;
 import utils.fieldnames.Attributes;
 
 import javax.swing.table.AbstractTableModel;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 // Data Handler for TableView
+//
+// Rows are read from the table a page at a time as the view shows them, and only the last CACHED_PAGES pages
+// are kept, so that memory stays flat however large the table is. The cursor after each page read is kept to
+// read the next one by seeking the sort order, while pages reached by jumping are read by offset. Reversed rows
+// are read in pages of their own, in descending order from the end of the table, so that scrolling them seeks the
+// sort order the same way. Pages are kept across refreshes for as long as the version of the table stays the same
 
 public class TableDataHandler extends AbstractTableModel {
+    public static final int PAGE_SIZE = 256;
+    private static final int CACHED_PAGES = 16;
 
     private final String[] colNames;
-    private String[][] tableValues;
+    // pages and their ends by page number, and by -1 - page number for reversed pages
+    private final Map<Integer, TablePage> pages;
+    private final Map<Integer, TableCursor> pageEnds;
+    private int rowCount;
+    private long pagesVersion;
+    private boolean reversed;
 
     private final WikiEntryTable table;
     private Attributes sortOrder;
@@ -28,7 +45,7 @@ public class TableDataHandler extends AbstractTableModel {
     // EFFECTS: sets up tableData from given table
     public TableDataHandler(WikiEntryTable table) {
         if (table instanceof MineralTable) {
-            this.colNames = AttributeNames.MINERAL_ATTRIBUTE_NAMES;
+            this.colNames = AttributeNames.MINERAL_COLUMN_NAMES;
         } else if (table instanceof FamilyTable) {
             this.colNames = AttributeNames.FAMILY_ATTRIBUTE_NAMES;
         } else {
@@ -37,15 +54,21 @@ public class TableDataHandler extends AbstractTableModel {
 
         this.table = table;
         sortOrder = Attributes.DEFAULT;
-        tableValues = table.getTableAsArray(sortOrder);
-
-
+        this.pages = new LinkedHashMap<>(CACHED_PAGES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, TablePage> eldest) {
+                return size() > CACHED_PAGES;
+            }
+        };
+        this.pageEnds = new HashMap<>();
+        this.rowCount = table.size();
+        this.pagesVersion = table.getVersion();
     }
 
     //getters
     @Override
     public int getRowCount() {
-        return tableValues.length;
+        return rowCount;
     }
 
     @Override
@@ -55,7 +78,38 @@ public class TableDataHandler extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        return tableValues[rowIndex][columnIndex];
+        return rowAt(rowIndex)[columnIndex];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the row shown at rowIndex, or a blank row if the table has shrunk since the last refresh
+    private String[] rowAt(int rowIndex) {
+        String[][] rows = pageAt(rowIndex / PAGE_SIZE).getRows();
+        int index = rowIndex % PAGE_SIZE;
+        if (index < rows.length) {
+            return rows[index];
+        }
+        String[] blankRow = new String[colNames.length];
+        Arrays.fill(blankRow, "");
+        return blankRow;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the page numbered pageNumber in sortOrder, descending if reversed, from the cache or read
+    //          after the end of the page before it if that is known, and by offset otherwise
+    private TablePage pageAt(int pageNumber) {
+        int key = reversed ? -1 - pageNumber : pageNumber;
+        TablePage page = pages.get(key);
+        if (page == null) {
+            TableCursor after = pageNumber == 0 ? null : pageEnds.get(reversed ? key + 1 : key - 1);
+            page = after != null ? table.getPage(sortOrder, after, PAGE_SIZE, reversed)
+                    : table.getPage(sortOrder, pageNumber * PAGE_SIZE, PAGE_SIZE, reversed);
+            pages.put(key, page);
+            if (page.hasNext()) {
+                pageEnds.put(key, page.getNext());
+            }
+        }
+        return page;
     }
 
     @Override
@@ -77,12 +131,25 @@ public class TableDataHandler extends AbstractTableModel {
     }
 
     // MODIFIES: this
-    // EFFECTS: refreshes the table data based on current sortOrder
+    // EFFECTS: refreshes the table data based on current sortOrder, dropping the pages read so far if the table
+    //          has changed since they were read
     public void updateValues() {
-        tableValues = table.getTableAsArray(sortOrder);
+        long version = table.getVersion();
+        if (version != pagesVersion) {
+            dropPages();
+            pagesVersion = version;
+        }
         fireTableDataChanged();
     }
 
+    // MODIFIES: this
+    // EFFECTS: drops the pages read so far and reads the row count again
+    private void dropPages() {
+        pages.clear();
+        pageEnds.clear();
+        rowCount = table.size();
+    }
+
     // MODIFIES: this
     // EFFECTS: adds given entry to table and updates view
     public void addEntry(WikiEntry userMineral) throws DuplicationException {
@@ -102,21 +169,18 @@ public class TableDataHandler extends AbstractTableModel {
     public void sortAndUpdate(Attributes sortOrder) {
         if (this.sortOrder != sortOrder) {
             this.sortOrder = sortOrder;
-            updateValues();
+            reversed = false;
+            dropPages();
+            fireTableDataChanged();
         } else {
             reverseData();
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: reverses row order
+    // EFFECTS: reverses row order, keeping the pages read in either order
     public void reverseData() {
-        String[][] tempData = new String[tableValues.length][];
-        for (int i = 0; i < tableValues.length; i++) {
-            tempData[tableValues.length - i - 1] = tableValues[i];
-        }
-        tableValues = tempData;
+        reversed = !reversed;
         fireTableDataChanged();
-
     }
 }
@@ -3,6 +3,8 @@ package ui.table;
 import model.entries.WikiEntry;
 import model.modelexceptions.ItemNotFoundException;
 import model.tableentry.WikiEntryTable;
+import model.logging.DiagnosticLevel;
+import model.logging.Diagnostics;
 import ui.clickeditemhandler.ClickedItemHandler;
 import ui.misc.UserQuery;
 import utils.fieldnames.AttributeNames;
@@ -54,6 +56,8 @@ public class TableView extends JScrollPane {
                 break;
             case AttributeNames.DENSITY: handler.sortAndUpdate(Attributes.DENSITY);
                 break;
+            case AttributeNames.MOLAR_MASS: handler.sortAndUpdate(Attributes.MOLAR_MASS);
+                break;
             case AttributeNames.NAME: handler.sortAndUpdate(Attributes.DEFAULT);
                 break;
             default:
@@ -97,14 +101,15 @@ public class TableView extends JScrollPane {
         @Override
         public void mousePressed(MouseEvent e) {
             Point clickPoint = e.getPoint();
-            System.out.println("Click");
+            Diagnostics.getInstance().log(DiagnosticLevel.TRACE, "Table clicked");
             int column = viewTable.columnAtPoint(clickPoint);
             if (viewTable.getColumnName(column).equals(AttributeNames.NAME)) {
                 int row = viewTable.rowAtPoint(clickPoint);
                 String nameAtPoint = (String) viewTable.getValueAt(row, column);
                 try {
                     WikiEntry clickedItem = handler.getEntry(nameAtPoint);
-                    System.out.println(Arrays.toString(clickedItem.giveAttributeAsObjects()));
+                    Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, () -> "Clicked item: "
+                            + Arrays.toString(clickedItem.giveAttributeAsObjects()));
                     ClickedItemHandler.getInstance().setClickedItem(clickedItem);
                     /* firePropertyChange(PropertyNames.ITEM_CLICKED, true, false); */
                 } catch (ItemNotFoundException ex) {
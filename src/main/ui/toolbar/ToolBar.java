@@ -3,16 +3,24 @@ package ui.toolbar;
 import model.entries.Family;
 import model.entries.Mineral;
 import model.modelexceptions.DuplicationException;
+import model.modelexceptions.ItemNotFoundException;
+import model.tableentry.EditDistance;
 import model.tableentry.FamilyTable;
+import model.tableentry.FuzzyNameIndex;
 import model.tableentry.MineralTable;
+import model.logging.DiagnosticLevel;
+import model.logging.Diagnostics;
 import persistence.InvalidFileException;
 import persistence.TableReader;
 import persistence.TableWriter;
+import ui.clickeditemhandler.ClickedItemHandler;
 import ui.misc.CardPanel;
+import ui.misc.NameCompleter;
 import ui.additionmenu.QuerySelector;
 import ui.additionmenu.familyaddition.FamilyQueryHandler;
 import ui.additionmenu.mineraladdition.MineralQueryHandler;
 import ui.filebrowser.LoadSavePopupMenu;
+import ui.similaritysearch.SimilarMineralQueryHandler;
 import ui.table.TableDataHandler;
 import ui.misc.UserQuery;
 import utils.fieldnames.PropertyNames;
@@ -26,6 +34,11 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 // Toolbar with important buttons
 
@@ -48,6 +61,7 @@ public class ToolBar extends JPanel {
     private JButton editButton;
     private JButton deleteButton;
     private JButton itemViewButton;
+    private JButton similarButton;
 
     // EFFECTS: constructs new Toolbar
     public ToolBar(TableDataHandler mineralTableView, TableDataHandler familyTableView,
@@ -75,14 +89,16 @@ public class ToolBar extends JPanel {
         addTableViewButton();
         toolBar.addSeparator();
         addItemViewButton();
-        toolBar.add(Box.createHorizontalStrut(850));
+        toolBar.addSeparator();
+        addSimilarButton();
+        toolBar.add(Box.createHorizontalStrut(460));
         addAddButton();
         toolBar.addSeparator();
         addEditButton();
         toolBar.addSeparator();
         addDeleteButton();
         toolBar.add(Box.createHorizontalStrut(60));
-        //addSearchSection();
+        addSearchSection();
     }
 
     // MODIFIES: this
@@ -101,6 +117,15 @@ public class ToolBar extends JPanel {
         toolBar.add(itemViewButton);
     }
 
+    // MODIFIES: this
+    // EFFECTS: configures and adds Find Similar button to ToolBar
+    private void addSimilarButton() {
+        similarButton = new JButton("Find Similar");
+        similarButton.addActionListener(e -> SimilarMineralQueryHandler.querySimilarMinerals(
+                (MineralTable) mineralTableView.getTable()));
+        toolBar.add(similarButton);
+    }
+
     // MODIFES: this
     // EFFECTS: configures and adds Add button to Toolbar
     private void addAddButton() {
@@ -134,9 +159,13 @@ public class ToolBar extends JPanel {
         toolBar.add(deleteButton);
     }
 
-    // Not used
+    // MODIFIES: this
+    // EFFECTS: configures and adds the search box, completing mineral and family names, and search button to
+    //          ToolBar
     private void addSearchSection() {
-        searchBox = new JTextField(20);
+        searchBox = new JTextField(15);
+        new NameCompleter(searchBox, this::completeName);
+        searchBox.addActionListener(new SearchButtonListener());
         toolBar.add(searchBox);
         toolBar.addSeparator();
 
@@ -146,6 +175,15 @@ public class ToolBar extends JPanel {
 
     }
 
+    // EFFECTS: returns at most limit mineral and family names starting with prefix, ignoring case, in alphabetical
+    //          order
+    private List<String> completeName(String prefix, int limit) {
+        List<String> names = new ArrayList<>(mineralTableView.getTable().getNameCompletions(prefix, limit));
+        names.addAll(familyTableView.getTable().getNameCompletions(prefix, limit));
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        return names.subList(0, Math.min(limit, names.size()));
+    }
+
     // MODIFIES: this, mineralTableView
     // EFFECTS: adds user configured mineral to mineralTableView
     private void addMineral() {
@@ -197,7 +235,7 @@ public class ToolBar extends JPanel {
             UserQuery.showErrorMessage("File Error");
         }
         savePath = menu.getLoadPath();
-        System.out.println("Loading" + menu.getLoadPath());
+        Diagnostics.getInstance().log(DiagnosticLevel.INFO, () -> "Loading " + menu.getLoadPath());
     }
 
     // EFFECTS: writes tables to .json file in savePath
@@ -207,7 +245,7 @@ public class ToolBar extends JPanel {
             return;
         }
 
-        System.out.println(savePath);
+        Diagnostics.getInstance().log(DiagnosticLevel.INFO, () -> "Saving " + savePath);
         TableWriter writer = new TableWriter(savePath);
         try {
             writer.open();
@@ -216,6 +254,11 @@ public class ToolBar extends JPanel {
         }
         writer.writeToDestination(mineralTableView.getTable(), familyTableView.getTable());
         writer.close();
+        try {
+            writer.writeDescriptionIndexes(mineralTableView.getTable(), familyTableView.getTable());
+        } catch (IOException e) {
+            Diagnostics.getInstance().log(DiagnosticLevel.WARN, () -> "Could not save description index");
+        }
     }
 
     // Listener class for File Button clicks
@@ -236,12 +279,51 @@ public class ToolBar extends JPanel {
 
     }
 
-    // Not used
+    // Listener class for searches from the search box
     protected class SearchButtonListener implements ActionListener {
 
+        // MODIFIES: ClickedItemHandler
+        // EFFECTS: shows the mineral or family named in the search box; if there is none, offers the closest names
+        //          and shows the one picked, or an error if no name is close
         @Override
         public void actionPerformed(ActionEvent e) {
-            System.out.println(searchBox.getText());
+            String name = searchBox.getText().trim();
+            Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, () -> "Search: " + name);
+            if (!showEntry(name)) {
+                String chosen = UserQuery.chooseSuggestion("Could not find entry with name:\n" + name,
+                        suggestionsFor(name));
+                if (chosen != null) {
+                    showEntry(chosen);
+                }
+            }
+        }
+
+        // MODIFIES: ClickedItemHandler
+        // EFFECTS: shows the mineral or family with the given name, returns false if there is none
+        private boolean showEntry(String name) {
+            for (TableDataHandler view : List.of(mineralTableView, familyTableView)) {
+                try {
+                    ClickedItemHandler.getInstance().setClickedItem(view.getTable().getRequestedEntry(name));
+                    return true;
+                } catch (ItemNotFoundException ignored) {
+                    // Not in this table
+                }
+            }
+            return false;
+        }
+
+        // EFFECTS: returns at most UserQuery.MAX_SUGGESTIONS mineral and family names close to name, closest first
+        private List<String> suggestionsFor(String name) {
+            EditDistance distance = new EditDistance(name.toLowerCase(Locale.ROOT));
+            List<String> suggestions = new ArrayList<>();
+            for (TableDataHandler view : List.of(mineralTableView, familyTableView)) {
+                suggestions.addAll(view.getTable().getNameSuggestions(name, UserQuery.MAX_SUGGESTIONS));
+            }
+            return suggestions.stream().distinct()
+                    .sorted(Comparator.comparingInt(suggestion ->
+                            distance.to(suggestion.toLowerCase(Locale.ROOT), FuzzyNameIndex.MAX_DISTANCE)))
+                    .limit(UserQuery.MAX_SUGGESTIONS)
+                    .collect(Collectors.toList());
         }
     }
 
@@ -254,11 +336,11 @@ public class ToolBar extends JPanel {
             switch (QuerySelector.chooseOption()) {
                 case FAMILY:
                     addFamily();
-                    System.out.println("Family");
+                    Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, "Family addition chosen");
                     break;
                 case MINERAL:
                     addMineral();
-                    System.out.println("Mineral");
+                    Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, "Mineral addition chosen");
                     break;
             }
 
@@ -271,8 +353,7 @@ public class ToolBar extends JPanel {
         @Override
         public void propertyChange(PropertyChangeEvent evt) {
             boolean enabled = !windows.getActivePanelName().equals(WindowNames.TABLE_PAGE);
-            System.out.println(evt.getPropertyName());
-            System.out.println("Something has changed");
+            Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, () -> "Window changed: " + evt.getPropertyName());
 
             editButton.setEnabled(enabled);
             deleteButton.setEnabled(enabled);
@@ -294,7 +375,7 @@ public class ToolBar extends JPanel {
                     JOptionPane.YES_NO_OPTION);
 
             if (result == JOptionPane.YES_OPTION) {
-                System.out.println("Deleting");
+                Diagnostics.getInstance().log(DiagnosticLevel.DEBUG, "Deleting item");
                 firePropertyChange(PropertyNames.ITEM_DELETED, true, false);
                 windows.showPanel(WindowNames.TABLE_PAGE);
             }
@@ -51,6 +51,24 @@ public class StringUtils {
                 "<sub>" + value + "</sub>";
     }
 
+    // EFFECTS: Converts a possibly fractional amount into HTML subscript format
+    public static String subscriptValue(double value) {
+        return value == 1 ? "" :
+                "<sub>" + formatAmount(value) + "</sub>";
+    }
+
+    // EFFECTS: Converts a possibly fractional amount into a leading coefficient, blank if the amount is 1
+    public static String coefficientValue(double value) {
+        return value == 1 ? "" : formatAmount(value);
+    }
+
+    // EFFECTS: Produces value without a trailing ".0" if it is a whole number
+    public static String formatAmount(double value) {
+        return value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE
+                ? Long.toString((long) value)
+                : Double.toString(value);
+    }
+
     // REQUIRES: length >= 3
     // EFFECTS: Trims text to given length by removing characters past the length limit and adding "..."
     public static String trimTo(String text, int length) {
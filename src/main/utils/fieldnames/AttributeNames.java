@@ -10,6 +10,7 @@ public class AttributeNames {
     public static final String DENSITY = "Density";
     public static final String IOR = "Index of Refraction";
     public static final String CLEAVAGE = "Cleavage";
+    public static final String MOLAR_MASS = "Molar Mass";
 
     public static final String DESCENDANTS = "Minerals with Family";
 
@@ -23,6 +24,16 @@ public class AttributeNames {
                     IOR,
                     CLEAVAGE};
 
+    public static final String[] MINERAL_COLUMN_NAMES =
+            {NAME,
+                    CRYSTAL_STRUCTURE,
+                    FORMULA,
+                    HARDNESS,
+                    DENSITY,
+                    IOR,
+                    CLEAVAGE,
+                    MOLAR_MASS};
+
     public static final String[] FAMILY_ATTRIBUTE_NAMES =
             {NAME,
                     FORMULA,
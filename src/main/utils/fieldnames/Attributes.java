@@ -3,5 +3,5 @@ package utils.fieldnames;
 // Contains the current attributes to sort the mineral table on
 
 public enum Attributes {
-    CRYSTAL, CLEAVAGE, IOR, HARDNESS, DENSITY, DEFAULT
+    CRYSTAL, CLEAVAGE, IOR, HARDNESS, DENSITY, MOLAR_MASS, DEFAULT
 }
@@ -9,6 +9,15 @@ public class Constants {
     public static final int WRAP_FOR_GUI = 0;
     public static final int WRAP_FOR_CONSOLE = 1;
 
+    public static final int FORMULA_CACHE_CAPACITY = 1 << 16;
+
+    public static final int SIMILAR_MINERAL_COUNT = 20;
+
+    public static final int MAX_FORMULA_LENGTH = 512;
+    public static final int MAX_FORMULA_DEPTH = 16;
+    public static final int MAX_SAVED_FORMULA_LENGTH = 1 << 16;
+    public static final int MAX_SAVED_FORMULA_DEPTH = 128;
+
     // EFFECTS: None
     public Constants() {
 
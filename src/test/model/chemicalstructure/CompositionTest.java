@@ -0,0 +1,135 @@
+package model.chemicalstructure;
+
+import model.enums.AtomicSymbols;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompositionTest {
+
+    Composition composition;
+
+    @Test
+    void testEmptyComposition() {
+        composition = new Formula().getComposition();
+        assertEquals(0, composition.size());
+        assertEquals(0, composition.count(AtomicSymbols.O));
+        assertFalse(composition.contains(AtomicSymbols.O));
+        assertTrue(composition.elements().isEmpty());
+        assertEquals(0, composition.totalAtoms());
+    }
+
+    @Test
+    void testCompositionSumsRepeatedElements() {
+        try {
+            composition = new Formula("(NH4)4(OH)(CO3)Cl").getComposition();
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(17, composition.count(AtomicSymbols.H));
+        assertEquals(4, composition.count(AtomicSymbols.N));
+        assertEquals(4, composition.count(AtomicSymbols.O));
+        assertEquals(1, composition.count(AtomicSymbols.C));
+        assertEquals(1, composition.count(AtomicSymbols.CL));
+        assertEquals(0, composition.count(AtomicSymbols.FE));
+        assertEquals(27, composition.totalAtoms());
+        assertEquals(List.of(AtomicSymbols.H, AtomicSymbols.C, AtomicSymbols.N, AtomicSymbols.O, AtomicSymbols.CL),
+                composition.elements());
+    }
+
+    @Test
+    void testCompositionNestedGroupsAndHydrates() {
+        try {
+            composition = new Formula("Ca(Fe(OH)2)3\u00B75H2O").getComposition();
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(1, composition.count(AtomicSymbols.CA));
+        assertEquals(3, composition.count(AtomicSymbols.FE));
+        assertEquals(11, composition.count(AtomicSymbols.O));
+        assertEquals(16, composition.count(AtomicSymbols.H));
+    }
+
+    @Test
+    void testCompositionSubstitutableGroups() {
+        try {
+            composition = new Formula("(Mg, Fe)2SiO4").getComposition();
+            assertEquals(1, composition.count(AtomicSymbols.MG));
+            assertEquals(1, composition.count(AtomicSymbols.FE));
+
+            composition = new Formula("(Mg0.75, Fe0.25)2SiO4").getComposition();
+            assertEquals(1.5, composition.count(AtomicSymbols.MG));
+            assertEquals(0.5, composition.count(AtomicSymbols.FE));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testIndexedAccess() {
+        try {
+            composition = new Formula("SiO2").getComposition();
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(2, composition.size());
+        assertEquals(AtomicSymbols.O, composition.getSymbol(0));
+        assertEquals(AtomicSymbols.O.ordinal(), composition.getOrdinal(0));
+        assertEquals(2, composition.getAmount(0));
+        assertEquals(AtomicSymbols.SI, composition.getSymbol(1));
+    }
+
+    @Test
+    void testCosineDistance() {
+        try {
+            composition = new Formula("SiO2").getComposition();
+            assertEquals(0, composition.cosineDistance(new Formula("Si2O4").getComposition()), 1e-12);
+            assertEquals(1, composition.cosineDistance(new Formula("NaCl").getComposition()), 1e-12);
+            assertEquals(1 - 4 / Math.sqrt(5 * 4), composition.cosineDistance(new Formula("O2").getComposition()),
+                    1e-12);
+            assertEquals(1, composition.cosineDistance(Composition.EMPTY));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testNormalizedL1Distance() {
+        try {
+            composition = new Formula("SiO2").getComposition();
+            assertEquals(0, composition.normalizedL1Distance(new Formula("Si2O4").getComposition()), 1e-12);
+            assertEquals(1, composition.normalizedL1Distance(new Formula("NaCl").getComposition()), 1e-12);
+            assertEquals(1.0 / 3, composition.normalizedL1Distance(new Formula("O2").getComposition()), 1e-12);
+            assertEquals(1.0 / 3, new Formula("O2").getComposition().normalizedL1Distance(composition), 1e-12);
+            assertEquals(1, Composition.EMPTY.normalizedL1Distance(composition));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testEmpiricalForm() {
+        try {
+            composition = new Formula("Si2O4").getComposition();
+            assertEquals("O2Si", composition.getEmpiricalFormula());
+            assertEquals(2, composition.getEmpiricalCount(0));
+            assertEquals(1, composition.getEmpiricalCount(1));
+            assertTrue(composition.hasSameEmpiricalForm(new Formula("O2Si").getComposition()));
+            assertEquals(composition.getCanonicalHash(), new Formula("SiO2").getComposition().getCanonicalHash());
+            assertFalse(composition.hasSameEmpiricalForm(new Formula("SiO3").getComposition()));
+
+            assertEquals("CH2O", new Formula("C6H12O6").getComposition().getEmpiricalFormula());
+            assertEquals("CCaO3", new Formula("CaCO3").getComposition().getEmpiricalFormula());
+            assertEquals("Fe6Mg4O20Si5", new Formula("Fe1.2Mg0.8SiO4").getComposition().getEmpiricalFormula());
+            assertEquals("", Composition.EMPTY.getEmpiricalFormula());
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package model.chemicalstructure;
+
+import model.enums.AtomicSymbols;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormulaBatchTest {
+
+    @Test
+    void testParseAllKeepsInputOrder() {
+        List<String> unparsedFormulas = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            unparsedFormulas.add("Fe" + i + "O");
+        }
+        FormulaBatch batch = Formula.parseAll(unparsedFormulas);
+
+        assertEquals(500, batch.size());
+        assertTrue(batch.getFailures().isEmpty());
+        for (int i = 0; i < batch.size(); i++) {
+            assertTrue(batch.isParsed(i));
+            assertEquals(unparsedFormulas.get(i), batch.getFormula(i).getUnparsedFormula());
+            assertEquals(i + 1, batch.getFormula(i).count(AtomicSymbols.FE));
+        }
+    }
+
+    @Test
+    void testParseAllRecordsFailuresByIndex() {
+        FormulaBatch batch = Formula.parseAll(List.of("SiO2", "SiQu", "CaCO3", "Xx", "NA"));
+
+        assertEquals(List.of(1, 3), new ArrayList<>(batch.getFailures().keySet()));
+        assertNotNull(batch.getFailure(1));
+        assertNull(batch.getFailure(0));
+        assertNull(batch.getFormula(3));
+        assertEquals("Xx", batch.getUnparsedFormula(3));
+        assertTrue(batch.getFormula(2).isValidFormula());
+        assertFalse(batch.getFormula(4).isValidFormula());
+        assertEquals(5, batch.getFormulas().size());
+        assertNull(batch.getFormulas().get(1));
+    }
+
+    @Test
+    void testParseAllEmpty() {
+        FormulaBatch batch = Formula.parseAll(new ArrayList<>());
+
+        assertEquals(0, batch.size());
+        assertTrue(batch.getFormulas().isEmpty());
+        assertTrue(batch.getFailures().isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package model.chemicalstructure;
+
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormulaCacheTest {
+
+    FormulaCache cache;
+
+    @BeforeEach
+    void beforeEach() {
+        cache = new FormulaCache(2);
+    }
+
+    @Test
+    void testGetInstance() {
+        assertSame(FormulaCache.getInstance(), FormulaCache.getInstance());
+        assertTrue(FormulaCache.getInstance().getCapacity() > 0);
+    }
+
+    @Test
+    void testGetFormulaSharesInstances() {
+        try {
+            Formula first = cache.getFormula("SiO2");
+            Formula second = cache.getFormula("SiO2");
+            assertSame(first, second);
+            assertEquals("SiO2", first.getUnparsedFormula());
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.getEvictions());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testGetFormulaEvictsLeastRecentlyUsed() {
+        try {
+            Formula quartz = cache.getFormula("SiO2");
+            cache.getFormula("CaCO3");
+            cache.getFormula("SiO2");
+            cache.getFormula("Al2O3");
+
+            assertEquals(1, cache.getEvictions());
+            assertEquals(2, cache.size());
+            assertSame(quartz, cache.getFormula("SiO2"));
+            assertEquals(2, cache.getHits());
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testGetFormulaUnknownElement() {
+        try {
+            cache.getFormula("Qz");
+            fail();
+        } catch (UnknownElementException e) {
+            // Expected
+        }
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testClear() {
+        try {
+            cache.getFormula("SiO2");
+            cache.getFormula("SiO2");
+        } catch (UnknownElementException e) {
+            fail();
+        }
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void testFormulaListsAreReadOnly() {
+        try {
+            Formula formula = cache.getFormula("(CO3)Ca");
+            assertThrows(UnsupportedOperationException.class, () -> formula.getMoleculeList().clear());
+            assertThrows(UnsupportedOperationException.class,
+                    () -> formula.getCovalentGroups().get(0).getElements().clear());
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testGetFormulasSharesInstances() {
+        FormulaBatch batch = new FormulaCache(10).getFormulas(List.of("SiO2", "Qu2", "SiO2"));
+
+        assertEquals(3, batch.size());
+        assertSame(batch.getFormula(0), batch.getFormula(2));
+        assertFalse(batch.isParsed(1));
+        assertEquals(1, batch.getFailures().size());
+    }
+}
@@ -0,0 +1,78 @@
+package model.chemicalstructure;
+
+import model.enums.AtomicSymbols;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormulaCodecTest {
+
+    List<FormulaElement> moleculeList;
+    List<MoleculeGroup> substitutableGroups;
+    List<MoleculeGroup> covalentGroups;
+    List<MoleculeGroup> hydrates;
+
+    @BeforeEach
+    void beforeEach() {
+        moleculeList = new ArrayList<>();
+        substitutableGroups = new ArrayList<>();
+        covalentGroups = new ArrayList<>();
+        hydrates = new ArrayList<>();
+    }
+
+    @Test
+    void testEncodeEmpty() {
+        assertSame(FormulaCodec.EMPTY, FormulaCodec.encode(moleculeList, substitutableGroups, covalentGroups,
+                hydrates));
+        FormulaCodec.decode(FormulaCodec.EMPTY, moleculeList, substitutableGroups, covalentGroups, hydrates);
+        assertTrue(moleculeList.isEmpty());
+        assertTrue(hydrates.isEmpty());
+    }
+
+    @Test
+    void testEncodeIsCompact() {
+        parse("KAlSi3O8");
+        byte[] encoding = FormulaCodec.encode(moleculeList, substitutableGroups, covalentGroups, hydrates);
+        assertEquals(8, encoding.length);
+    }
+
+    @Test
+    void testRoundTrip() {
+        parse("Ca2(Mg0.75, Fe(OH)2)5(Si8O22)\u00B7200H2O\u00B7(CO3)");
+        byte[] encoding = FormulaCodec.encode(moleculeList, substitutableGroups, covalentGroups, hydrates);
+        beforeEach();
+        FormulaCodec.decode(encoding, moleculeList, substitutableGroups, covalentGroups, hydrates);
+
+        assertEquals(1, moleculeList.size());
+        assertEquals(AtomicSymbols.CA, moleculeList.get(0).getSymbol());
+        assertEquals(2, moleculeList.get(0).getCount());
+
+        MoleculeGroup substitutable = substitutableGroups.get(0);
+        assertTrue(substitutable.isSubstitutable());
+        assertEquals(5, substitutable.getAmount());
+        assertEquals(0.75, substitutable.getElements().get(0).getOccupancy());
+        assertEquals(2, substitutable.getSubGroups().get(0).getMultiplier());
+        assertFalse(substitutable.getSubGroups().get(0).isSubstitutable());
+
+        assertEquals(1, covalentGroups.size());
+        assertEquals(22, covalentGroups.get(0).getElements().get(1).getCount());
+
+        assertEquals(2, hydrates.size());
+        assertEquals(200, hydrates.get(0).getMultiplier());
+        assertEquals(AtomicSymbols.H, hydrates.get(0).getElements().get(0).getSymbol());
+        assertEquals(1, hydrates.get(1).getSubGroups().size());
+    }
+
+    private void parse(String formula) {
+        try {
+            new FormulaParser(formula).parse(moleculeList, substitutableGroups, covalentGroups, hydrates);
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+}
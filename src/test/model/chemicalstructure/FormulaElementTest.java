@@ -26,4 +26,22 @@ class FormulaElementTest {
         assertEquals(AtomicSymbols.PR ,e1.getSymbol());
         assertEquals(AtomicSymbols.RA, e2.getSymbol());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOfSharesWholeCounts() {
+        FormulaElement shared = FormulaElement.of(AtomicSymbols.O, 4);
+        assertSame(shared, FormulaElement.of(AtomicSymbols.O, 4.0));
+        assertEquals(AtomicSymbols.O, shared.getSymbol());
+        assertEquals(4, shared.getCount());
+        assertSame(FormulaElement.of(AtomicSymbols.OG, FormulaElement.MAX_SHARED_COUNT),
+                FormulaElement.of(AtomicSymbols.OG, FormulaElement.MAX_SHARED_COUNT));
+
+        FormulaElement large = FormulaElement.of(AtomicSymbols.O, FormulaElement.MAX_SHARED_COUNT + 1);
+        assertNotSame(large, FormulaElement.of(AtomicSymbols.O, FormulaElement.MAX_SHARED_COUNT + 1));
+        assertEquals(FormulaElement.MAX_SHARED_COUNT + 1, large.getCount());
+
+        FormulaElement fractional = FormulaElement.of(AtomicSymbols.FE, 0.25);
+        assertEquals(0.25, fractional.getOccupancy());
+        assertEquals(0, fractional.getCount());
+    }
+}
@@ -0,0 +1,186 @@
+package model.chemicalstructure;
+
+import model.enums.AtomicSymbols;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormulaParserTest {
+
+    List<FormulaElement> moleculeList;
+    List<MoleculeGroup> substitutableGroups;
+    List<MoleculeGroup> covalentGroups;
+    List<MoleculeGroup> hydrates;
+
+    @BeforeEach
+    void beforeEach() {
+        moleculeList = new ArrayList<>();
+        substitutableGroups = new ArrayList<>();
+        covalentGroups = new ArrayList<>();
+        hydrates = new ArrayList<>();
+    }
+
+    @Test
+    void testParseMixedFormula() {
+        try {
+            new FormulaParser("Zr(Al, K)2(CO3)12H2O").parse(moleculeList, substitutableGroups,
+                    covalentGroups, hydrates);
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(3, moleculeList.size());
+        assertEquals(AtomicSymbols.ZR, moleculeList.get(0).getSymbol());
+        assertEquals(AtomicSymbols.H, moleculeList.get(1).getSymbol());
+        assertEquals(2, moleculeList.get(1).getCount());
+        assertEquals(AtomicSymbols.O, moleculeList.get(2).getSymbol());
+
+        assertEquals(1, substitutableGroups.size());
+        assertEquals(2, substitutableGroups.get(0).getAmount());
+        assertEquals(2, substitutableGroups.get(0).getElements().size());
+
+        assertEquals(1, covalentGroups.size());
+        assertEquals(12, covalentGroups.get(0).getAmount());
+        assertEquals(AtomicSymbols.O, covalentGroups.get(0).getElements().get(1).getSymbol());
+        assertEquals(3, covalentGroups.get(0).getElements().get(1).getCount());
+    }
+
+    @Test
+    void testParseSkipsUnrecognizedCharacters() {
+        try {
+            new FormulaParser("<html>(K, Na)Al</html>").parse(moleculeList, substitutableGroups,
+                    covalentGroups, hydrates);
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(1, moleculeList.size());
+        assertEquals(AtomicSymbols.AL, moleculeList.get(0).getSymbol());
+        assertEquals(1, substitutableGroups.size());
+        assertTrue(covalentGroups.isEmpty());
+    }
+
+    @Test
+    void testParseUnclosedBracket() {
+        try {
+            new FormulaParser("(SiO2").parse(moleculeList, substitutableGroups, covalentGroups, hydrates);
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(2, moleculeList.size());
+        assertTrue(substitutableGroups.isEmpty());
+        assertTrue(covalentGroups.isEmpty());
+    }
+
+    @Test
+    void testParseUnknownElement() {
+        try {
+            new FormulaParser("SiO2(Qu)").parse(moleculeList, substitutableGroups, covalentGroups, hydrates);
+            fail();
+        } catch (UnknownElementException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testParseGroupWithoutBrackets() {
+        try {
+            MoleculeGroup group = new FormulaParser("SiO4").parseGroup();
+            assertEquals(1, group.getAmount());
+            assertTrue(group.getElements().isEmpty());
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testParseNestedGroups() {
+        try {
+            new FormulaParser("Ca2(Mg, Fe(OH)2)5(Si8O22)").parse(moleculeList, substitutableGroups,
+                    covalentGroups, hydrates);
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(1, moleculeList.size());
+        assertEquals(1, substitutableGroups.size());
+        MoleculeGroup substitutable = substitutableGroups.get(0);
+        assertTrue(substitutable.isSubstitutable());
+        assertEquals(5, substitutable.getAmount());
+        assertEquals(2, substitutable.getElements().size());
+        assertEquals(1, substitutable.getSubGroups().size());
+
+        MoleculeGroup hydroxide = substitutable.getSubGroups().get(0);
+        assertFalse(hydroxide.isSubstitutable());
+        assertEquals(2, hydroxide.getAmount());
+        assertEquals(AtomicSymbols.O, hydroxide.getElements().get(0).getSymbol());
+        assertEquals(AtomicSymbols.H, hydroxide.getElements().get(1).getSymbol());
+
+        assertEquals(1, covalentGroups.size());
+        assertEquals(22, covalentGroups.get(0).getElements().get(1).getCount());
+        assertTrue(hydrates.isEmpty());
+    }
+
+    @Test
+    void testParseHydrates() {
+        try {
+            new FormulaParser("CuSO4\u00B75H2O*(OH)").parse(moleculeList, substitutableGroups,
+                    covalentGroups, hydrates);
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(3, moleculeList.size());
+        assertEquals(2, hydrates.size());
+
+        MoleculeGroup water = hydrates.get(0);
+        assertEquals(5, water.getAmount());
+        assertEquals(2, water.getElements().size());
+        assertEquals(AtomicSymbols.H, water.getElements().get(0).getSymbol());
+        assertEquals(2, water.getElements().get(0).getCount());
+
+        MoleculeGroup hydroxide = hydrates.get(1);
+        assertEquals(1, hydroxide.getAmount());
+        assertTrue(hydroxide.getElements().isEmpty());
+        assertEquals(1, hydroxide.getSubGroups().size());
+    }
+
+    @Test
+    void testParseFractionalOccupancies() {
+        try {
+            new FormulaParser("(Mg0.75, Fe0.25)2SiO4\u00B70.5H2O").parse(moleculeList, substitutableGroups,
+                    covalentGroups, hydrates);
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        FormulaElement magnesium = substitutableGroups.get(0).getElements().get(0);
+        assertEquals(0.75, magnesium.getOccupancy());
+        assertEquals(1, magnesium.getCount());
+        assertEquals(0.25, substitutableGroups.get(0).getElements().get(1).getOccupancy());
+        assertEquals(4, moleculeList.get(1).getOccupancy());
+        assertEquals(0.5, hydrates.get(0).getMultiplier());
+    }
+
+    @Test
+    void testParseLongFractionalAmount() {
+        try {
+            new FormulaParser("Si0.1234567890123456789012O2").parse(moleculeList, substitutableGroups,
+                    covalentGroups, hydrates);
+        } catch (UnknownElementException e) {
+            fail();
+        }
+
+        assertEquals(2, moleculeList.size());
+        assertEquals(AtomicSymbols.SI, moleculeList.get(0).getSymbol());
+        assertEquals(0.1234567890123456789012, moleculeList.get(0).getOccupancy(), 1e-15);
+        assertEquals(AtomicSymbols.O, moleculeList.get(1).getSymbol());
+        assertEquals(2, moleculeList.get(1).getOccupancy());
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,6 +83,82 @@ class FormulaTest {
         assertEquals("<html>AlO<sub>3</sub></html>", f3.getFormulaAsString());
     }
 
+    @Test
+    void testGetFormulaAsStringNestedAndHydrated() {
+        try {
+            f1 = new Formula("Ca2(Mg, Fe(OH)2)5\u00B70.5H2O");
+        } catch (UnknownElementException e) {
+            fail();
+        }
+        assertEquals("<html>(Mg, Fe, (OH)<sub>2</sub>)<sub>5</sub>Ca<sub>2</sub>\u00B70.5H<sub>2</sub>O</html>",
+                f1.getFormulaAsString());
+        assertEquals(1, f1.getHydrates().size());
+    }
+
+    @Test
+    void testGetPlainFormulaString() {
+        try {
+            f1 = new Formula("Ca2(Mg, Fe(OH)2)5\u00B70.5H2O");
+            f3 = new Formula("AlO3");
+        } catch (UnknownElementException e) {
+            fail();
+        }
+        assertEquals("(Mg, Fe, (OH)2)5Ca2\u00B70.5H2O", f1.getPlainFormulaString());
+        assertEquals("AlO3", f3.getPlainFormulaString());
+        assertSame(f3.getPlainFormulaString(), f3.getPlainFormulaString());
+        assertSame(f3.getFormulaAsString(), f3.getFormulaAsString());
+        assertEquals("", new Formula().getPlainFormulaString());
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        try {
+            f1 = new Formula("SiO2");
+            f2 = new Formula("O2Si");
+            f3 = new Formula("Si2O4");
+            assertEquals(f1, f2);
+            assertEquals(f1, f3);
+            assertEquals(f1.hashCode(), f3.hashCode());
+            assertEquals(f1.getCanonicalHash(), f2.getCanonicalHash());
+            assertEquals("O2Si", f3.getEmpiricalFormula());
+            assertNotEquals(f1, new Formula("SiO3"));
+            assertNotEquals(f1, "SiO2");
+            assertEquals(new Formula("C"), new Formula("C"));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testCountAndElements() {
+        try {
+            f1 = new Formula("KAlSi3O8");
+        } catch (UnknownElementException e) {
+            fail();
+        }
+        assertEquals(8, f1.count(AtomicSymbols.O));
+        assertEquals(0, f1.count(AtomicSymbols.NA));
+        assertEquals(4, f1.elements().size());
+        assertTrue(new Formula().elements().isEmpty());
+    }
+
+    @Test
+    void testMolarMassAndWeightPercent() {
+        try {
+            f1 = new Formula("H2O");
+        } catch (UnknownElementException e) {
+            fail();
+        }
+        assertEquals(18.015, f1.getMolarMass(), 1e-9);
+        assertEquals(18.015, f1.getMolarMass(), 1e-9);
+        assertEquals(100 * 15.999 / 18.015, f1.getWeightPercent(AtomicSymbols.O), 1e-9);
+        assertEquals(0, f1.getWeightPercent(AtomicSymbols.FE));
+
+        f2 = new Formula();
+        assertEquals(0, f2.getMolarMass());
+        assertEquals(0, f2.getWeightPercent(AtomicSymbols.O));
+    }
+
     @Test
     void isValidFormula() {
         try {
@@ -373,4 +450,19 @@ class FormulaTest {
 
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void testGetGroupMultiplicities() {
+        try {
+            f1 = new Formula("Ca2(Mg, Fe(OH)2)5(Si8O22)\u00B72(CO3)");
+        } catch (UnknownElementException e) {
+            fail();
+        }
+        Map<String, Double> multiplicities = f1.getGroupMultiplicities();
+        assertEquals(3, multiplicities.size());
+        assertEquals(1, multiplicities.get("O22Si8"));
+        assertEquals(10, multiplicities.get("HO"));
+        assertEquals(2, multiplicities.get("CO3"));
+        assertTrue(new Formula().getGroupMultiplicities().isEmpty());
+    }
+}
@@ -1,6 +1,7 @@
 package model.chemicalstructure;
 
 import model.enums.AtomicSymbols;
+import model.modelexceptions.UnknownElementException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -40,4 +41,17 @@ class MoleculeGroupTest {
         assertEquals(g1Elements, g1.getElements());
         assertEquals(g2Elements, g2.getElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetSignature() {
+        assertEquals("H2Hf3", g1.getSignature());
+        assertEquals("Dy4", g2.getSignature());
+        try {
+            assertEquals("O4Si", new FormulaParser("(O4Si)2").parseGroup().getSignature());
+            assertEquals("O4Si", new FormulaParser("(SiO4)").parseGroup().getSignature());
+            assertEquals("CO3", new FormulaParser("(CO3)").parseGroup().getSignature());
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+}
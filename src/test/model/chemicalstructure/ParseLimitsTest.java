@@ -0,0 +1,122 @@
+package model.chemicalstructure;
+
+import model.enums.AtomicSymbols;
+import model.modelexceptions.FormulaLimitException;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseLimitsTest {
+    private static final String FUZZ_ALPHABET = "()(),,..0123456789\u00B7*CHOSiFeMgNaKAlQqxz ";
+
+    @Test
+    void testUserInputLimits() {
+        assertTrue(ParseLimits.USER_INPUT.getMaxLength() > 0);
+        assertTrue(ParseLimits.USER_INPUT.getMaxDepth() > 0);
+        assertTrue(ParseLimits.SAVED_DATA.getMaxLength() > ParseLimits.USER_INPUT.getMaxLength());
+        assertTrue(ParseLimits.SAVED_DATA.getMaxDepth() > ParseLimits.USER_INPUT.getMaxDepth());
+    }
+
+    @Test
+    void testSavedFormulasHaveLooserLimits() {
+        String longFormula = "SiO2".repeat(ParseLimits.USER_INPUT.getMaxLength());
+        String deepFormula = "(".repeat(40) + "Si" + ")".repeat(40);
+        try {
+            assertEquals(ParseLimits.USER_INPUT.getMaxLength(), new Formula(longFormula).count(AtomicSymbols.SI));
+            assertEquals(1, new Formula(deepFormula).count(AtomicSymbols.SI));
+            assertEquals(1, FormulaCache.getInstance().getFormula(deepFormula).count(AtomicSymbols.SI));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testSavedFormulasAreStillLimited() {
+        String deepFormula = "(".repeat(20000) + "Si" + ")".repeat(20000);
+        FormulaBatch batch = new FormulaCache(10).getFormulas(List.of(deepFormula, "SiO2"));
+        assertTrue(batch.getFailure(0) instanceof FormulaLimitException);
+        assertTrue(batch.isParsed(1));
+        try {
+            new Formula("Si".repeat(ParseLimits.SAVED_DATA.getMaxLength()));
+            fail();
+        } catch (FormulaLimitException e) {
+            // Expected
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testLengthLimit() {
+        try {
+            new Formula("SiO2".repeat(10), new ParseLimits(39, 4));
+            fail();
+        } catch (FormulaLimitException e) {
+            assertTrue(e.getMessage().contains("39"));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+        try {
+            assertEquals(10, new Formula("SiO2".repeat(10), new ParseLimits(40, 4)).count(AtomicSymbols.SI));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testNestingLimit() {
+        try {
+            new Formula("Ca((((OH)2)2)2)2", new ParseLimits(100, 3));
+            fail();
+        } catch (FormulaLimitException e) {
+            assertTrue(e.getMessage().contains("3"));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+        try {
+            assertEquals(16, new Formula("Ca((((OH)2)2)2)2", new ParseLimits(100, 4)).count(AtomicSymbols.H));
+        } catch (UnknownElementException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testUserInputLimitsRejectPathologicalInput() {
+        List<String> pathological = List.of("(".repeat(100000) + ")", "(".repeat(40) + "Si" + ")".repeat(40),
+                "(Mg,".repeat(200) + ")", "Si" + "9".repeat(100000), "(" + ",".repeat(100000) + ")");
+        for (String unparsedFormula : pathological) {
+            try {
+                new Formula(unparsedFormula, ParseLimits.USER_INPUT);
+                fail();
+            } catch (FormulaLimitException e) {
+                // Expected
+            } catch (UnknownElementException e) {
+                fail();
+            }
+        }
+    }
+
+    @Test
+    void testFuzzedInputParsesOrFailsCleanly() {
+        Random random = new Random(210);
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder unparsedFormula = new StringBuilder();
+            int length = random.nextInt(ParseLimits.USER_INPUT.getMaxLength());
+            for (int j = 0; j < length; j++) {
+                unparsedFormula.append(FUZZ_ALPHABET.charAt(random.nextInt(FUZZ_ALPHABET.length())));
+            }
+            try {
+                Formula formula = new Formula(unparsedFormula.toString(), ParseLimits.USER_INPUT);
+                assertNotNull(formula.getFormulaAsString());
+                assertNotNull(formula.getEmpiricalFormula());
+                assertTrue(formula.getMolarMass() >= 0);
+            } catch (UnknownElementException e) {
+                // Expected for unknown symbols and inputs over the limits
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import model.modelexceptions.UnknownElementException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class WikiEntryTest {
@@ -66,4 +68,41 @@ class WikiEntryTest {
         }
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void testObserverRemovingItselfDuringNotification() {
+        int[] updates = new int[1];
+        EntryObserver once = new EntryObserver() {
+            @Override
+            public void update(WikiEntry entry) {
+                updates[0]++;
+                entry.removeObserver(this);
+            }
+        };
+        family.addObserver(once);
+        family.addObserver(once);
+        family.setDescription("first");
+        family.setDescription("second");
+        assertEquals(1, updates[0]);
+    }
+
+    @Test
+    void testObserversChangedFromAnotherThread() throws InterruptedException {
+        AtomicInteger updates = new AtomicInteger();
+        EntryObserver counting = entry -> updates.incrementAndGet();
+        mineral.addObserver(counting);
+        Thread registering = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                EntryObserver other = entry -> { };
+                mineral.addObserver(other);
+                mineral.removeObserver(other);
+            }
+        });
+        registering.start();
+        for (int i = 0; i < 10000; i++) {
+            mineral.setDescription("description " + i);
+        }
+        registering.join();
+        assertEquals(10000, updates.get());
+    }
+}
@@ -0,0 +1,52 @@
+package model.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomicSymbolsTest {
+
+    @Test
+    void testGetAtomicNumber() {
+        assertEquals(0, AtomicSymbols.X.getAtomicNumber());
+        assertEquals(8, AtomicSymbols.O.getAtomicNumber());
+        assertEquals(118, AtomicSymbols.OG.getAtomicNumber());
+    }
+
+    @Test
+    void testGetAtomicWeight() {
+        assertEquals(0, AtomicSymbols.X.getAtomicWeight());
+        assertEquals(15.999, AtomicSymbols.O.getAtomicWeight());
+        assertEquals(55.845, AtomicSymbols.FE.getAtomicWeight());
+        assertEquals(238.03, AtomicSymbols.atomicWeightOf(AtomicSymbols.U.ordinal()));
+        for (AtomicSymbols symbol : AtomicSymbols.values()) {
+            assertEquals(symbol.getAtomicNumber(), symbol.ordinal());
+            assertTrue(symbol == AtomicSymbols.X || symbol.getAtomicWeight() > 0);
+        }
+    }
+
+    @Test
+    void testGetDisplayName() {
+        assertEquals("O", AtomicSymbols.O.getDisplayName());
+        assertEquals("Fe", AtomicSymbols.FE.getDisplayName());
+        assertEquals("Og", AtomicSymbols.OG.getDisplayName());
+    }
+
+    @Test
+    void testLookup() {
+        for (AtomicSymbols symbol : AtomicSymbols.values()) {
+            assertEquals(symbol, AtomicSymbols.lookup(symbol.getDisplayName()));
+            assertEquals(symbol, AtomicSymbols.lookup(symbol.name()));
+        }
+        assertEquals(AtomicSymbols.SI, AtomicSymbols.lookup('S', 'i'));
+        assertEquals(AtomicSymbols.S, AtomicSymbols.lookup('S', (char) 0));
+        assertEquals(AtomicSymbols.C, AtomicSymbols.lookup("c"));
+        assertNull(AtomicSymbols.lookup("Qu"));
+        assertNull(AtomicSymbols.lookup("J"));
+        assertNull(AtomicSymbols.lookup(""));
+        assertNull(AtomicSymbols.lookup("Fea"));
+        assertNull(AtomicSymbols.lookup('S', '@'));
+        assertNull(AtomicSymbols.lookup('1', 'i'));
+        assertNull(AtomicSymbols.lookup('N', '{'));
+    }
+}
@@ -0,0 +1,61 @@
+package model.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticsTest {
+
+    Diagnostics diagnostics;
+    ByteArrayOutputStream written;
+
+    @BeforeEach
+    void beforeEach() {
+        diagnostics = Diagnostics.getInstance();
+        written = new ByteArrayOutputStream();
+        diagnostics.setOutput(new PrintStream(written, true));
+        diagnostics.setThreshold(DiagnosticLevel.INFO);
+    }
+
+    @AfterEach
+    void afterEach() {
+        diagnostics.setOutput(System.out);
+        diagnostics.setThreshold(DiagnosticLevel.INFO);
+    }
+
+    @Test
+    void testIsEnabled() {
+        assertFalse(diagnostics.isEnabled(DiagnosticLevel.TRACE));
+        assertFalse(diagnostics.isEnabled(DiagnosticLevel.DEBUG));
+        assertTrue(diagnostics.isEnabled(DiagnosticLevel.INFO));
+        assertTrue(diagnostics.isEnabled(DiagnosticLevel.ERROR));
+        assertFalse(diagnostics.isEnabled(DiagnosticLevel.OFF));
+
+        diagnostics.setThreshold(DiagnosticLevel.OFF);
+        assertEquals(DiagnosticLevel.OFF, diagnostics.getThreshold());
+        assertFalse(diagnostics.isEnabled(DiagnosticLevel.ERROR));
+    }
+
+    @Test
+    void testLogWritesEnabledLevels() {
+        diagnostics.log(DiagnosticLevel.DEBUG, "hidden");
+        diagnostics.log(DiagnosticLevel.WARN, "shown");
+        diagnostics.log(DiagnosticLevel.INFO, () -> "built");
+        assertEquals("[WARN] shown" + System.lineSeparator() + "[INFO] built" + System.lineSeparator(),
+                written.toString());
+    }
+
+    @Test
+    void testDisabledSupplierIsNotCalled() {
+        diagnostics.log(DiagnosticLevel.TRACE, () -> {
+            fail();
+            return "never built";
+        });
+        assertEquals("", written.toString());
+    }
+}
@@ -0,0 +1,92 @@
+package model.tableentry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttributeIndexTest {
+
+    AttributeIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new AttributeIndex();
+        index.add(0, "Quartz", 7.0f);
+        index.add(1, "Diamond", 10.0f);
+        index.add(2, "Talc", 1.0f);
+        index.add(3, "Orthoclase", 7.0f);
+    }
+
+    @Test
+    void testAscendingOrdersTiesByName() {
+        assertEquals(List.of(2, 3, 0, 1), index.ascending());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRange() {
+        assertEquals(List.of(3, 0), index.range(5.5f, 7.0f));
+        assertEquals(List.of(2, 3, 0, 1), index.range(0, 10));
+        assertTrue(index.range(7.5f, 9.5f).isEmpty());
+        assertTrue(index.range(7.0f, 5.5f).isEmpty());
+    }
+
+    @Test
+    void testRangeResumesAfterPosition() {
+        assertEquals(List.of(2, 3), index.range(0, 10, 0, null, 2));
+        assertEquals(List.of(0, 1), index.range(0, 10, 7.0f, "Orthoclase", 2));
+        assertEquals(List.of(1), index.range(0, 10, 7.0f, "Quartz", 2));
+        assertEquals(List.of(3, 0), index.range(5.5f, 7.0f, 1.0f, "Talc", 5));
+        assertTrue(index.range(0, 10, 10.0f, "Diamond", 2).isEmpty());
+        assertEquals("Quartz", index.getIndexedName(0));
+        assertEquals(7.0f, index.getIndexedValue(0));
+        assertNull(index.getIndexedName(9));
+    }
+
+    @Test
+    void testPage() {
+        assertEquals(List.of(2, 3), index.page(0, null, 0, 2));
+        assertEquals(List.of(3, 0), index.page(0, null, 1, 2));
+        assertEquals(List.of(1), index.page(0, null, 3, 5));
+        assertEquals(List.of(0, 1), index.page(7.0f, "Orthoclase", 0, 5));
+        assertEquals(List.of(1), index.page(7.0f, "Orthoclase", 1, 5));
+        assertTrue(index.page(10.0f, "Diamond", 0, 5).isEmpty());
+        assertTrue(index.page(0, null, 0, 0).isEmpty());
+    }
+
+    @Test
+    void testPageDescending() {
+        assertEquals(List.of(1, 0), index.page(0, null, 0, 2, true));
+        assertEquals(List.of(0, 3), index.page(0, null, 1, 2, true));
+        assertEquals(List.of(3, 2), index.page(7.0f, "Quartz", 0, 5, true));
+        assertEquals(List.of(2), index.page(7.0f, "Orthoclase", 0, 5, true));
+        assertEquals(List.of(3, 2), index.page(10.0f, "Diamond", 1, 5, true));
+        assertTrue(index.page(1.0f, "Talc", 0, 5, true).isEmpty());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(3);
+        index.remove(3);
+        index.remove(10);
+
+        assertEquals(List.of(2, 0, 1), index.ascending());
+        assertEquals(List.of(0), index.range(7.0f, 7.0f));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testUpdate() {
+        index.update(2, "Talc", 1.0f);
+        assertEquals(List.of(2, 3, 0, 1), index.ascending());
+
+        index.update(2, "Talc", 8.0f);
+        index.update(4, "Corundum", 9.0f);
+        assertEquals(List.of(3, 0, 2, 4, 1), index.ascending());
+        assertEquals(List.of(2, 4), index.range(7.5f, 9.5f));
+        assertEquals(5, index.size());
+    }
+}
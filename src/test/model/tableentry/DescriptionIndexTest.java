@@ -0,0 +1,149 @@
+package model.tableentry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescriptionIndexTest {
+    DescriptionIndex testIndex;
+
+    @BeforeEach
+    void runBefore() {
+        testIndex = new DescriptionIndex();
+        testIndex.put("Quartz", "A hard silicate mineral, common in granite and sandstone.");
+        testIndex.put("Calcite", "A carbonate mineral that fizzes in acid; the main mineral of limestone.");
+        testIndex.put("Halite", "Rock salt, a soft evaporite mineral.");
+        testIndex.put("Orthoclase", "A feldspar common in granite.");
+    }
+
+    // EFFECTS: returns the index read back from what index writes
+    private static DescriptionIndex copyOf(DescriptionIndex index) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        return DescriptionIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void testTokenize() {
+        assertEquals(List.of("rock", "salt", "nacl", "2"), DescriptionIndex.tokenize(" Rock-salt (NaCl), 2!"));
+        assertTrue(DescriptionIndex.tokenize("...").isEmpty());
+    }
+
+    @Test
+    void testSearch() {
+        assertEquals(List.of("Orthoclase", "Quartz"), testIndex.search("granite", 5));
+        assertEquals(List.of("Halite"), testIndex.search("SALT", 5));
+        assertEquals(List.of("Calcite"), testIndex.search("limestone acid", 5));
+        assertTrue(testIndex.search("basalt", 5).isEmpty());
+        assertTrue(testIndex.search("granite", 0).isEmpty());
+        assertEquals(List.of("Orthoclase"), testIndex.search("granite", 1));
+    }
+
+    @Test
+    void testSearchRanksRareWordsAndFrequentMatchesFirst() {
+        assertEquals("Calcite", testIndex.search("mineral", 5).get(0));
+        assertEquals("Halite", testIndex.search("mineral salt", 5).get(0));
+        assertEquals(4, testIndex.search("a mineral", 5).size());
+    }
+
+    @Test
+    void testPutReplacesDescription() {
+        testIndex.put("Halite", "Cubic crystals of sodium chloride.");
+        assertTrue(testIndex.search("salt", 5).isEmpty());
+        assertEquals(List.of("Halite"), testIndex.search("chloride", 5));
+        assertEquals(4, testIndex.size());
+    }
+
+    @Test
+    void testRemoveAndRetainAll() {
+        testIndex.remove("Quartz");
+        testIndex.remove("Diamond");
+        assertEquals(List.of("Orthoclase"), testIndex.search("granite", 5));
+        assertFalse(testIndex.contains("Quartz"));
+
+        testIndex.retainAll(List.of("Halite", "Quartz"));
+        assertEquals(1, testIndex.size());
+        assertTrue(testIndex.contains("Halite"));
+        assertTrue(testIndex.search("granite", 5).isEmpty());
+    }
+
+    @Test
+    void testManyReplacementsCompact() {
+        for (int i = 0; i < 500; i++) {
+            testIndex.put("Quartz", "version " + i + " of the quartz description");
+        }
+        assertEquals(List.of("Quartz"), testIndex.search("499", 5));
+        assertTrue(testIndex.search("498", 5).isEmpty());
+        assertEquals(List.of("Orthoclase"), testIndex.search("feldspar", 5));
+        assertEquals(4, testIndex.size());
+
+        testIndex.remove("Calcite");
+        DescriptionIndex fresh = new DescriptionIndex();
+        fresh.put("Quartz", "version 499 of the quartz description");
+        fresh.put("Halite", "Rock salt, a soft evaporite mineral.");
+        fresh.put("Orthoclase", "A feldspar common in granite.");
+        assertEquals(fresh.search("a mineral of granite", 5), testIndex.search("a mineral of granite", 5));
+        assertTrue(testIndex.search("limestone", 5).isEmpty());
+    }
+
+    @Test
+    void testWriteAndRead() {
+        testIndex.remove("Calcite");
+        try {
+            DescriptionIndex read = copyOf(testIndex);
+            assertEquals(3, read.size());
+            assertEquals(testIndex.search("granite mineral", 5), read.search("granite mineral", 5));
+            read.put("Calcite", "A carbonate mineral of limestone.");
+            read.remove("Quartz");
+            assertEquals(List.of("Calcite"), read.search("limestone", 5));
+            assertEquals(List.of("Orthoclase"), read.search("granite", 5));
+        } catch (IOException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testReadUnknownFormat() {
+        try {
+            DescriptionIndex.readFrom(new DataInputStream(new ByteArrayInputStream(new byte[]{0, 0, 0, 9})));
+            fail();
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testSearchMatchesBruteForce() {
+        Random random = new Random(7);
+        DescriptionIndex index = new DescriptionIndex();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int word = 0; word < 1 + random.nextInt(12); word++) {
+                description.append("w").append(random.nextInt(40)).append(' ');
+            }
+            names.add("Entry " + i);
+            index.put("Entry " + i, description.toString());
+            if (random.nextInt(4) == 0) {
+                index.remove(names.get(random.nextInt(names.size())));
+            }
+        }
+        for (int word = 0; word < 40; word++) {
+            List<String> results = index.search("w" + word, 1000);
+            for (String name : results) {
+                assertTrue(index.contains(name));
+            }
+            assertEquals(results.subList(0, Math.min(3, results.size())), index.search("w" + word, 3));
+        }
+    }
+}
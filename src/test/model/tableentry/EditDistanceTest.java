@@ -0,0 +1,51 @@
+package model.tableentry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditDistanceTest {
+
+    @Test
+    void testDistance() {
+        assertEquals(0, new EditDistance("quartz").to("quartz", 2));
+        assertEquals(1, new EditDistance("quarz").to("quartz", 2));
+        assertEquals(2, new EditDistance("qaurtz").to("quartz", 2));
+        assertEquals(3, new EditDistance("quartz").to("qz", 2));
+        assertEquals(2, new EditDistance("halite").to("calcite", 5));
+        assertEquals(2, new EditDistance("halite").to("dolomite", 1));
+        assertEquals(1, new EditDistance("").to("a", 2));
+        assertEquals(1, new EditDistance("\u00E9a").to("ea", 2));
+    }
+
+    @Test
+    void testLongPatternFallsBack() {
+        String pattern = "ab".repeat(40);
+        assertEquals(1, new EditDistance(pattern).to(pattern.substring(1), 2));
+        String text = pattern.substring(0, 70) + "xyz" + pattern.substring(73);
+        assertEquals(3, new EditDistance(pattern).to(text, 2));
+        assertEquals(3, new EditDistance(pattern).to(text, 5));
+    }
+
+    @Test
+    void testAgreesWithLevenshtein() {
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            String first = randomText(random, random.nextInt(12));
+            String second = randomText(random, random.nextInt(12));
+            int maxDistance = random.nextInt(5);
+            assertEquals(EditDistance.levenshtein(first, second, maxDistance),
+                    new EditDistance(first).to(second, maxDistance), first + " " + second);
+        }
+    }
+
+    String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append("abc\u00E9".charAt(random.nextInt(4)));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package model.tableentry;
+
+import model.chemicalstructure.Formula;
+import model.enums.AtomicSymbols;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElementIndexTest {
+
+    ElementIndex index;
+
+    @BeforeEach
+    void beforeEach() throws UnknownElementException {
+        index = new ElementIndex();
+        index.add(0, new Formula("CuFeS2").getComposition());
+        index.add(1, new Formula("Cu2S").getComposition());
+        index.add(3, new Formula("FeS2").getComposition());
+    }
+
+    @Test
+    void testAdd() {
+        assertEquals(3, index.size());
+        assertTrue(index.contains(0, AtomicSymbols.FE));
+        assertFalse(index.contains(1, AtomicSymbols.FE));
+        assertFalse(index.contains(2, AtomicSymbols.S));
+        assertEquals(2, index.countWith(AtomicSymbols.CU));
+        assertEquals(3, index.countWith(AtomicSymbols.S));
+    }
+
+    @Test
+    void testMatch() {
+        assertEquals(bits(1), index.match(new ElementQuery()
+                .containing(AtomicSymbols.CU, AtomicSymbols.S).excluding(AtomicSymbols.FE)));
+        assertEquals(bits(0, 3), index.match(new ElementQuery().containingAnyOf(AtomicSymbols.FE)));
+        assertEquals(bits(0, 1, 3), index.match(new ElementQuery()));
+        assertEquals(bits(), index.match(new ElementQuery().containingAnyOf(AtomicSymbols.AU, AtomicSymbols.AG)));
+    }
+
+    @Test
+    void testMatchesAgreesWithMatch() {
+        List<ElementQuery> queries = List.of(new ElementQuery(),
+                new ElementQuery().containing(AtomicSymbols.CU, AtomicSymbols.S).excluding(AtomicSymbols.FE),
+                new ElementQuery().containingAnyOf(AtomicSymbols.FE, AtomicSymbols.AU),
+                new ElementQuery().containingAnyOf(AtomicSymbols.AU, AtomicSymbols.AG));
+        for (ElementQuery query : queries) {
+            BitSet matches = index.match(query);
+            for (int id = 0; id < 5; id++) {
+                assertEquals(matches.get(id), index.matches(id, query));
+            }
+        }
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(0);
+        index.remove(2);
+        assertEquals(2, index.size());
+        assertFalse(index.contains(0, AtomicSymbols.CU));
+        assertEquals(bits(1, 3), index.match(new ElementQuery().containing(AtomicSymbols.S)));
+    }
+
+    @Test
+    void testUpdate() throws UnknownElementException {
+        index.update(3, new Formula("FeAsS").getComposition());
+        assertTrue(index.contains(3, AtomicSymbols.AS));
+        assertEquals(bits(0, 3), index.match(new ElementQuery().containing(AtomicSymbols.FE)));
+
+        index.update(5, new Formula("Au").getComposition());
+        assertEquals(4, index.size());
+        assertEquals(bits(5), index.match(new ElementQuery().containing(AtomicSymbols.AU)));
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bitSet = new BitSet();
+        for (int id : ids) {
+            bitSet.set(id);
+        }
+        return bitSet;
+    }
+}
@@ -175,4 +175,153 @@ class FamilyTableTest {
             assertEquals(testArray[2][i], f1.giveAttributeAsObjects()[i]);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetVersion() throws ItemNotFoundException {
+        testGetFamilies();
+        long version = testTable.getVersion();
+        testTable.getRequestedEntry("First").setDescription("edited");
+        Family fourth = new Family("Fourth");
+        testTable.putEntry(fourth);
+        assertEquals(version + 2, testTable.getVersion());
+        List<WikiEntry> subs = List.of(new Family("Sub"));
+        fourth.setMineralsWithFamily(subs);
+        fourth.setMineralsWithFamily(subs);
+        f1.setDescription("edited");
+        assertEquals(version + 3, testTable.getVersion());
+        testTable.removeEntry("Fourth");
+        assertEquals(version + 4, testTable.getVersion());
+    }
+
+    @Test
+    void testGetTableAsArrayReusesRowsUntilChanged() throws ItemNotFoundException {
+        testGetFamilies();
+        String[][] first = testTable.getTableAsArray(Attributes.DEFAULT);
+        String[][] second = testTable.getTableAsArray(Attributes.DEFAULT);
+        assertNotSame(first, second);
+        assertSame(first[0], second[0]);
+
+        f1.setDescription("edited");
+        String[][] edited = testTable.getTableAsArray(Attributes.DEFAULT);
+        assertEquals(first.length, edited.length);
+        assertNotSame(first[0], edited[0]);
+        testTable.removeEntry(f1.getName());
+        assertEquals(first.length - 1, testTable.getTableAsArray(Attributes.DEFAULT).length);
+    }
+
+    @Test
+    void testPutAllReplacesByName() {
+        Family replacement = new Family("First");
+        testTable.putAll(List.of(f1, f2));
+        testTable.putEntry(replacement);
+
+        assertEquals(2, testTable.getFamilyNameTable().size());
+        assertSame(replacement, testTable.getFamilyNameTable().get("First"));
+        try {
+            testTable.getFamilyNameTable().remove("Second");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testGetNameCompletions() {
+        try {
+            testTable.addEntry(f1);
+            testTable.addEntry(f2);
+            testTable.addEntry(f3);
+            testTable.addEntry(new Family("First"));
+            fail();
+        } catch (DuplicationException e) {
+            // Expected
+        }
+        assertEquals(List.of("Second"), testTable.getNameCompletions("s", 5));
+        assertEquals(List.of("First"), testTable.getNameCompletions("FIR", 5));
+
+        try {
+            testTable.removeEntry("First");
+        } catch (ItemNotFoundException e) {
+            fail();
+        }
+        testTable.putEntry(new Family("Fourth"));
+        assertEquals(List.of("Fourth"), testTable.getNameCompletions("f", 5));
+    }
+
+    @Test
+    void testGetPage() {
+        Family alpha = new Family("alpha");
+        testTable.putAll(List.of(f3, f1, alpha, f2));
+        assertEquals(4, testTable.size());
+        TablePage first = testTable.getPage(Attributes.DEFAULT, 0, 3);
+        assertEquals(List.of(alpha, f1, f2), first.getEntries());
+        assertEquals("First", first.getRows()[1][0]);
+        TablePage last = testTable.getPage(Attributes.DEFAULT, first.getNext(), 3);
+        assertEquals(List.of(f3), last.getEntries());
+        assertFalse(last.hasNext());
+        assertEquals(List.of(f2, f3), testTable.getPage(Attributes.HARDNESS, 2, 3).getEntries());
+        assertTrue(testTable.getPage(Attributes.DEFAULT, 4, 3).getEntries().isEmpty());
+    }
+
+    @Test
+    void testGetPageDescending() {
+        Family alpha = new Family("alpha");
+        testTable.putAll(List.of(f3, f1, alpha, f2));
+        TablePage first = testTable.getPage(Attributes.DEFAULT, (TableCursor) null, 3, true);
+        assertEquals(List.of(f3, f2, f1), first.getEntries());
+        TablePage last = testTable.getPage(Attributes.DEFAULT, first.getNext(), 3, true);
+        assertEquals(List.of(alpha), last.getEntries());
+        assertFalse(last.hasNext());
+        assertEquals(List.of(f1, alpha), testTable.getPage(Attributes.HARDNESS, 2, 3, true).getEntries());
+    }
+
+    @Test
+    void testSearchDescriptions() {
+        Family feldspar = new Family("Feldspar");
+        feldspar.setDescription("Framework silicates making up much of the crust");
+        Family garnet = new Family("Garnet");
+        garnet.setDescription("Nesosilicates found in metamorphic rocks");
+        testTable.putEntry(feldspar);
+        testTable.putEntry(garnet);
+        assertEquals(List.of(feldspar), testTable.searchDescriptions("crust", 5));
+
+        garnet.setDescription("Red nesosilicates of the crust");
+        assertEquals(List.of(garnet), testTable.searchDescriptions("red", 5));
+        assertEquals(2, testTable.searchDescriptions("crust", 5).size());
+        try {
+            testTable.removeEntry("Feldspar");
+        } catch (ItemNotFoundException e) {
+            fail();
+        }
+        feldspar.setDescription("Removed from the table");
+        assertEquals(List.of(garnet), testTable.searchDescriptions("crust table", 5));
+    }
+
+    @Test
+    void testPutAllWithDescriptionIndex() {
+        DescriptionIndex descriptions = new DescriptionIndex();
+        descriptions.put("Mica", "Indexed before loading");
+        descriptions.put("Talc", "Indexed before loading");
+        Family mica = new Family("Mica");
+        mica.setDescription("Indexed before loading");
+        testTable.putAll(List.of(mica), descriptions);
+        assertEquals("Mica", testTable.searchDescriptions("before", 5).get(0).getName());
+        assertEquals(1, descriptions.size());
+    }
+
+    @Test
+    void testGetNameSuggestions() {
+        testTable.putEntry(new Family("Feldspar"));
+        testTable.putEntry(new Family("Garnet"));
+        assertEquals(List.of("Feldspar"), testTable.getNameSuggestions("feldspat", 5));
+        assertEquals(List.of("Garnet"), testTable.getNameSuggestions("Granet", 5));
+        assertTrue(testTable.getNameSuggestions("Pyroxene", 5).isEmpty());
+
+        try {
+            testTable.removeEntry("Garnet");
+        } catch (ItemNotFoundException e) {
+            fail();
+        }
+        assertTrue(testTable.getNameSuggestions("Granet", 5).isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package model.tableentry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyNameIndexTest {
+
+    FuzzyNameIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new FuzzyNameIndex();
+        for (String name : List.of("Quartz", "Calcite", "Dolomite", "Diamond", "Halite", "Quartzite", "Qz")) {
+            index.add(name);
+        }
+    }
+
+    @Test
+    void testSearchFindsMisspellings() {
+        assertEquals(List.of("Quartz"), index.search("Quarz", 2, 5));
+        assertEquals(List.of("Calcite"), index.search("calcit", 2, 5));
+        assertEquals(List.of("Quartz"), index.search("QUARTZ", 2, 5));
+        assertEquals(List.of("Qz"), index.search("Q", 2, 5));
+        assertTrue(index.search("Magnetite", 2, 5).isEmpty());
+    }
+
+    @Test
+    void testSearchRanksByDistance() {
+        index.add("Qaurtz");
+        assertEquals(List.of("Quartz", "Qaurtz"), index.search("Quartz", 2, 5));
+        assertEquals(List.of("Quartz"), index.search("Quartz", 2, 1));
+        assertTrue(index.search("Quartz", 2, 0).isEmpty());
+        assertEquals(List.of("Halite"), index.search("Halite", 0, 5));
+    }
+
+    @Test
+    void testAddAndRemove() {
+        index.add("Quartz");
+        assertEquals(7, index.size());
+
+        index.remove("Quartz");
+        index.remove("Pyrite");
+        assertEquals(6, index.size());
+        assertTrue(index.search("Quarz", 1, 5).isEmpty());
+
+        index.add("Quartz");
+        assertEquals(List.of("Quartz"), index.search("Quarz", 1, 5));
+    }
+
+    @Test
+    void testSearchMatchesBruteForce() {
+        Random random = new Random(7);
+        List<String> names = new ArrayList<>();
+        FuzzyNameIndex randomIndex = new FuzzyNameIndex();
+        for (int i = 0; i < 2000; i++) {
+            String name = randomName(random, 1 + random.nextInt(9));
+            names.add(name);
+            randomIndex.add(name);
+        }
+        for (int i = 0; i < 200; i++) {
+            String query = randomName(random, random.nextInt(10));
+            assertEquals(bruteForce(names, query), randomIndex.search(query, 2, 10), query);
+        }
+    }
+
+    String randomName(Random random, int length) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            name.append("aAbcdeE".charAt(random.nextInt(7)));
+        }
+        return name.toString();
+    }
+
+    List<String> bruteForce(List<String> names, String query) {
+        String folded = query.toLowerCase(Locale.ROOT);
+        List<String> matches = new ArrayList<>();
+        for (String name : names) {
+            if (!matches.contains(name)
+                    && EditDistance.levenshtein(folded, name.toLowerCase(Locale.ROOT), 2) <= 2) {
+                matches.add(name);
+            }
+        }
+        matches.sort(Comparator.comparingInt((String name) ->
+                        EditDistance.levenshtein(folded, name.toLowerCase(Locale.ROOT), 2))
+                .thenComparing(name -> name.toLowerCase(Locale.ROOT)).thenComparing(name -> name));
+        return matches.subList(0, Math.min(10, matches.size()));
+    }
+}
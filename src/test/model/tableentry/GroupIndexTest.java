@@ -0,0 +1,69 @@
+package model.tableentry;
+
+import model.chemicalstructure.Formula;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupIndexTest {
+
+    GroupIndex index;
+    Formula forsterite;
+
+    @BeforeEach
+    void beforeEach() throws UnknownElementException {
+        index = new GroupIndex();
+        forsterite = new Formula("Mg2(SiO4)");
+        index.add(0, forsterite);
+        index.add(1, new Formula("Zr(SiO4)2"));
+        index.add(2, new Formula("Ca(CO3)"));
+        index.add(3, new Formula("SiO2"));
+    }
+
+    @Test
+    void testMatch() {
+        assertEquals(bits(0, 1), index.match("O4Si", 1));
+        assertEquals(bits(1), index.match("O4Si", 2));
+        assertEquals(bits(), index.match("O4Si", 3));
+        assertEquals(bits(2), index.match("CO3", 0.5));
+        assertEquals(bits(), index.match("O2Si", 1));
+        assertEquals(List.of("CO3", "O4Si"), index.getSignatures());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1);
+        index.remove(7);
+        assertEquals(bits(0), index.match("O4Si", 1));
+        assertEquals(bits(), index.match("O4Si", 2));
+
+        index.remove(2);
+        assertEquals(List.of("O4Si"), index.getSignatures());
+    }
+
+    @Test
+    void testUpdate() throws UnknownElementException {
+        index.update(0, forsterite);
+        assertEquals(bits(0, 1), index.match("O4Si", 1));
+
+        index.update(0, new Formula("Mg(CO3)"));
+        assertEquals(bits(1), index.match("O4Si", 1));
+        assertEquals(bits(0, 2), index.match("CO3", 1));
+
+        index.update(5, new Formula("Mg3(SiO4)3"));
+        assertEquals(bits(1, 5), index.match("O4Si", 2));
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bitSet = new BitSet();
+        for (int id : ids) {
+            bitSet.set(id);
+        }
+        return bitSet;
+    }
+}
@@ -0,0 +1,85 @@
+package model.tableentry;
+
+import model.chemicalstructure.Formula;
+import model.entries.Mineral;
+import model.enums.Cleavage;
+import model.enums.CrystalStructure;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MineralColumnsTest {
+
+    MineralColumns columns;
+    Mineral quartz;
+    Mineral halite;
+
+    @BeforeEach
+    void beforeEach() throws UnknownElementException {
+        columns = new MineralColumns();
+        quartz = new Mineral("Quartz");
+        Mineral.fillMineral(quartz, new Formula("SiO2"), CrystalStructure.HEXAGONAL, 7.0f, 2.65f, 1.54f,
+                "Silica", Cleavage.NONE);
+        halite = new Mineral("Halite");
+        Mineral.fillMineral(halite, new Formula("NaCl"), CrystalStructure.CUBIC, 2.5f, 2.17f, 1.54f,
+                "Rock salt", Cleavage.CUBIC);
+    }
+
+    @Test
+    void testSetStoresEveryColumn() {
+        columns.set(0, quartz);
+
+        assertTrue(columns.isStored(0));
+        assertEquals(7.0f, columns.getHardness(0));
+        assertEquals(2.65f, columns.getDensity(0));
+        assertEquals(1.54f, columns.getIndexOfRefraction(0));
+        assertEquals(quartz.getGeneralFormula().getMolarMass(), columns.getMolarMass(0));
+        assertEquals(CrystalStructure.HEXAGONAL, columns.getCrystalStructure(0));
+        assertEquals(Cleavage.NONE, columns.getCleavage(0));
+    }
+
+    @Test
+    void testSetGrowsColumns() {
+        columns.set(100, halite);
+        columns.set(3, quartz);
+
+        assertEquals(2, columns.size());
+        assertFalse(columns.isStored(50));
+        assertEquals(CrystalStructure.CUBIC, columns.getCrystalStructure(100));
+
+        columns.clear(100);
+        columns.clear(7);
+        assertEquals(1, columns.size());
+        assertFalse(columns.isStored(100));
+    }
+
+    @Test
+    void testSortsAreStable() {
+        columns.set(0, quartz);
+        columns.set(1, halite);
+        columns.set(2, quartz);
+
+        assertEquals(List.of(1, 2, 0), columns.sortByCrystalStructure(List.of(2, 1, 0)));
+        assertEquals(List.of(1, 0, 2), columns.sortByCleavage(List.of(0, 1, 2)));
+        assertEquals(List.of(1, 0, 2), columns.sortByMolarMass());
+    }
+
+    @Test
+    void testMolarMassBetween() {
+        columns.set(0, quartz);
+        columns.set(1, halite);
+        columns.set(2, quartz);
+        columns.clear(2);
+
+        BitSet expected = new BitSet();
+        expected.set(0);
+        assertEquals(expected, columns.molarMassBetween(59, 61));
+        expected.set(1);
+        assertEquals(expected, columns.molarMassBetween(0, 100));
+    }
+}
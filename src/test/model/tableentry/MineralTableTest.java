@@ -4,8 +4,10 @@ import model.chemicalstructure.Formula;
 import model.entries.Mineral;
 import model.entries.WikiEntry;
 import utils.fieldnames.Attributes;
+import model.enums.AtomicSymbols;
 import model.enums.Cleavage;
 import model.enums.CrystalStructure;
+import model.enums.SimilarityMetric;
 import model.modelexceptions.DuplicationException;
 import model.modelexceptions.EmptyTableException;
 import model.modelexceptions.ItemNotFoundException;
@@ -15,7 +17,13 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -262,11 +270,231 @@ class MineralTableTest {
         testNonDefaultOrdering(nonDefaultSort);
     }
 
+    @Test
+    void testGetTableSortedByMolarMass() {
+        testGetTableSortedByNonEmptyTable();
+        try {
+            assertEquals(Arrays.asList(m2, m1, m3, m5, m4), testTable.getTableSortedBy(Attributes.MOLAR_MASS));
+            List<Mineral> oxygenGroup = testTable.getTableSortedByWeightPercent(AtomicSymbols.O);
+            assertEquals(Arrays.asList(m4, m1, m3), oxygenGroup.subList(2, 5));
+        } catch (EmptyTableException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testGetTableSortedByWeightPercentEmptyTable() {
+        try {
+            testTable.getTableSortedByWeightPercent(AtomicSymbols.O);
+            fail();
+        } catch (EmptyTableException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testGetMineralsWithMolarMassAndWeightPercent() {
+        testGetTableSortedByNonEmptyTable();
+        List<Mineral> heavy = testTable.getMineralsWithMolarMass(200, 300);
+        assertEquals(2, heavy.size());
+        assertTrue(heavy.containsAll(Arrays.asList(m4, m5)));
+
+        List<Mineral> oxygenRich = testTable.getMineralsWithWeightPercent(AtomicSymbols.O, 50, 100);
+        assertEquals(2, oxygenRich.size());
+        assertTrue(oxygenRich.containsAll(Arrays.asList(m1, m3)));
+    }
+
+    @Test
+    void testGetTableAsArrayHasMolarMassColumn() {
+        try {
+            testTable.addEntry(m1);
+        } catch (DuplicationException e) {
+            fail();
+        }
+        String[] row = testTable.getTableAsArray(Attributes.DEFAULT)[0];
+        assertEquals(8, row.length);
+        assertEquals("60.083", row[7]);
+    }
+
+    @Test
+    void testGetVersion() {
+        long start = testTable.getVersion();
+        testTable.putAll(Arrays.asList(m1, m2));
+        assertEquals(start + 2, testTable.getVersion());
+        m1.setHardness(8.0f);
+        m3.setHardness(8.0f);
+        assertEquals(start + 3, testTable.getVersion());
+        testTable.removeAll(Arrays.asList("Diamond", "Corundum"));
+        assertEquals(start + 4, testTable.getVersion());
+    }
+
+    @Test
+    void testGetTableAsArrayReusesRowsUntilChanged() {
+        testTable.putAll(Arrays.asList(m1, m2, m3));
+        String[][] first = testTable.getTableAsArray(Attributes.HARDNESS);
+        String[][] second = testTable.getTableAsArray(Attributes.HARDNESS);
+        assertNotSame(first, second);
+        assertSame(first[0], second[0]);
+        assertNotSame(first[0], testTable.getTableAsArray(Attributes.IOR)[0]);
+
+        String top = first[first.length - 1][0];
+        m1.setHardness(11.0f);
+        String[][] edited = testTable.getTableAsArray(Attributes.HARDNESS);
+        assertNotSame(first[0], edited[0]);
+        assertEquals("Quartz", edited[edited.length - 1][0]);
+        assertNotEquals("Quartz", top);
+
+        testTable.removeAll(Arrays.asList("Quartz"));
+        assertEquals(2, testTable.getTableAsArray(Attributes.HARDNESS).length);
+    }
+
     @Test
     void testGetTableAsArrayEmptyTable() {
         assertEquals(0, testTable.getTableAsArray(Attributes.DEFAULT).length);
     }
 
+    @Test
+    void testGetMineralsMatching() {
+        testGetTableSortedByNonEmptyTable();
+        List<Mineral> silicates = testTable.getMineralsMatching(new ElementQuery()
+                .containing(AtomicSymbols.SI, AtomicSymbols.O));
+        assertEquals(2, silicates.size());
+        assertTrue(silicates.containsAll(Arrays.asList(m1, m4)));
+
+        List<Mineral> oxidesWithoutSilicon = testTable.getMineralsMatching(new ElementQuery()
+                .containing(AtomicSymbols.O).excluding(AtomicSymbols.SI));
+        assertEquals(List.of(m3), oxidesWithoutSilicon);
+
+        assertEquals(2, testTable.countMineralsMatching(new ElementQuery()
+                .containingAnyOf(AtomicSymbols.C, AtomicSymbols.S)));
+        assertEquals(5, testTable.countMineralsMatching(new ElementQuery()));
+    }
+
+    @Test
+    void testGetMineralsMatchingAfterRemoveAndFormulaChange() throws UnknownElementException {
+        testGetTableSortedByNonEmptyTable();
+        ElementQuery silicon = new ElementQuery().containing(AtomicSymbols.SI);
+        try {
+            testTable.removeEntry("Quartz");
+        } catch (ItemNotFoundException e) {
+            fail();
+        }
+        assertEquals(List.of(m4), testTable.getMineralsMatching(silicon));
+
+        m3.setGeneralFormula(new Formula("Al2SiO5"));
+        assertEquals(2, testTable.countMineralsMatching(silicon));
+
+        m1.setGeneralFormula(new Formula("Fe2SiO4"));
+        assertEquals(2, testTable.countMineralsMatching(silicon));
+        assertEquals(0, testTable.countMineralsMatching(new ElementQuery().containing(AtomicSymbols.FE)));
+
+        try {
+            testTable.addEntry(m1);
+        } catch (DuplicationException e) {
+            fail();
+        }
+        assertEquals(List.of(m1), testTable.getMineralsMatching(new ElementQuery().containing(AtomicSymbols.FE)));
+    }
+
+    @Test
+    void testGetMostSimilarMinerals() throws UnknownElementException {
+        testGetTableSortedByNonEmptyTable();
+        List<SimilarityMatch> matches = testTable.getMostSimilarMinerals(new Formula("Si2O4"), 2,
+                SimilarityMetric.COSINE);
+        assertEquals(2, matches.size());
+        assertEquals(m1, matches.get(0).getMineral());
+        assertEquals(m4, matches.get(1).getMineral());
+
+        try {
+            testTable.removeEntry("Quartz");
+        } catch (ItemNotFoundException e) {
+            fail();
+        }
+        assertEquals(m4, testTable.getMostSimilarMinerals(new Formula("SiO2"), 1,
+                SimilarityMetric.NORMALIZED_L1).get(0).getMineral());
+    }
+
+    @Test
+    void testGetPolymorphsAndDuplicateChemistry() throws UnknownElementException {
+        testGetTableSortedByNonEmptyTable();
+        Mineral graphite = new Mineral("Graphite");
+        graphite.setGeneralFormula(new Formula("C"));
+        Mineral cristobalite = new Mineral("Cristobalite");
+        cristobalite.setGeneralFormula(new Formula("O2Si"));
+        try {
+            testTable.addEntry(graphite);
+            testTable.addEntry(cristobalite);
+            assertEquals(List.of(m2), testTable.getPolymorphs("Graphite"));
+            assertEquals(List.of(cristobalite), testTable.getPolymorphs("Quartz"));
+            assertTrue(testTable.getPolymorphs("Corundum").isEmpty());
+            assertEquals(2, testTable.getDuplicateChemistryGroups().size());
+
+            cristobalite.setGeneralFormula(new Formula("SiO3"));
+            assertTrue(testTable.getPolymorphs("Quartz").isEmpty());
+            testTable.removeEntry("Graphite");
+            assertTrue(testTable.getDuplicateChemistryGroups().isEmpty());
+        } catch (DuplicationException | ItemNotFoundException e) {
+            fail();
+        }
+        assertTrue(testTable.containsFormula(new Formula("Ag2S")));
+        assertFalse(testTable.containsFormula(new Formula("NaCl")));
+        assertEquals(List.of(m1), testTable.getMineralsWithFormula(new Formula("Si2O4")));
+    }
+
+    @Test
+    void testGetPolymorphsItemNotPresent() {
+        try {
+            testTable.getPolymorphs("Quartz");
+            fail();
+        } catch (ItemNotFoundException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testGetMineralsWithAnyGroup() throws UnknownElementException {
+        testGetTableSortedByNonEmptyTable();
+        Mineral zircon = new Mineral("Zircon");
+        zircon.setGeneralFormula(new Formula("Zr(SiO4)"));
+        Mineral calcite = new Mineral("Calcite");
+        calcite.setGeneralFormula(new Formula("Ca(CO3)"));
+        testTable.putEntry(zircon);
+        testTable.putEntry(calcite);
+
+        assertEquals(List.of(zircon), testTable.getMineralsWithAnyGroup(1, "(SiO4)"));
+        assertEquals(2, testTable.getMineralsWithAnyGroup(1, "SiO4", "(CO3)").size());
+        assertTrue(testTable.getMineralsWithAnyGroup(2, "SiO4").isEmpty());
+        assertEquals(List.of("CO3", "O4Si"), testTable.getGroupSignatures());
+
+        zircon.setGeneralFormula(new Formula("Zr(SiO4)2"));
+        assertEquals(List.of(zircon), testTable.getMineralsWithAnyGroup(2, "SiO4"));
+        try {
+            testTable.removeEntry("Calcite");
+            testTable.getMineralsWithAnyGroup(1, "(Qu)");
+            fail();
+        } catch (ItemNotFoundException e) {
+            fail();
+        } catch (UnknownElementException e) {
+            // Expected
+        }
+        assertEquals(List.of("O4Si"), testTable.getGroupSignatures());
+    }
+
+    @Test
+    void testPutEntryReplacesMineralWithSameName() throws UnknownElementException {
+        testTable.putEntry(m1);
+        Mineral replacement = new Mineral("Quartz");
+        replacement.setGeneralFormula(new Formula("GeO2"));
+        testTable.putEntry(replacement);
+
+        assertEquals(replacement, testTable.getMineralNameTable().get("Quartz"));
+        assertEquals(0, testTable.countMineralsMatching(new ElementQuery().containing(AtomicSymbols.SI)));
+        assertEquals(1, testTable.countMineralsMatching(new ElementQuery().containing(AtomicSymbols.GE)));
+
+        m1.setGeneralFormula(new Formula("SiC"));
+        assertEquals(0, testTable.countMineralsMatching(new ElementQuery().containing(AtomicSymbols.SI)));
+    }
+
     private void testNonDefaultOrdering(String[][] nonDefaultSort) {
         for (int i = 0; i < 7; i++) {
             assertEquals(nonDefaultSort[2][i], m1.giveAttributeAsObjects()[i]);
@@ -302,4 +530,246 @@ class MineralTableTest {
             assertEquals(defaultSort[4][i], m5.giveAttributeAsObjects()[i]);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetMineralsInRange() {
+        testGetTableSortedByNonEmptyTable();
+        assertEquals(Arrays.asList(m4, m1), testTable.getMineralsInRange(Attributes.HARDNESS, 5.5f, 7.0f));
+        assertEquals(Arrays.asList(m4, m1, m2), testTable.getMineralsInRange(Attributes.DENSITY, 0, 3.5f));
+        assertEquals(Arrays.asList(m3, m2), testTable.getMineralsInRange(Attributes.IOR, 1.6f, 3));
+        assertTrue(testTable.getMineralsInRange(Attributes.CRYSTAL, 0, 10).isEmpty());
+    }
+
+    @Test
+    void testAttributeIndexesFollowEdits() {
+        testGetTableSortedByNonEmptyTable();
+        m5.setHardness(6.5f);
+        m2.setDensity(1.0f);
+        try {
+            testTable.removeEntry("Quartz");
+            assertEquals(Arrays.asList(m4, m5), testTable.getMineralsInRange(Attributes.HARDNESS, 5.5f, 7.0f));
+            assertEquals(Arrays.asList(m2, m4, m3, m5), testTable.getTableSortedBy(Attributes.DENSITY));
+        } catch (ItemNotFoundException | EmptyTableException e) {
+            fail();
+        }
+        m1.setHardness(6.0f);
+        assertEquals(Arrays.asList(m4, m5), testTable.getMineralsInRange(Attributes.HARDNESS, 5.5f, 7.0f));
+    }
+
+    @Test
+    void testColumnsFollowEdits() {
+        testGetTableSortedByNonEmptyTable();
+        m2.setCrystalStructure(CrystalStructure.TRIGONAL);
+        m4.setCleavage(Cleavage.NONE);
+        try {
+            m3.setGeneralFormula(new Formula("Al2O3"));
+            testTable.removeEntry("Quartz");
+            assertEquals(Arrays.asList(m4, m5, m3, m2), testTable.getTableSortedBy(Attributes.CRYSTAL));
+            assertEquals(Arrays.asList(m5, m4, m3), testTable.getTableSortedBy(Attributes.CLEAVAGE).subList(1, 4));
+            assertEquals(Arrays.asList(m3, m5), testTable.getMineralsWithMolarMass(100, 250));
+        } catch (UnknownElementException | ItemNotFoundException | EmptyTableException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testPutAllAndRemoveAll() {
+        testTable.putAll(Arrays.asList(m1, m2, m3, m4, m5));
+        assertEquals(5, testTable.getMineralNameTable().size());
+        assertEquals(Arrays.asList(m4, m1), testTable.getMineralsInRange(Attributes.HARDNESS, 5.5f, 7.0f));
+
+        assertEquals(2, testTable.removeAll(Arrays.asList("Quartz", "Orthoclase", "Quartz", "Pyrite")));
+        assertEquals(3, testTable.getMineralNameTable().size());
+        assertTrue(testTable.getMineralsInRange(Attributes.HARDNESS, 5.5f, 7.0f).isEmpty());
+        assertTrue(testTable.getMineralsWithFormula(m1.getGeneralFormula()).isEmpty());
+    }
+
+    @Test
+    void testGetNameCompletions() {
+        testTable.putAll(Arrays.asList(m1, m2, m3, m4, m5));
+        assertEquals(Arrays.asList("Acanthite"), testTable.getNameCompletions("a", 5));
+        assertEquals(Arrays.asList("Corundum"), testTable.getNameCompletions("co", 5));
+        assertEquals(Arrays.asList("Acanthite", "Corundum"), testTable.getNameCompletions("", 2));
+
+        testTable.removeAll(Arrays.asList("Corundum"));
+        testTable.putEntry(new Mineral("Cordierite"));
+        assertEquals(Arrays.asList("Cordierite"), testTable.getNameCompletions("co", 5));
+    }
+
+    @Test
+    void testGetPageByName() {
+        testTable.putAll(Arrays.asList(m1, m2, m3, m4, m5));
+        assertEquals(5, testTable.size());
+        TablePage first = testTable.getPage(Attributes.DEFAULT, 0, 2);
+        assertEquals(Arrays.asList(m5, m3), first.getEntries());
+        assertEquals("Acanthite", first.getRows()[0][0]);
+        testTable.removeAll(Arrays.asList("Corundum"));
+        TablePage second = testTable.getPage(Attributes.DEFAULT, first.getNext(), 2);
+        assertEquals(Arrays.asList(m2, m4), second.getEntries());
+        TablePage last = testTable.getPage(Attributes.DEFAULT, second.getNext(), 2);
+        assertEquals(Arrays.asList(m1), last.getEntries());
+        assertFalse(last.hasNext());
+        assertEquals(Arrays.asList(m4, m1), testTable.getPage(Attributes.DEFAULT, 2, 5).getEntries());
+    }
+
+    @Test
+    void testGetPageByAttribute() {
+        testTable.putAll(Arrays.asList(m1, m2, m3, m4, m5));
+        TablePage first = testTable.getPage(Attributes.DENSITY, 0, 2);
+        assertEquals(Arrays.asList(m4, m1), first.getEntries());
+        assertEquals(Arrays.asList(m2, m3), testTable.getPage(Attributes.DENSITY, first.getNext(), 2).getEntries());
+        assertEquals(Arrays.asList(m3, m5), testTable.getPage(Attributes.DENSITY, 3, 2).getEntries());
+        assertTrue(testTable.getPage(Attributes.MOLAR_MASS, 0, 0).getEntries().isEmpty());
+        assertFalse(testTable.getPage(Attributes.MOLAR_MASS, 0, 0).hasNext());
+    }
+
+    // EFFECTS: returns the value mineral is paged by for attribute
+    private static double pagedValue(Mineral mineral, Attributes attribute) {
+        switch (attribute) {
+            case HARDNESS:
+                return mineral.getHardness();
+            case DENSITY:
+                return mineral.getDensity();
+            case IOR:
+                return mineral.getIndexOfRefraction();
+            case MOLAR_MASS:
+                return mineral.getGeneralFormula().getMolarMass();
+            case CRYSTAL:
+                return mineral.getCrystalStructure().ordinal();
+            case CLEAVAGE:
+                return mineral.getCleavage().ordinal();
+            default:
+                return 0;
+        }
+    }
+
+    @Test
+    void testPagesMatchSortedOrder() throws UnknownElementException {
+        Random random = new Random(3);
+        List<Formula> formulas = Arrays.asList(new Formula("SiO2"), new Formula("C"), new Formula("Ag2S"));
+        List<Mineral> minerals = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Mineral mineral = new Mineral((i % 2 == 0 ? "m" : "M") + random.nextInt(1000) + "-" + i);
+            mineral.setHardness(1 + random.nextInt(4) / 2.0f);
+            mineral.setDensity(1 + random.nextInt(40) / 10.0f);
+            mineral.setIndexOfRefraction(1 + random.nextInt(3) / 4.0f);
+            mineral.setGeneralFormula(formulas.get(random.nextInt(formulas.size())));
+            mineral.setCrystalStructure(CrystalStructure.values()[random.nextInt(CrystalStructure.values().length)]);
+            mineral.setCleavage(Cleavage.values()[random.nextInt(Cleavage.values().length)]);
+            minerals.add(mineral);
+        }
+        testTable.putAll(minerals);
+        for (Attributes attribute : Attributes.values()) {
+            List<WikiEntry> expected = new ArrayList<>(minerals);
+            expected.sort(attribute == Attributes.DEFAULT
+                    ? Comparator.comparing(WikiEntry::getName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(WikiEntry::getName)
+                    : Comparator.comparingDouble((WikiEntry m) -> pagedValue((Mineral) m, attribute))
+                    .thenComparing(WikiEntry::getName));
+            List<WikiEntry> byCursor = new ArrayList<>();
+            List<WikiEntry> byOffset = new ArrayList<>();
+            TablePage page = testTable.getPage(attribute, 0, 7);
+            byCursor.addAll(page.getEntries());
+            while (page.hasNext()) {
+                page = testTable.getPage(attribute, page.getNext(), 7);
+                byCursor.addAll(page.getEntries());
+            }
+            for (int offset = 0; offset < minerals.size(); offset += 7) {
+                byOffset.addAll(testTable.getPage(attribute, offset, 7).getEntries());
+            }
+            assertEquals(expected, byCursor);
+            assertEquals(expected, byOffset);
+            Collections.reverse(expected);
+            assertEquals(expected, readDescending(attribute, 7));
+        }
+    }
+
+    // EFFECTS: returns the entries of testTable read in descending order of attribute, pageSize at a time, by
+    //          cursor and checked against the pages read by offset
+    private List<WikiEntry> readDescending(Attributes attribute, int pageSize) {
+        List<WikiEntry> entries = new ArrayList<>();
+        TablePage page = testTable.getPage(attribute, (TableCursor) null, pageSize, true);
+        entries.addAll(page.getEntries());
+        while (page.hasNext()) {
+            assertEquals(page.getEntries(),
+                    testTable.getPage(attribute, entries.size() - page.getEntries().size(), pageSize, true)
+                            .getEntries());
+            page = testTable.getPage(attribute, page.getNext(), pageSize, true);
+            entries.addAll(page.getEntries());
+        }
+        return entries;
+    }
+
+    @Test
+    void testSearchDescriptions() {
+        m1.setDescription("A hard silicate found in granite");
+        m4.setDescription("A feldspar of granite");
+        testTable.putAll(Arrays.asList(m1, m2, m3, m4, m5));
+        assertEquals(Arrays.asList(m4, m1), testTable.searchDescriptions("granite", 5));
+
+        m4.setDescription("A feldspar of syenite");
+        assertEquals(Arrays.asList(m1), testTable.searchDescriptions("granite", 5));
+        testTable.removeAll(Arrays.asList("Quartz"));
+        assertTrue(testTable.searchDescriptions("granite", 5).isEmpty());
+        assertEquals(Arrays.asList(m4), testTable.searchDescriptions("Syenite", 5));
+    }
+
+    @Test
+    void testPutAllWithDescriptionIndex() {
+        DescriptionIndex descriptions = new DescriptionIndex();
+        descriptions.put("Quartz", "Indexed before loading");
+        descriptions.put("Stishovite", "Indexed before loading");
+        m1.setDescription("Indexed before loading");
+        m2.setDescription("Indexed after loading");
+        testTable.putAll(Arrays.asList(m1, m2), descriptions);
+        assertEquals(Arrays.asList(m1), testTable.searchDescriptions("before", 5));
+        assertEquals(Arrays.asList(m2), testTable.searchDescriptions("after", 5));
+        assertEquals(2, descriptions.size());
+    }
+
+    @Test
+    void testGetNameSuggestions() {
+        testTable.putAll(Arrays.asList(m1, m2, m3, m4, m5));
+        assertEquals(Arrays.asList("Quartz"), testTable.getNameSuggestions("quarz", 5));
+        assertEquals(Arrays.asList("Corundum"), testTable.getNameSuggestions("Korundun", 5));
+        assertTrue(testTable.getNameSuggestions("Feldspar", 5).isEmpty());
+
+        testTable.removeAll(Arrays.asList("Quartz"));
+        testTable.putEntry(new Mineral("Quartzite"));
+        assertTrue(testTable.getNameSuggestions("quarz", 5).isEmpty());
+        assertEquals(Arrays.asList("Quartzite"), testTable.getNameSuggestions("Quarzite", 5));
+    }
+
+    @Test
+    void testConcurrentReadsAndWrites() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread * 250;
+            tasks.add(executor.submit(() -> {
+                for (int i = offset; i < offset + 250; i++) {
+                    Mineral mineral = new Mineral("Mineral " + i);
+                    mineral.setHardness(1.0f + i % 9);
+                    testTable.putEntry(mineral);
+                    testTable.getMineralsInRange(Attributes.HARDNESS, 5, 6);
+                    testTable.containsFormula(m1.getGeneralFormula());
+                    mineral.setDensity(1.0f + i % 5);
+                }
+            }));
+        }
+        try {
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (Exception e) {
+            fail();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, testTable.getMineralNameTable().size());
+        assertEquals(1000, testTable.getTableAsArray(Attributes.DENSITY).length);
+        assertEquals(222, testTable.getMineralsInRange(Attributes.HARDNESS, 5, 6).size());
+        assertEquals(200, testTable.getMineralsInRange(Attributes.DENSITY, 3, 3).size());
+    }
+}
@@ -0,0 +1,70 @@
+package model.tableentry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    NameIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new NameIndex();
+        index.add("Quartz");
+        index.add("Quartzite");
+        index.add("albite");
+        index.add("Anorthite");
+        index.add("Augite");
+        index.add("quartz");
+    }
+
+    @Test
+    void testCompleteIgnoresCase() {
+        assertEquals(List.of("albite", "Anorthite", "Augite"), index.complete("a", 10));
+        assertEquals(List.of("Quartz", "quartz", "Quartzite"), index.complete("QUARTZ", 10));
+        assertEquals(List.of("Quartzite"), index.complete("quartzi", 10));
+        assertTrue(index.complete("z", 10).isEmpty());
+    }
+
+    @Test
+    void testCompleteLimit() {
+        assertEquals(List.of("albite", "Anorthite"), index.complete("A", 2));
+        assertTrue(index.complete("A", 0).isEmpty());
+        assertEquals(6, index.complete("", 10).size());
+    }
+
+    @Test
+    void testPage() {
+        assertEquals(List.of("albite", "Anorthite", "Augite"), index.page(null, 0, 3));
+        assertEquals(List.of("Quartz", "quartz"), index.page("Augite", 0, 2));
+        assertEquals(List.of("quartz", "Quartzite"), index.page(null, 4, 5));
+        assertEquals(List.of("Quartzite"), index.page("Anorthite", 3, 5));
+        assertTrue(index.page("Quartzite", 0, 2).isEmpty());
+    }
+
+    @Test
+    void testPageDescending() {
+        assertEquals(List.of("Quartzite", "quartz"), index.page(null, 0, 2, true));
+        assertEquals(List.of("Augite", "Anorthite"), index.page("Quartz", 0, 2, true));
+        assertEquals(List.of("Anorthite", "albite"), index.page(null, 4, 5, true));
+        assertTrue(index.page("albite", 0, 2, true).isEmpty());
+    }
+
+    @Test
+    void testAddAndRemove() {
+        index.add("Quartz");
+        assertEquals(6, index.size());
+        assertTrue(index.contains("quartz"));
+
+        index.remove("quartz");
+        index.remove("Diamond");
+        assertEquals(5, index.size());
+        assertFalse(index.contains("quartz"));
+        assertTrue(index.contains("Quartz"));
+        assertEquals(List.of("Quartz", "Quartzite"), index.complete("q", 10));
+    }
+}
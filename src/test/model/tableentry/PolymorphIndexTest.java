@@ -0,0 +1,62 @@
+package model.tableentry;
+
+import model.chemicalstructure.Formula;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolymorphIndexTest {
+
+    PolymorphIndex index;
+
+    @BeforeEach
+    void beforeEach() throws UnknownElementException {
+        index = new PolymorphIndex();
+        index.add(0, new Formula("C"));
+        index.add(1, new Formula("SiO2"));
+        index.add(2, new Formula("C"));
+        index.add(3, new Formula("Si2O4"));
+        index.add(4, new Formula("CaCO3"));
+        index.add(5, new Formula());
+    }
+
+    @Test
+    void testAdd() throws UnknownElementException {
+        assertEquals(3, index.size());
+        assertEquals(List.of(0, 2), index.getIds(new Formula("C")));
+        assertEquals(List.of(1, 3), index.getIds(new Formula("O2Si")));
+        assertTrue(index.getIds(new Formula("NaCl")).isEmpty());
+        assertTrue(index.getIds(new Formula()).isEmpty());
+        assertEquals(2, index.getSharedGroups().size());
+    }
+
+    @Test
+    void testRemove() throws UnknownElementException {
+        index.remove(0);
+        index.remove(5);
+        index.remove(42);
+        assertEquals(List.of(2), index.getIds(new Formula("C")));
+        assertEquals(List.of(List.of(1, 3)), index.getSharedGroups());
+
+        index.remove(2);
+        assertEquals(2, index.size());
+        assertTrue(index.getIds(new Formula("C")).isEmpty());
+    }
+
+    @Test
+    void testUpdate() throws UnknownElementException {
+        index.update(3, new Formula("O4Si2"));
+        assertEquals(List.of(1, 3), index.getIds(new Formula("SiO2")));
+
+        index.update(4, new Formula("C"));
+        assertEquals(List.of(0, 2, 4), index.getIds(new Formula("C")));
+        assertTrue(index.getIds(new Formula("CaCO3")).isEmpty());
+
+        index.update(6, new Formula("NaCl"));
+        assertEquals(List.of(6), index.getIds(new Formula("NaCl")));
+    }
+}
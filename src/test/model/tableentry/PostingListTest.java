@@ -0,0 +1,85 @@
+package model.tableentry;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    // EFFECTS: returns the documents and frequencies of list as pairs, in order
+    private static List<List<Integer>> postingsOf(PostingList list) {
+        List<List<Integer>> postings = new ArrayList<>();
+        PostingList.Reader reader = list.reader();
+        while (reader.next()) {
+            postings.add(List.of(reader.getDocument(), reader.getFrequency()));
+        }
+        return postings;
+    }
+
+    @Test
+    void testAppendAndRead() {
+        PostingList list = new PostingList();
+        assertTrue(postingsOf(list).isEmpty());
+        list.append(0, 1);
+        list.append(3, 2);
+        list.append(200, 130);
+        list.append(1000000, 1);
+        assertEquals(List.of(List.of(0, 1), List.of(3, 2), List.of(200, 130), List.of(1000000, 1)),
+                postingsOf(list));
+        assertEquals(4, list.getDocumentFrequency());
+        assertEquals(12, list.getByteLength());
+    }
+
+    @Test
+    void testReaderPastEnd() {
+        PostingList list = new PostingList();
+        list.append(5, 1);
+        PostingList.Reader reader = list.reader();
+        assertTrue(reader.next());
+        assertFalse(reader.next());
+        assertEquals(Integer.MAX_VALUE, reader.getDocument());
+    }
+
+    @Test
+    void testCompact() {
+        PostingList list = new PostingList();
+        for (int document = 0; document < 6; document++) {
+            list.append(document, document + 1);
+        }
+        list.removeDocument();
+        list.removeDocument();
+        assertEquals(4, list.getDocumentFrequency());
+        PostingList compacted = list.compact(new int[]{0, -1, 1, 2, -1, 3});
+        assertEquals(List.of(List.of(0, 1), List.of(1, 3), List.of(2, 4), List.of(3, 6)), postingsOf(compacted));
+        assertEquals(4, compacted.getDocumentFrequency());
+        compacted.append(4, 1);
+        assertEquals(List.of(4, 1), postingsOf(compacted).get(4));
+    }
+
+    @Test
+    void testWriteAndRead() {
+        PostingList list = new PostingList();
+        for (int document = 0; document < 1000; document += 7) {
+            list.append(document, document % 5 + 1);
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            list.writeTo(new DataOutputStream(bytes));
+            PostingList read = PostingList.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            assertEquals(postingsOf(list), postingsOf(read));
+            assertEquals(list.getDocumentFrequency(), read.getDocumentFrequency());
+            read.append(1000, 1);
+            assertEquals(List.of(1000, 1), postingsOf(read).get(postingsOf(read).size() - 1));
+        } catch (IOException e) {
+            fail();
+        }
+    }
+}
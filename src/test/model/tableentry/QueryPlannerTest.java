@@ -0,0 +1,187 @@
+package model.tableentry;
+
+import model.chemicalstructure.Formula;
+import model.entries.Mineral;
+import model.enums.AccessPath;
+import model.enums.AtomicSymbols;
+import model.enums.Cleavage;
+import model.enums.CrystalStructure;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.fieldnames.Attributes;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlannerTest {
+    static final int MINERAL_COUNT = 2000;
+    static final String[] FORMULAS = {"SiO2", "NaCl", "Fe2SiO4", "CaCO3", "KAlSi3O8"};
+
+    MineralTable table;
+    List<Mineral> minerals;
+
+    @BeforeEach
+    void beforeEach() throws UnknownElementException {
+        table = new MineralTable();
+        minerals = new ArrayList<>();
+        CrystalStructure[] crystalStructures = CrystalStructure.values();
+        Cleavage[] cleavages = Cleavage.values();
+        for (int i = 0; i < MINERAL_COUNT; i++) {
+            Mineral mineral = new Mineral("Mineral" + i);
+            CrystalStructure crystalStructure = i % 100 == 0 ? CrystalStructure.TRICLINIC
+                    : crystalStructures[1 + i % 4];
+            Mineral.fillMineral(mineral, new Formula(FORMULAS[i % FORMULAS.length]), crystalStructure,
+                    (i % 100) / 10.0f, 2.0f + (i % 37) / 10.0f, 1.4f + (i % 11) / 20.0f, "Synthetic",
+                    cleavages[i % cleavages.length]);
+            minerals.add(mineral);
+        }
+        table.putAll(minerals);
+    }
+
+    List<Mineral> select(MineralQuery query) {
+        List<Mineral> results = new ArrayList<>();
+        table.select(query).forEach(results::add);
+        return results;
+    }
+
+    List<Mineral> bruteForce(Predicate<Mineral> predicate) {
+        List<Mineral> results = new ArrayList<>();
+        for (Mineral mineral : minerals) {
+            if (predicate.test(mineral)) {
+                results.add(mineral);
+            }
+        }
+        return results;
+    }
+
+    @Test
+    void testUnconditionedQueryScans() {
+        MineralQuery query = new MineralQuery();
+
+        assertEquals(AccessPath.FULL_SCAN, table.explain(query).getAccessPath());
+        assertEquals(MINERAL_COUNT, select(query).size());
+    }
+
+    @Test
+    void testRareCrystalStructureUsesItsIndex() {
+        MineralQuery query = new MineralQuery().withCrystalStructures(CrystalStructure.TRICLINIC)
+                .withRange(Attributes.DENSITY, 0, 10);
+
+        QueryPlan plan = table.explain(query);
+        assertEquals(AccessPath.CRYSTAL_INDEX, plan.getAccessPath());
+        assertEquals(20, plan.getEstimatedRows());
+        assertEquals(bruteForce(m -> m.getCrystalStructure() == CrystalStructure.TRICLINIC), select(query));
+    }
+
+    @Test
+    void testNarrowRangeUsesAttributeIndex() {
+        MineralQuery query = new MineralQuery().withRange(Attributes.HARDNESS, 9.9f, 10)
+                .withCleavages(Cleavage.CUBIC, Cleavage.BASAL, Cleavage.NONE, Cleavage.PRISMATIC);
+
+        QueryPlan plan = table.explain(query);
+        assertEquals(AccessPath.ATTRIBUTE_RANGE, plan.getAccessPath());
+        assertEquals(Attributes.HARDNESS, plan.getAttribute());
+        List<Mineral> expected = bruteForce(m -> m.getHardness() >= 9.9f && (m.getCleavage() == Cleavage.CUBIC
+                || m.getCleavage() == Cleavage.BASAL || m.getCleavage() == Cleavage.NONE
+                || m.getCleavage() == Cleavage.PRISMATIC));
+        expected.sort(Comparator.comparing(Mineral::getName));
+        assertEquals(expected, select(query));
+    }
+
+    @Test
+    void testCombinedConditionsMatchBruteForce() {
+        MineralQuery query = new MineralQuery().withRange(Attributes.DENSITY, 2.5f, 4.0f)
+                .withRange(Attributes.IOR, 1.5f, 1.8f)
+                .withCrystalStructures(CrystalStructure.CUBIC, CrystalStructure.MONOCLINIC)
+                .withElements(new ElementQuery().containing(AtomicSymbols.SI).excluding(AtomicSymbols.FE))
+                .withNamePrefix("Mineral1");
+        List<Mineral> expected = bruteForce(m -> m.getDensity() >= 2.5f && m.getDensity() <= 4.0f
+                && m.getIndexOfRefraction() >= 1.5f && m.getIndexOfRefraction() <= 1.8f
+                && (m.getCrystalStructure() == CrystalStructure.CUBIC
+                || m.getCrystalStructure() == CrystalStructure.MONOCLINIC)
+                && m.getGeneralFormula().count(AtomicSymbols.SI) > 0
+                && m.getGeneralFormula().count(AtomicSymbols.FE) == 0
+                && m.getName().startsWith("Mineral1"));
+
+        List<Mineral> results = select(query);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), results.size());
+        assertTrue(results.containsAll(expected));
+    }
+
+    @Test
+    void testSelectiveNamePrefixUsesNameIndex() {
+        MineralQuery query = new MineralQuery().withNamePrefix("Mineral12").withRange(Attributes.HARDNESS, 0, 5);
+
+        QueryPlan plan = table.explain(query);
+        assertEquals(AccessPath.NAME_INDEX, plan.getAccessPath());
+        assertEquals(111, plan.getEstimatedRows());
+        assertEquals(bruteForce(m -> m.getName().startsWith("Mineral12") && m.getHardness() <= 5),
+                select(query));
+        assertEquals(AccessPath.FULL_SCAN, table.explain(new MineralQuery().withNamePrefix("Min")).getAccessPath());
+        assertEquals(select(query), select(new MineralQuery().withNamePrefix("mINERAL12")
+                .withRange(Attributes.HARDNESS, 0, 5)));
+        assertEquals(MINERAL_COUNT, select(new MineralQuery().withNamePrefix("mineral")).size());
+    }
+
+    @Test
+    void testSortedAndLimited() {
+        MineralQuery query = new MineralQuery().withCrystalStructures(CrystalStructure.HEXAGONAL)
+                .sortedBy(Attributes.IOR).limit(15);
+        List<Mineral> expected = bruteForce(m -> m.getCrystalStructure() == CrystalStructure.HEXAGONAL);
+        expected.sort(Comparator.comparingDouble(Mineral::getIndexOfRefraction).thenComparing(Mineral::getName));
+
+        assertTrue(table.explain(query).isOrdered());
+        assertEquals(expected.subList(0, 15), select(query));
+
+        query.withRange(Attributes.MOLAR_MASS, 0, 100).sortedBy(Attributes.MOLAR_MASS);
+        List<Mineral> results = select(query);
+        assertEquals(15, results.size());
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).getGeneralFormula().getMolarMass()
+                    <= results.get(i).getGeneralFormula().getMolarMass());
+            assertTrue(results.get(i).getGeneralFormula().getMolarMass() <= 100);
+        }
+    }
+
+    @Test
+    void testCursorFiltersLazily() {
+        MineralQuery query = new MineralQuery().withRange(Attributes.HARDNESS, 0, 10).limit(3);
+        Iterator<Mineral> cursor = table.select(query).iterator();
+
+        assertTrue(cursor.hasNext());
+        assertEquals(1, ((QueryCursor) cursor).getBatchesRead());
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        assertFalse(cursor.hasNext());
+        assertEquals(1, ((QueryCursor) cursor).getBatchesRead());
+    }
+
+    @Test
+    void testCursorSkipsRemovedMinerals() {
+        MineralQuery query = new MineralQuery().withCrystalStructures(CrystalStructure.TRICLINIC);
+        Iterator<Mineral> cursor = table.select(query).iterator();
+        table.removeAll(List.of("Mineral0", "Mineral100"));
+
+        List<Mineral> results = new ArrayList<>();
+        cursor.forEachRemaining(results::add);
+        assertEquals(18, results.size());
+        assertFalse(results.contains(minerals.get(100)));
+    }
+
+    @Test
+    void testEmptyTable() {
+        MineralQuery query = new MineralQuery().withRange(Attributes.HARDNESS, 0, 1).sortedBy(Attributes.DENSITY);
+        MineralTable emptyTable = new MineralTable();
+
+        assertNotNull(emptyTable.explain(query));
+        assertFalse(emptyTable.select(query).iterator().hasNext());
+    }
+}
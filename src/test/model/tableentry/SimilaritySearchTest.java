@@ -0,0 +1,76 @@
+package model.tableentry;
+
+import model.chemicalstructure.Composition;
+import model.chemicalstructure.Formula;
+import model.entries.Mineral;
+import model.enums.SimilarityMetric;
+import model.modelexceptions.UnknownElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimilaritySearchTest {
+
+    List<Mineral> minerals;
+
+    @BeforeEach
+    void beforeEach() throws UnknownElementException {
+        minerals = new ArrayList<>();
+        minerals.add(mineral("Quartz", "SiO2"));
+        minerals.add(null);
+        minerals.add(mineral("Forsterite", "Mg2SiO4"));
+        minerals.add(mineral("Fayalite", "Fe2SiO4"));
+        minerals.add(mineral("Halite", "NaCl"));
+        minerals.add(new Mineral("Unknown"));
+    }
+
+    @Test
+    void testSearchClosestFirst() throws UnknownElementException {
+        Composition target = new Formula("(Mg, Fe)2SiO4").getComposition();
+        List<SimilarityMatch> matches = SimilaritySearch.search(minerals, target, 3, SimilarityMetric.NORMALIZED_L1);
+
+        assertEquals(3, matches.size());
+        assertEquals("Fayalite", matches.get(0).getMineral().getName());
+        assertEquals("Forsterite", matches.get(1).getMineral().getName());
+        assertEquals(matches.get(0).getDistance(), matches.get(1).getDistance(), 1e-12);
+        assertEquals("Quartz", matches.get(2).getMineral().getName());
+    }
+
+    @Test
+    void testSearchSkipsEmptyCompositions() throws UnknownElementException {
+        Composition target = new Formula("SiO2").getComposition();
+        List<SimilarityMatch> matches = SimilaritySearch.search(minerals, target, 10, SimilarityMetric.COSINE);
+
+        assertEquals(4, matches.size());
+        assertEquals("Quartz", matches.get(0).getMineral().getName());
+        assertEquals(0, matches.get(0).getDistance(), 1e-12);
+        assertEquals("Halite", matches.get(3).getMineral().getName());
+        assertTrue(SimilaritySearch.search(minerals, Composition.EMPTY, 10, SimilarityMetric.COSINE).isEmpty());
+        assertTrue(SimilaritySearch.search(minerals, target, 0, SimilarityMetric.COSINE).isEmpty());
+    }
+
+    @Test
+    void testSearchAcrossChunks() throws UnknownElementException {
+        List<Mineral> largeList = new ArrayList<>();
+        for (int i = 1; i <= 10000; i++) {
+            largeList.add(mineral("Mineral" + i, "Si" + i + "O"));
+        }
+        Composition target = new Formula("Si7O").getComposition();
+        List<SimilarityMatch> matches = SimilaritySearch.search(largeList, target, 3, SimilarityMetric.NORMALIZED_L1);
+
+        assertEquals(3, matches.size());
+        assertEquals("Mineral7", matches.get(0).getMineral().getName());
+        assertEquals("Mineral8", matches.get(1).getMineral().getName());
+        assertEquals("Mineral6", matches.get(2).getMineral().getName());
+    }
+
+    private static Mineral mineral(String name, String formula) throws UnknownElementException {
+        Mineral mineral = new Mineral(name);
+        mineral.setGeneralFormula(new Formula(formula));
+        return mineral;
+    }
+}
@@ -0,0 +1,159 @@
+package persistence;
+
+import model.entries.Family;
+import model.entries.Mineral;
+import model.tableentry.DescriptionIndex;
+import model.tableentry.FamilyTable;
+import model.tableentry.MineralTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescriptionIndexFileTest {
+    Path directory;
+    String databasePath;
+    MineralTable mineralTable;
+    FamilyTable familyTable;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("descriptions");
+        databasePath = directory.resolve("database.json").toString();
+        mineralTable = new MineralTable();
+        familyTable = new FamilyTable();
+        Mineral quartz = new Mineral("Quartz");
+        quartz.setDescription("A hard silicate found in granite");
+        Family feldspar = new Family("Feldspar");
+        feldspar.setDescription("Aluminium silicates of granite");
+        mineralTable.putEntry(quartz);
+        familyTable.putEntry(feldspar);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // EFFECTS: saves the tables and their description indexes to databasePath
+    private void save() {
+        TableWriter writer = new TableWriter(databasePath);
+        try {
+            writer.open();
+            writer.writeToDestination(mineralTable, familyTable);
+            writer.close();
+            writer.writeDescriptionIndexes(mineralTable, familyTable);
+        } catch (IOException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testPathFor() {
+        assertEquals("data/minerals.index", DescriptionIndexFile.pathFor("data/minerals.json"));
+        assertEquals("data/minerals.index", DescriptionIndexFile.pathFor("data/minerals"));
+    }
+
+    @Test
+    void testWriteAndRead() {
+        save();
+        DescriptionIndexFile indexFile = new DescriptionIndexFile(databasePath);
+        assertTrue(indexFile.exists());
+        try {
+            List<DescriptionIndex> indexes = indexFile.read();
+            assertEquals(List.of("Quartz"), indexes.get(0).search("granite", 5));
+            assertEquals(List.of("Feldspar"), indexes.get(1).search("granite", 5));
+        } catch (IOException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testSetupTablesWithIndexFile() {
+        save();
+        MineralTable loadedMinerals = new MineralTable();
+        FamilyTable loadedFamilies = new FamilyTable();
+        try {
+            new TableReader(databasePath, loadedFamilies, loadedMinerals).setupTables();
+        } catch (IOException | InvalidFileException e) {
+            fail();
+        }
+        assertEquals("Quartz", loadedMinerals.searchDescriptions("granite", 5).get(0).getName());
+        assertEquals("Feldspar", loadedFamilies.searchDescriptions("aluminium", 5).get(0).getName());
+    }
+
+    @Test
+    void testSetupTablesWithUnreadableIndexFile() {
+        save();
+        try {
+            Files.write(directory.resolve("database.index"), new byte[]{1, 2});
+            MineralTable loadedMinerals = new MineralTable();
+            new TableReader(databasePath, new FamilyTable(), loadedMinerals).setupTables();
+            assertEquals("Quartz", loadedMinerals.searchDescriptions("silicate", 5).get(0).getName());
+        } catch (IOException | InvalidFileException e) {
+            fail();
+        }
+    }
+
+    @Test
+    void testReadCorruptIndexFile() {
+        save();
+        Path indexPath = directory.resolve("database.index");
+        DescriptionIndexFile indexFile = new DescriptionIndexFile(databasePath);
+        try {
+            byte[] saved = Files.readAllBytes(indexPath);
+            byte[] padded = Arrays.copyOf(saved, saved.length * 4);
+            Arrays.fill(padded, saved.length / 2, padded.length, (byte) 0xFF);
+            Files.write(indexPath, padded);
+            assertThrows(IOException.class, indexFile::read);
+            for (int i = 0; i < saved.length; i++) {
+                for (byte corrupt : new byte[]{(byte) 0xFF, (byte) 0x80, 0x7F, 0}) {
+                    byte[] corrupted = saved.clone();
+                    corrupted[i] = corrupt;
+                    Files.write(indexPath, corrupted);
+                    readIgnoringIOException(indexFile);
+                }
+            }
+            Files.write(indexPath, padded);
+            MineralTable loadedMinerals = new MineralTable();
+            new TableReader(databasePath, new FamilyTable(), loadedMinerals).setupTables();
+            assertEquals("Quartz", loadedMinerals.searchDescriptions("silicate", 5).get(0).getName());
+        } catch (IOException | InvalidFileException e) {
+            fail();
+        }
+    }
+
+    // EFFECTS: reads indexFile, ignoring the IOException a corrupt file raises
+    private static void readIgnoringIOException(DescriptionIndexFile indexFile) {
+        try {
+            indexFile.read();
+        } catch (IOException e) {
+            // Expected for most corruptions
+        }
+    }
+
+    @Test
+    void testWriteToMissingDirectory() {
+        try {
+            new DescriptionIndexFile(directory.resolve("missing/database.json").toString())
+                    .write(mineralTable, familyTable);
+            fail();
+        } catch (FileNotFoundException e) {
+            // Expected
+        } catch (IOException e) {
+            fail();
+        }
+    }
+}
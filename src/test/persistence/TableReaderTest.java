@@ -3,6 +3,8 @@ package persistence;
 import model.entries.Family;
 import model.entries.Mineral;
 import model.entries.WikiEntry;
+import model.enums.AtomicSymbols;
+import model.logging.Diagnostics;
 import model.modelexceptions.DuplicationException;
 import model.modelexceptions.ItemNotFoundException;
 import model.tableentry.FamilyTable;
@@ -13,7 +15,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import utils.fieldnames.JsonFieldNames;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -163,6 +170,51 @@ class TableReaderTest {
         assertFalse(TableReader.getFormula("A").isValidFormula());
         //Blank String
         assertFalse(TableReader.getFormula("").isValidFormula());
+        // Saved formulas are not held to the limits on typed input
+        assertEquals(1000, TableReader.getFormula("(SiO2)".repeat(1000)).count(AtomicSymbols.SI));
+    }
+
+    @Test
+    void testSetupTablesDeeplyNestedFormula() {
+        try {
+            JSONObject database = new TableReader("data/tests/testStandardDatabase.json", familyTable,
+                    mineralTable).readFile();
+            database.getJSONObject(JsonFieldNames.MINERALS).getJSONObject("Diamond")
+                    .put(JsonFieldNames.FORMULA, "(".repeat(20000) + "C" + ")".repeat(20000));
+            Path source = Files.createTempFile("deeplyNestedFormula", ".json");
+            source.toFile().deleteOnExit();
+            Files.write(source, database.toString().getBytes(StandardCharsets.UTF_8));
+            testReader = new TableReader(source.toString(), familyTable, mineralTable);
+            testReader.setupTables();
+            fail();
+        } catch (IOException e) {
+            fail();
+        } catch (InvalidFileException e) {
+            assertEquals(0, mineralTable.size());
+        }
+    }
+
+    @Test
+    void testSetUpMineralTableUnreadableFormula() {
+        testReader = new TableReader("", familyTable, mineralTable);
+        JSONObject mineral = new Mineral("Quartz").toJson();
+        mineral.put(JsonFieldNames.FORMULA, "SiQz2");
+        JSONObject minerals = new JSONObject();
+        minerals.put("Quartz", mineral);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        Diagnostics.getInstance().setOutput(new PrintStream(written, true));
+        try {
+            testReader.setUpMineralTable(minerals);
+        } finally {
+            Diagnostics.getInstance().setOutput(System.out);
+        }
+        assertTrue(written.toString().contains("Unreadable formula: SiQz2"));
+        assertEquals(1, mineralTable.size());
+        try {
+            assertFalse(((Mineral) mineralTable.getRequestedEntry("Quartz")).getGeneralFormula().isValidFormula());
+        } catch (ItemNotFoundException e) {
+            fail();
+        }
     }
 }
 
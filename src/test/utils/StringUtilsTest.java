@@ -43,6 +43,16 @@ class StringUtilsTest {
         assertEquals("<sub>10</sub>", StringUtils.subscriptValue(10));
     }
 
+    @Test
+    void testFractionalAmounts() {
+        assertEquals("", StringUtils.subscriptValue(1.0));
+        assertEquals("<sub>3</sub>", StringUtils.subscriptValue(3.0));
+        assertEquals("<sub>0.25</sub>", StringUtils.subscriptValue(0.25));
+        assertEquals("", StringUtils.coefficientValue(1.0));
+        assertEquals("5", StringUtils.coefficientValue(5.0));
+        assertEquals("1.5", StringUtils.formatAmount(1.5));
+    }
+
     @Test
     void testCorrectTrimming() {
         String startString = "abcde";